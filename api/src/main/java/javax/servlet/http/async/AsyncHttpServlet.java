@@ -0,0 +1,576 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.async;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InitParameters;
+
+/**
+ * <p>
+ * An HTTP servlet whose handlers return a {@link CompletionStage} instead of writing the response before they return.
+ * A subclass overrides {@link #doGetAsync doGetAsync}, {@link #doPostAsync doPostAsync}, {@link #doPutAsync
+ * doPutAsync} or {@link #doDeleteAsync doDeleteAsync}, starts the work that produces the response, and returns a stage
+ * that completes when it is done. No thread is held by the request while the stage is pending.
+ * </p>
+ *
+ * <p>
+ * The request is put into asynchronous mode before the handler is called, and the asynchronous processing is
+ * completed by this class, exactly once:
+ * </p>
+ * <ul>
+ * <li>when the stage completes normally, after its value has been written as the response body. A
+ * <code>byte[]</code>, a {@link ByteBuffer} or a {@link CharSequence}, encoded with the character encoding of the
+ * response, is written with a non-blocking {@link WriteListener}, and the content length is set if the response has not
+ * been committed. A <code>null</code> value, for handlers that write the response themselves, is not written at all.
+ * Other values are written as their <code>toString()</code>;</li>
+ * <li>when the stage completes exceptionally, after {@link #onFailure onFailure} has answered the request, with a 500
+ * error by default;</li>
+ * <li>when the asynchronous timeout expires first, with a 503 error if nothing has been sent yet. The stage is
+ * cancelled, which interrupts the work if the stage supports it;</li>
+ * <li>when the container reports an error through {@link AsyncListener#onError}, such as a client that disconnected.
+ * The stage is cancelled as for a timeout.</li>
+ * </ul>
+ *
+ * <p>
+ * Handlers must not call <code>startAsync</code> or <code>complete</code> themselves. For requests that do not support
+ * asynchronous processing the handler is still called, and the calling thread waits for its stage to complete. A
+ * <code>HEAD</code> request is handled by {@link #doGetAsync doGetAsync}, and only the content length of its value is
+ * sent; a body the handler writes itself is discarded and counted for the content length, as by
+ * {@link HttpServlet#doHead HttpServlet.doHead}.
+ * </p>
+ *
+ * <p>
+ * The servlet recognizes the following initialization parameter:
+ * </p>
+ * <ul>
+ * <li><code>asyncTimeout</code> - the asynchronous timeout in milliseconds, 0 for none; defaults to the timeout of
+ * the container</li>
+ * </ul>
+ *
+ * @since Servlet 4.0.4
+ */
+public abstract class AsyncHttpServlet extends HttpServlet {
+
+    private static final long serialVersionUID = -4206139817542190318L;
+
+    private static final String LSTRING_FILE = "javax.servlet.http.async.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    /*
+     * The largest write made at once to the output stream, so that a large body is not copied whole into the buffer
+     * of the container.
+     */
+    private static final int WRITE_CHUNK = 8192;
+
+    private long asyncTimeout = -1;
+
+    /**
+     * Does nothing, because this is an abstract class.
+     */
+    public AsyncHttpServlet() {
+    }
+
+    /**
+     * Reads the initialization parameters. Subclasses that override this method must call <code>super.init()</code>.
+     *
+     * @throws ServletException if an initialization parameter is not valid
+     */
+    @Override
+    public void init() throws ServletException {
+        asyncTimeout = InitParameters.getLong(this, "asyncTimeout", asyncTimeout, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Called to handle a GET, and a HEAD, request asynchronously. The default implementation sends a 405 error, as
+     * {@link HttpServlet#doGet HttpServlet.doGet} does, and returns a completed stage.
+     *
+     * @param req the request
+     * @param resp the response
+     * @return the stage that completes with the response body, or <code>null</code> if the response is complete
+     * @throws IOException      if an input or output error occurs before the stage is returned
+     * @throws ServletException if the request cannot be handled
+     */
+    protected CompletionStage<?> doGetAsync(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        super.doGet(req, resp);
+        return null;
+    }
+
+    /**
+     * Called to handle a POST request asynchronously. The default implementation sends a 405 error, as
+     * {@link HttpServlet#doPost HttpServlet.doPost} does, and returns a completed stage.
+     *
+     * @param req the request
+     * @param resp the response
+     * @return the stage that completes with the response body, or <code>null</code> if the response is complete
+     * @throws IOException      if an input or output error occurs before the stage is returned
+     * @throws ServletException if the request cannot be handled
+     */
+    protected CompletionStage<?> doPostAsync(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        super.doPost(req, resp);
+        return null;
+    }
+
+    /**
+     * Called to handle a PUT request asynchronously. The default implementation sends a 405 error, as
+     * {@link HttpServlet#doPut HttpServlet.doPut} does, and returns a completed stage.
+     *
+     * @param req the request
+     * @param resp the response
+     * @return the stage that completes with the response body, or <code>null</code> if the response is complete
+     * @throws IOException      if an input or output error occurs before the stage is returned
+     * @throws ServletException if the request cannot be handled
+     */
+    protected CompletionStage<?> doPutAsync(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        super.doPut(req, resp);
+        return null;
+    }
+
+    /**
+     * Called to handle a DELETE request asynchronously. The default implementation sends a 405 error, as
+     * {@link HttpServlet#doDelete HttpServlet.doDelete} does, and returns a completed stage.
+     *
+     * @param req the request
+     * @param resp the response
+     * @return the stage that completes with the response body, or <code>null</code> if the response is complete
+     * @throws IOException      if an input or output error occurs before the stage is returned
+     * @throws ServletException if the request cannot be handled
+     */
+    protected CompletionStage<?> doDeleteAsync(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        super.doDelete(req, resp);
+        return null;
+    }
+
+    /**
+     * Called when the stage of a handler completes exceptionally, or the handler throws, before the asynchronous
+     * processing is completed. The default implementation logs the failure and sends a 500 error if the response has
+     * not been committed.
+     *
+     * @param req the request
+     * @param resp the response
+     * @param failure the failure, with any {@link CompletionException} unwrapped
+     */
+    protected void onFailure(HttpServletRequest req, HttpServletResponse resp, Throwable failure) {
+        log(MessageFormat.format(lStrings.getString("async.failed"), getServletName(), req.getMethod()), failure);
+        sendError(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Handles a GET request with {@link #doGetAsync doGetAsync}.
+     */
+    @Override
+    protected final void doGet(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        execute(req, resp, this::doGetAsync, false);
+    }
+
+    /**
+     * Handles a HEAD request with {@link #doGetAsync doGetAsync}, sending only the length of the body.
+     */
+    @Override
+    protected final void doHead(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        execute(req, resp, this::doGetAsync, true);
+    }
+
+    /**
+     * Handles a POST request with {@link #doPostAsync doPostAsync}.
+     */
+    @Override
+    protected final void doPost(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        execute(req, resp, this::doPostAsync, false);
+    }
+
+    /**
+     * Handles a PUT request with {@link #doPutAsync doPutAsync}.
+     */
+    @Override
+    protected final void doPut(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        execute(req, resp, this::doPutAsync, false);
+    }
+
+    /**
+     * Handles a DELETE request with {@link #doDeleteAsync doDeleteAsync}.
+     */
+    @Override
+    protected final void doDelete(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        execute(req, resp, this::doDeleteAsync, false);
+    }
+
+    /**
+     * Answers an OPTIONS request with the methods whose asynchronous handlers the subclass overrides, as
+     * {@link HttpServlet#doOptions HttpServlet.doOptions} does for the synchronous ones.
+     */
+    @Override
+    protected void doOptions(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        boolean allowGet = false;
+        boolean allowPost = false;
+        boolean allowPut = false;
+        boolean allowDelete = false;
+        for (Class<?> c = getClass(); c != AsyncHttpServlet.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                String name = method.getName();
+                if (name.equals("doGetAsync")) {
+                    allowGet = true;
+                } else if (name.equals("doPostAsync")) {
+                    allowPost = true;
+                } else if (name.equals("doPutAsync")) {
+                    allowPut = true;
+                } else if (name.equals("doDeleteAsync")) {
+                    allowDelete = true;
+                }
+            }
+        }
+        StringBuilder allow = new StringBuilder();
+        if (allowGet) {
+            allow.append("GET, HEAD, ");
+        }
+        if (allowPost) {
+            allow.append("POST, ");
+        }
+        if (allowPut) {
+            allow.append("PUT, ");
+        }
+        if (allowDelete) {
+            allow.append("DELETE, ");
+        }
+        allow.append("TRACE, OPTIONS");
+        resp.setHeader("Allow", allow.toString());
+    }
+
+    private void execute(HttpServletRequest req, HttpServletResponse resp, Handler handler, boolean head)
+            throws ServletException, IOException {
+        HeadResponse headResponse = head ? new HeadResponse(resp) : null;
+        if (!req.isAsyncSupported() || req.isAsyncStarted()) {
+            executeBlocking(req, resp, handler, headResponse);
+            return;
+        }
+        AsyncContext asyncContext = req.startAsync(req, resp);
+        if (asyncTimeout >= 0) {
+            asyncContext.setTimeout(asyncTimeout);
+        }
+        Exchange exchange = new Exchange(asyncContext, req, resp, headResponse);
+        asyncContext.addListener(exchange);
+        CompletionStage<?> stage;
+        try {
+            stage = handler.handle(req, headResponse == null ? resp : headResponse);
+        } catch (Throwable t) {
+            exchange.accept(null, t);
+            return;
+        }
+        if (stage == null) {
+            exchange.accept(null, null);
+            return;
+        }
+        exchange.stage = stage;
+        stage.whenComplete(exchange);
+    }
+
+    /*
+     * Runs the handler for a request that cannot be made asynchronous, waiting for its stage on the calling thread.
+     * A HEAD request is answered with the length of the body the handler writes itself, if its value is null.
+     */
+    private void executeBlocking(HttpServletRequest req, HttpServletResponse resp, Handler handler,
+            HeadResponse headResponse) throws ServletException, IOException {
+        CompletionStage<?> stage = handler.handle(req, headResponse == null ? resp : headResponse);
+        if (stage == null) {
+            if (headResponse != null) {
+                headResponse.setContentLength();
+            }
+            return;
+        }
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        stage.whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(failure);
+            }
+        });
+        ByteBuffer body;
+        try {
+            body = toBuffer(result.get(), resp);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+        } catch (ExecutionException e) {
+            onFailure(req, resp, unwrap(e));
+            return;
+        }
+        if (body == null) {
+            if (headResponse != null) {
+                headResponse.setContentLength();
+            }
+            return;
+        }
+        if (!resp.isCommitted()) {
+            resp.setContentLength(body.remaining());
+        }
+        if (headResponse == null) {
+            writeAvailable(resp.getOutputStream(), body, Integer.MAX_VALUE);
+        }
+    }
+
+    /*
+     * Encodes the value of a completed stage as the response body, or returns null if there is nothing to write.
+     */
+    private static ByteBuffer toBuffer(Object value, HttpServletResponse resp) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof byte[]) {
+            return ByteBuffer.wrap((byte[]) value);
+        }
+        if (value instanceof ByteBuffer) {
+            return ((ByteBuffer) value).duplicate();
+        }
+        Charset charset = StandardCharsets.ISO_8859_1;
+        String encoding = resp.getCharacterEncoding();
+        if (encoding != null) {
+            try {
+                charset = Charset.forName(encoding);
+            } catch (IllegalArgumentException e) {
+                // keep the default encoding of HTTP
+            }
+        }
+        return ByteBuffer.wrap(value.toString().getBytes(charset));
+    }
+
+    /*
+     * Writes at most limit bytes of the buffer, in chunks, for as long as the stream is ready.
+     */
+    private static void writeAvailable(ServletOutputStream out, ByteBuffer body, int limit) throws IOException {
+        byte[] chunk = body.hasArray() ? null : new byte[Math.min(body.remaining(), WRITE_CHUNK)];
+        int written = 0;
+        while (body.hasRemaining() && written < limit) {
+            int len = Math.min(body.remaining(), WRITE_CHUNK);
+            if (chunk == null) {
+                out.write(body.array(), body.arrayOffset() + body.position(), len);
+                body.position(body.position() + len);
+            } else {
+                body.get(chunk, 0, len);
+                out.write(chunk, 0, len);
+            }
+            written += len;
+            if (limit != Integer.MAX_VALUE && !out.isReady()) {
+                return;
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        Throwable t = failure;
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t;
+    }
+
+    private static void sendError(HttpServletResponse resp, int status) {
+        if (resp.isCommitted()) {
+            return;
+        }
+        try {
+            resp.sendError(status);
+        } catch (IOException | IllegalStateException e) {
+            // nothing more can be done for this request
+        }
+    }
+
+    /*
+     * The asynchronous handler methods, which throw the checked exceptions of the servlet.
+     */
+    private interface Handler {
+        CompletionStage<?> handle(HttpServletRequest req, HttpServletResponse resp)
+                throws ServletException, IOException;
+    }
+
+    /*
+     * Follows one asynchronous request from the completion of its stage to the completion of the asynchronous
+     * processing. The state moves from PENDING to WRITING when the stage completes first, and to DONE exactly once,
+     * which is when complete() is called, whichever of the stage, the write, the timeout or an error finishes it.
+     */
+    private final class Exchange implements BiConsumer<Object, Throwable>, AsyncListener, WriteListener {
+
+        private static final int PENDING = 0;
+        private static final int WRITING = 1;
+        private static final int DONE = 2;
+
+        private final AsyncContext asyncContext;
+        private final HttpServletRequest req;
+        private final HttpServletResponse resp;
+        private final HeadResponse headResponse;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        volatile CompletionStage<?> stage;
+        private ServletOutputStream out;
+        private ByteBuffer body;
+
+        Exchange(AsyncContext asyncContext, HttpServletRequest req, HttpServletResponse resp,
+                HeadResponse headResponse) {
+            this.asyncContext = asyncContext;
+            this.req = req;
+            this.resp = resp;
+            this.headResponse = headResponse;
+        }
+
+        /*
+         * The stage has completed, or the handler has returned without one.
+         */
+        @Override
+        public void accept(Object value, Throwable failure) {
+            if (!state.compareAndSet(PENDING, WRITING)) {
+                return;
+            }
+            if (failure != null) {
+                try {
+                    onFailure(req, resp, unwrap(failure));
+                } finally {
+                    finish();
+                }
+                return;
+            }
+            try {
+                body = toBuffer(value, resp);
+                if (body == null) {
+                    if (headResponse != null) {
+                        headResponse.setContentLength();
+                    }
+                    finish();
+                    return;
+                }
+                if (!resp.isCommitted()) {
+                    resp.setContentLength(body.remaining());
+                }
+                if (headResponse != null || !body.hasRemaining()) {
+                    finish();
+                    return;
+                }
+                out = resp.getOutputStream();
+                out.setWriteListener(this);
+            } catch (IOException | RuntimeException e) {
+                try {
+                    onFailure(req, resp, e);
+                } finally {
+                    finish();
+                }
+            }
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            while (out.isReady()) {
+                if (!body.hasRemaining() || state.get() == DONE) {
+                    finish();
+                    return;
+                }
+                writeAvailable(out, body, WRITE_CHUNK);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            finish();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (state.compareAndSet(PENDING, DONE)) {
+                cancel();
+                sendError(resp, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                complete();
+            } else {
+                // the client is not reading the body fast enough
+                finish();
+            }
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (state.getAndSet(DONE) == PENDING) {
+                cancel();
+            }
+            complete();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (state.getAndSet(DONE) == PENDING) {
+                cancel();
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void finish() {
+            if (state.getAndSet(DONE) != DONE) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // already completed by the container
+            }
+        }
+
+        private void cancel() {
+            CompletionStage<?> pending = stage;
+            if (pending == null) {
+                return;
+            }
+            try {
+                pending.toCompletableFuture().cancel(true);
+            } catch (UnsupportedOperationException e) {
+                // a stage that cannot be cancelled runs to completion, and its value is discarded
+            }
+        }
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.async;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.io.ByteBufferPool;
+
+/**
+ * <p>
+ * Sends files as responses without holding a thread while the client reads. {@link #send send} answers the request,
+ * including its <code>Range</code> header, puts it into asynchronous mode and registers a {@link WriteListener} on the
+ * output stream. The file is then written one buffer at a time, only while {@link ServletOutputStream#isReady()}
+ * returns <code>true</code>, and the asynchronous processing is completed once the last byte has been written. A
+ * client that reads slowly costs an open file and a few objects, not a thread.
+ * </p>
+ *
+ * <p>
+ * The file is read with positional {@link FileChannel} reads into buffers taken from a pool, direct buffers by
+ * default, so that reading does not go through a temporary buffer of the runtime. A buffer is held only while one
+ * chunk is read and handed to the output stream, so idle downloads hold no buffer at all.
+ * </p>
+ *
+ * <p>
+ * A single byte range is honoured with a 206 response, and a range that lies outside the file with a 416 response;
+ * a request for several ranges, or whose <code>If-Range</code> does not match the file, is answered with the whole
+ * file. The response carries <code>Accept-Ranges</code>, <code>Last-Modified</code> and a strong <code>ETag</code>
+ * computed from the size and modification time of the file.
+ * </p>
+ *
+ * <p>
+ * The rate of each download can be limited, with a scheduler on which writing resumes once the download is within its
+ * rate again. A client that stops reading is dropped when the asynchronous timeout expires, which the caller may set
+ * on the {@link AsyncContext} of the request.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class FileSender {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.async.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /*
+     * ServletOutputStream takes arrays only, so direct buffers are copied into the array of the writing thread.
+     */
+    private static final ThreadLocal<byte[]> TRANSFER = new ThreadLocal<>();
+
+    private final ByteBufferPool pool;
+    private final ScheduledExecutorService scheduler;
+    private final long maxBytesPerSecond;
+
+    /*
+     * The smallest write of a rate-limited download, a tenth of a second at its rate, so that a download resumes with
+     * a useful amount rather than byte by byte.
+     */
+    private final long quantum;
+
+    /**
+     * Creates a sender with a pool of 64 KB direct buffers and no rate limit.
+     */
+    public FileSender() {
+        this(new ByteBufferPool(DEFAULT_BUFFER_SIZE, true, 64), null, 0);
+    }
+
+    /**
+     * Creates a sender.
+     *
+     * @param pool the pool of the buffers that files are read into
+     * @param scheduler the scheduler on which rate-limited downloads resume, or <code>null</code> if there is no limit
+     * @param maxBytesPerSecond the largest rate of each download, or 0 for none
+     * @throws IllegalArgumentException if there is a rate limit but no scheduler
+     */
+    public FileSender(ByteBufferPool pool, ScheduledExecutorService scheduler, long maxBytesPerSecond) {
+        if (pool == null) {
+            throw new NullPointerException();
+        }
+        if (maxBytesPerSecond < 0 || (maxBytesPerSecond > 0 && scheduler == null)) {
+            throw new IllegalArgumentException(MessageFormat.format(lStrings.getString("err.config.invalid"),
+                    "maxBytesPerSecond", String.valueOf(maxBytesPerSecond)));
+        }
+        this.pool = pool;
+        this.scheduler = scheduler;
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        this.quantum = maxBytesPerSecond == 0 ? pool.getBufferSize()
+                : Math.min(pool.getBufferSize(), Math.max(1, maxBytesPerSecond / 10));
+    }
+
+    /**
+     * Answers the request with the file. The status and headers are set on the calling thread; the body, if any, is
+     * written asynchronously.
+     *
+     * @param req the request
+     * @param resp the response, which must not have been committed
+     * @param file the file to send
+     * @param contentType the content type of the file, or <code>null</code> to leave it unset
+     * @return the stage that completes when the response is complete, or exceptionally if sending failed or the
+     *         client went away
+     * @throws IOException if the file cannot be opened
+     */
+    public CompletionStage<Void> send(HttpServletRequest req, HttpServletResponse resp, Path file, String contentType)
+            throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        long start;
+        long end;
+        try {
+            long size = channel.size();
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            String etag = '"' + Long.toHexString(size) + '-' + Long.toHexString(lastModified) + '"';
+            resp.setHeader("Accept-Ranges", "bytes");
+            resp.setHeader("ETag", etag);
+            resp.setDateHeader("Last-Modified", lastModified);
+            long[] range = ifRange(req, etag, lastModified) ? parseRange(req.getHeader("Range"), size) : null;
+            if (range == UNSATISFIABLE) {
+                channel.close();
+                resp.setHeader("Content-Range", "bytes */" + size);
+                resp.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return CompletableFuture.completedFuture(null);
+            }
+            if (contentType != null) {
+                resp.setContentType(contentType);
+            }
+            if (range == null) {
+                start = 0;
+                end = size;
+            } else {
+                start = range[0];
+                end = range[1] + 1;
+                resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                resp.setHeader("Content-Range", "bytes " + range[0] + '-' + range[1] + '/' + size);
+            }
+            resp.setContentLengthLong(end - start);
+            if (end == start || "HEAD".equals(req.getMethod())) {
+                channel.close();
+                return CompletableFuture.completedFuture(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        AsyncContext asyncContext = req.isAsyncStarted() ? req.getAsyncContext() : req.startAsync(req, resp);
+        Transfer transfer = new Transfer(asyncContext, channel, file, start, end);
+        asyncContext.addListener(transfer);
+        transfer.out = resp.getOutputStream();
+        transfer.out.setWriteListener(transfer);
+        return transfer.completion;
+    }
+
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    /*
+     * Returns the first and last byte of the single range of a Range header, UNSATISFIABLE if it lies outside the
+     * file, or null if the whole file should be sent: no header, a header that cannot be parsed, or several ranges,
+     * which a server may answer with the whole representation.
+     */
+    private static long[] parseRange(String header, long size) {
+        if (header == null || header.length() < 6 || !header.regionMatches(true, 0, "bytes=", 0, 6)
+                || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1).trim());
+                if (suffix < 0) {
+                    return null;
+                }
+                if (suffix == 0 || size == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[] { Math.max(0, size - suffix), size - 1 };
+            }
+            long first = Long.parseLong(spec.substring(0, dash).trim());
+            String tail = spec.substring(dash + 1).trim();
+            long last = tail.isEmpty() ? Long.MAX_VALUE : Long.parseLong(tail);
+            if (first < 0 || last < first) {
+                return null;
+            }
+            if (first >= size) {
+                return UNSATISFIABLE;
+            }
+            return new long[] { first, Math.min(last, size - 1) };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /*
+     * Whether the Range header applies: there is no If-Range header, or it matches the entity tag or the modification
+     * time, to the second, of the file.
+     */
+    private static boolean ifRange(HttpServletRequest req, String etag, long lastModified) {
+        String condition = req.getHeader("If-Range");
+        if (condition == null) {
+            return true;
+        }
+        condition = condition.trim();
+        if (condition.startsWith("\"")) {
+            return condition.equals(etag);
+        }
+        try {
+            return req.getDateHeader("If-Range") / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static byte[] transferArray(int size) {
+        byte[] array = TRANSFER.get();
+        if (array == null || array.length < size) {
+            array = new byte[size];
+            TRANSFER.set(array);
+        }
+        return array;
+    }
+
+    /*
+     * The writing of one file. Writing is driven by the container through onWritePossible(), and, when the download
+     * has been paused to respect its rate, by the scheduler; the container does not call the listener again while
+     * the download is paused, since isReady() has not returned false, but the two are synchronized all the same, as
+     * are the timeout and error callbacks, which may close the channel.
+     */
+    private final class Transfer implements WriteListener, AsyncListener, Runnable {
+
+        private final AsyncContext asyncContext;
+        private final FileChannel channel;
+        private final Path file;
+        private final long end;
+        private final long startNanos = System.nanoTime();
+        private final long start;
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private long position;
+        private boolean done;
+        ServletOutputStream out;
+
+        Transfer(AsyncContext asyncContext, FileChannel channel, Path file, long start, long end) {
+            this.asyncContext = asyncContext;
+            this.channel = channel;
+            this.file = file;
+            this.start = start;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public synchronized void onWritePossible() {
+            if (done) {
+                return;
+            }
+            try {
+                while (out.isReady()) {
+                    if (position == end) {
+                        finish(null);
+                        return;
+                    }
+                    long allowed = allowance();
+                    long needed = Math.min(quantum, end - position);
+                    if (allowed < needed) {
+                        pause(needed - allowed);
+                        return;
+                    }
+                    writeChunk(allowed);
+                }
+            } catch (IOException | RuntimeException e) {
+                finish(e);
+            }
+        }
+
+        /*
+         * Reads the next chunk of the file at the current position and hands it to the output stream.
+         */
+        private void writeChunk(long allowed) throws IOException {
+            ByteBuffer buffer = pool.acquire();
+            try {
+                int len = (int) Math.min(Math.min(buffer.capacity(), end - position), allowed);
+                buffer.limit(len);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new EOFException(MessageFormat.format(lStrings.getString("fileSender.truncated"),
+                                file, String.valueOf(position + buffer.position()), String.valueOf(end)));
+                    }
+                }
+                buffer.flip();
+                if (buffer.hasArray()) {
+                    out.write(buffer.array(), buffer.arrayOffset(), len);
+                } else {
+                    byte[] array = transferArray(len);
+                    buffer.get(array, 0, len);
+                    out.write(array, 0, len);
+                }
+                position += len;
+            } finally {
+                pool.release(buffer);
+            }
+        }
+
+        /*
+         * The number of bytes the download may still write without exceeding its rate, negative when it is ahead. The
+         * first quantum is always allowed, and the budget is computed in doubles to avoid overflow.
+         */
+        private long allowance() {
+            if (maxBytesPerSecond == 0) {
+                return Long.MAX_VALUE;
+            }
+            double elapsed = (System.nanoTime() - startNanos) / 1e9;
+            return (long) (maxBytesPerSecond * elapsed) + quantum - (position - start);
+        }
+
+        private void pause(long deficit) {
+            long delayNanos = (long) (deficit * 1e9 / maxBytesPerSecond);
+            try {
+                scheduler.schedule(this, Math.max(delayNanos, TimeUnit.MILLISECONDS.toNanos(1)),
+                        TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                finish(e);
+            }
+        }
+
+        /*
+         * Resumes a paused download.
+         */
+        @Override
+        public void run() {
+            onWritePossible();
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            finish(t);
+        }
+
+        @Override
+        public synchronized void onTimeout(AsyncEvent event) {
+            finish(event.getThrowable() != null ? event.getThrowable()
+                    : new IOException(MessageFormat.format(lStrings.getString("fileSender.timeout"), file)));
+        }
+
+        @Override
+        public synchronized void onError(AsyncEvent event) {
+            finish(event.getThrowable() != null ? event.getThrowable()
+                    : new IOException(MessageFormat.format(lStrings.getString("fileSender.aborted"), file)));
+        }
+
+        @Override
+        public synchronized void onComplete(AsyncEvent event) {
+            finish(null);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void finish(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // the file was only read
+            }
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // already completed by the container
+            }
+            if (t == null) {
+                completion.complete(null);
+            } else {
+                completion.completeExceptionally(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package javax.servlet.http.async;
+
+import java.io.IOException;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InterceptingResponseWrapper;
+
+/*
+ * The response of a HEAD request, which counts the body a handler writes itself instead of sending it, so that the
+ * content length can be sent in its place, as HttpServlet does for the synchronous doHead.
+ */
+// file private
+final class HeadResponse extends InterceptingResponseWrapper {
+
+    private long contentLength;
+    private boolean didSetContentLength;
+
+    HeadResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    /*
+     * Sets the length of the body that was written, unless a length has been set.
+     */
+    void setContentLength() {
+        if (!didSetContentLength) {
+            setContentLengthLong(contentLength);
+        }
+    }
+
+    @Override
+    protected ServletOutputStream newOutputStream() {
+        return new HeadOutputStream();
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        super.setContentLength(len);
+        didSetContentLength = true;
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        super.setContentLengthLong(len);
+        didSetContentLength = true;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        super.setHeader(name, value);
+        checkHeader(name);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        super.addHeader(name, value);
+        checkHeader(name);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        super.setIntHeader(name, value);
+        checkHeader(name);
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        super.addIntHeader(name, value);
+        checkHeader(name);
+    }
+
+    private void checkHeader(String name) {
+        if ("content-length".equalsIgnoreCase(name)) {
+            didSetContentLength = true;
+        }
+    }
+
+    /*
+     * Counts the bytes of the body and discards them. Since nothing is sent, the stream is always ready, and a write
+     * listener is told so at once.
+     */
+    private final class HeadOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) {
+            contentLength++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            contentLength += len;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                writeListener.onWritePossible();
+            } catch (IOException | RuntimeException e) {
+                writeListener.onError(e);
+            }
+        }
+    }
+}
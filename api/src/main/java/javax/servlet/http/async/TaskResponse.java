@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package javax.servlet.http.async;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InterceptingResponseWrapper;
+
+/*
+ * The response a virtual thread works on. Once the request has been finished for it, by the asynchronous timeout,
+ * everything the thread still does to the response is ignored, so that it cannot touch a response the container has
+ * completed and may have recycled. The timeout never waits for the thread: a call in progress when the request is
+ * finished, such as a write blocked on a slow client, goes on, and whichever of the two is last, the timeout or that
+ * call returning, answers and completes the request.
+ */
+// file private
+final class TaskResponse extends InterceptingResponseWrapper {
+
+    // the number of calls in progress, with this bit set once the request has been finished
+    private static final int FINISHED = 1 << 30;
+
+    private final AtomicInteger state = new AtomicInteger();
+    private volatile Runnable completion;
+
+    TaskResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    /*
+     * From now on, ignores what is done to the response. The completion runs at once if no call is in progress, and
+     * otherwise on the thread of the call in progress, as it returns.
+     */
+    void finish(Runnable completion) {
+        this.completion = completion;
+        int current;
+        do {
+            current = state.get();
+            if ((current & FINISHED) != 0) {
+                return;
+            }
+        } while (!state.compareAndSet(current, current | FINISHED));
+        if (current == 0) {
+            completion.run();
+        }
+    }
+
+    private boolean enter() {
+        int current;
+        do {
+            current = state.get();
+            if ((current & FINISHED) != 0) {
+                return false;
+            }
+        } while (!state.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void exit() {
+        if (state.decrementAndGet() == FINISHED) {
+            completion.run();
+        }
+    }
+
+    @Override
+    protected ServletOutputStream newOutputStream() throws IOException {
+        if (!enter()) {
+            return new TaskOutputStream(null);
+        }
+        try {
+            return new TaskOutputStream(getResponse().getOutputStream());
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        if (enter()) {
+            try {
+                super.addCookie(cookie);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        if (enter()) {
+            try {
+                super.sendError(sc, msg);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        if (enter()) {
+            try {
+                super.sendError(sc);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        if (enter()) {
+            try {
+                super.sendRedirect(location);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        if (enter()) {
+            try {
+                super.setDateHeader(name, date);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        if (enter()) {
+            try {
+                super.addDateHeader(name, date);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (enter()) {
+            try {
+                super.setHeader(name, value);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (enter()) {
+            try {
+                super.addHeader(name, value);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (enter()) {
+            try {
+                super.setIntHeader(name, value);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (enter()) {
+            try {
+                super.addIntHeader(name, value);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        if (enter()) {
+            try {
+                super.setStatus(sc);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void setTrailerFields(Supplier<Map<String, String>> supplier) {
+        if (enter()) {
+            try {
+                super.setTrailerFields(supplier);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        if (enter()) {
+            try {
+                super.setCharacterEncoding(charset);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void setContentType(String type) {
+        if (enter()) {
+            try {
+                super.setContentType(type);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        if (enter()) {
+            try {
+                super.setContentLength(len);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (enter()) {
+            try {
+                super.setContentLengthLong(len);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+        if (enter()) {
+            try {
+                super.setBufferSize(size);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (enter()) {
+            try {
+                super.flushBuffer();
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (enter()) {
+            try {
+                super.resetBuffer();
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        if (enter()) {
+            try {
+                super.reset();
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    @Override
+    public void setLocale(Locale loc) {
+        if (enter()) {
+            try {
+                super.setLocale(loc);
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    /*
+     * The output stream of the response, which discards what is written once the request has been finished. The
+     * stream is null if the request was finished before the servlet asked for it.
+     */
+    private final class TaskOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream out;
+
+        TaskOutputStream(ServletOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (enter()) {
+                try {
+                    out.write(b);
+                } finally {
+                    exit();
+                }
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (enter()) {
+                try {
+                    out.write(b, off, len);
+                } finally {
+                    exit();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (enter()) {
+                try {
+                    out.flush();
+                } finally {
+                    exit();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (enter()) {
+                try {
+                    out.close();
+                } finally {
+                    exit();
+                }
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            if (!enter()) {
+                return true;
+            }
+            try {
+                return out.isReady();
+            } finally {
+                exit();
+            }
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            if (enter()) {
+                try {
+                    out.setWriteListener(writeListener);
+                } finally {
+                    exit();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.async;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InitParameters;
+
+/**
+ * <p>
+ * An HTTP servlet whose requests are executed on virtual threads rather than on the threads of the container. A
+ * servlet that blocks, on a database, a remote service or slow I/O, then ties up only a cheap virtual thread while it
+ * waits, and the container's threads stay free to accept more requests.
+ * </p>
+ *
+ * <p>
+ * Each request is put into asynchronous mode with {@link HttpServletRequest#startAsync()}, the usual
+ * {@link HttpServlet#service(HttpServletRequest, HttpServletResponse) service} method, and thus the
+ * <code>do</code><i>XXX</i> method of the subclass, runs on a new virtual thread, and the asynchronous processing is
+ * completed when it returns. An exception thrown by the servlet results in a 500 error if the response has not been
+ * committed. If the asynchronous timeout expires first, the virtual thread is interrupted and the request is answered
+ * with a 503 error if nothing has been sent yet. Whatever the servlet still does to the response after the timeout is
+ * ignored, so that the thread can finish safely once it notices the interruption. Subclasses must not call
+ * <code>startAsync</code> themselves.
+ * </p>
+ *
+ * <p>
+ * Virtual threads require Java 21 or later. On earlier runtimes, for requests that do not support asynchronous
+ * processing, or when disabled with the <code>virtualThreads</code> initialization parameter, requests are executed on
+ * the container thread as by any other servlet. The servlet should run on a virtual thread only as long as it does not
+ * block while holding a monitor, which pins the virtual thread to its carrier thread on runtimes before Java 24.
+ * </p>
+ *
+ * <p>
+ * The servlet recognizes the following initialization parameters:
+ * </p>
+ * <ul>
+ * <li><code>virtualThreads</code> - <code>false</code> to execute requests on container threads; defaults to
+ * <code>true</code></li>
+ * <li><code>asyncTimeout</code> - the asynchronous timeout in milliseconds, 0 for none; defaults to the timeout of
+ * the container</li>
+ * </ul>
+ *
+ * @since Servlet 4.0.4
+ */
+public abstract class VirtualThreadHttpServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 2938011637045516214L;
+
+    private static final String LSTRING_FILE = "javax.servlet.http.async.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    /*
+     * Executors.newVirtualThreadPerTaskExecutor(), looked up reflectively since this API is compiled for Java 8; null
+     * on runtimes without virtual threads.
+     */
+    private static final MethodHandle NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+
+    private long asyncTimeout = -1;
+
+    private transient ExecutorService executor;
+
+    /**
+     * Does nothing, because this is an abstract class.
+     */
+    public VirtualThreadHttpServlet() {
+    }
+
+    /**
+     * Reads the initialization parameters and creates the executor of virtual threads. Subclasses that override this
+     * method must call <code>super.init()</code>.
+     *
+     * @throws ServletException if an initialization parameter is not valid
+     */
+    @Override
+    public void init() throws ServletException {
+        asyncTimeout = InitParameters.getLong(this, "asyncTimeout", asyncTimeout, 0, Long.MAX_VALUE);
+        if ("false".equalsIgnoreCase(getInitParameter("virtualThreads"))) {
+            return;
+        }
+        if (NEW_VIRTUAL_THREAD_EXECUTOR == null) {
+            log(MessageFormat.format(lStrings.getString("virtualThreads.unavailable"), getServletName()));
+            return;
+        }
+        try {
+            executor = (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke();
+        } catch (Throwable t) {
+            throw new ServletException(t);
+        }
+    }
+
+    /**
+     * Stops accepting new requests on virtual threads. Requests in progress run to completion. Subclasses that
+     * override this method must call <code>super.destroy()</code>.
+     */
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Returns whether requests are executed on virtual threads.
+     *
+     * @return <code>true</code> if virtual threads are available and enabled
+     */
+    public boolean isVirtualThreadMode() {
+        return executor != null;
+    }
+
+    /**
+     * Executes the request on a virtual thread, if possible, and otherwise on the calling thread.
+     *
+     * @param req the request
+     * @param resp the response
+     * @throws IOException      if an input or output error occurs on the calling thread
+     * @throws ServletException if the request could not be handled on the calling thread
+     */
+    @Override
+    protected void service(final HttpServletRequest req, final HttpServletResponse resp)
+            throws ServletException, IOException {
+        if (executor == null || !req.isAsyncSupported() || req.isAsyncStarted()) {
+            super.service(req, resp);
+            return;
+        }
+        final AsyncContext asyncContext = req.startAsync(req, resp);
+        if (asyncTimeout >= 0) {
+            asyncContext.setTimeout(asyncTimeout);
+        }
+        final VirtualTask task = new VirtualTask(asyncContext, req, resp);
+        asyncContext.addListener(task);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // shutting down: serve the request on this thread
+            task.run();
+        }
+    }
+
+    /*
+     * Runs the request on its virtual thread and finishes the asynchronous processing, exactly once, whichever of
+     * the servlet returning and the timeout comes first. The servlet works on a response that the timeout cuts off
+     * from the real one, because the interrupted thread may go on using it until it notices.
+     */
+    private final class VirtualTask implements Runnable, AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final HttpServletRequest req;
+        private final HttpServletResponse resp;
+        private final TaskResponse response;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile Thread thread;
+
+        VirtualTask(AsyncContext asyncContext, HttpServletRequest req, HttpServletResponse resp) {
+            this.asyncContext = asyncContext;
+            this.req = req;
+            this.resp = resp;
+            this.response = new TaskResponse(resp);
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            try {
+                VirtualThreadHttpServlet.super.service(req, response);
+            } catch (Throwable t) {
+                log(MessageFormat.format(lStrings.getString("virtualThreads.failed"), getServletName()), t);
+                sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            } finally {
+                thread = null;
+                if (finished.compareAndSet(false, true)) {
+                    asyncContext.complete();
+                }
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            Thread running = thread;
+            if (running != null) {
+                running.interrupt();
+            }
+            // a call of the servlet on the response in progress is not waited for; it answers as it returns
+            response.finish(this::timedOut);
+        }
+
+        private void timedOut() {
+            sendError(resp, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            asyncContext.complete();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            Thread running = thread;
+            if (running != null) {
+                running.interrupt();
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void sendError(HttpServletResponse target, int status) {
+            if (target.isCommitted()) {
+                return;
+            }
+            try {
+                target.sendError(status);
+            } catch (IOException | IllegalStateException e) {
+                // nothing more can be done for this request
+            }
+        }
+    }
+
+    private static MethodHandle findVirtualThreadExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
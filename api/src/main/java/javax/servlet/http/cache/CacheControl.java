@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.cache;
+
+import java.util.Enumeration;
+import java.util.Locale;
+
+/*
+ * The Cache-Control directives that matter to a shared cache, parsed from one or more header values. Durations are in
+ * seconds, with -1 meaning the directive was absent.
+ */
+// file private
+final class CacheControl {
+
+    /*
+     * RFC 9111, section 1.2.2: a delta-seconds value greater than 2^31 is taken as 2^31, whatever its size.
+     */
+    static final long MAX_DELTA_SECONDS = 1L << 31;
+
+    boolean noStore;
+    boolean noCache;
+    boolean isPrivate;
+    long maxAge = -1;
+    long sMaxAge = -1;
+    long staleWhileRevalidate = -1;
+
+    private CacheControl() {
+    }
+
+    // file private
+    static CacheControl parse(Enumeration<String> values) {
+        CacheControl cc = new CacheControl();
+        if (values == null) {
+            return cc;
+        }
+        while (values.hasMoreElements()) {
+            String value = values.nextElement();
+            if (value != null) {
+                cc.parse(value);
+            }
+        }
+        return cc;
+    }
+
+    // file private
+    static CacheControl parse(Iterable<String> values) {
+        CacheControl cc = new CacheControl();
+        if (values == null) {
+            return cc;
+        }
+        for (String value : values) {
+            if (value != null) {
+                cc.parse(value);
+            }
+        }
+        return cc;
+    }
+
+    private void parse(String value) {
+        int start = 0;
+        int length = value.length();
+        while (start < length) {
+            int end = value.indexOf(',', start);
+            if (end == -1) {
+                end = length;
+            }
+            String directive = value.substring(start, end).trim();
+            int eq = directive.indexOf('=');
+            String name = (eq == -1 ? directive : directive.substring(0, eq)).trim().toLowerCase(Locale.ENGLISH);
+            String argument = eq == -1 ? null : unquote(directive.substring(eq + 1).trim());
+            switch (name) {
+                case "no-store":
+                    noStore = true;
+                    break;
+                case "no-cache":
+                    noCache = true;
+                    break;
+                case "private":
+                    isPrivate = true;
+                    break;
+                case "max-age":
+                    maxAge = seconds(argument);
+                    break;
+                case "s-maxage":
+                    sMaxAge = seconds(argument);
+                    break;
+                case "stale-while-revalidate":
+                    staleWhileRevalidate = seconds(argument);
+                    break;
+                default:
+                    break;
+            }
+            start = end + 1;
+        }
+    }
+
+    // file private
+    static String unquote(String s) {
+        if (s.length() >= 2 && s.charAt(0) == '"' && s.charAt(s.length() - 1) == '"') {
+            return s.substring(1, s.length() - 1);
+        }
+        return s;
+    }
+
+    /*
+     * Invalid values are treated as 0, i.e. already stale, as RFC 7234 recommends; values too large are clamped.
+     */
+    private static long seconds(String argument) {
+        if (argument == null) {
+            return 0;
+        }
+        try {
+            return Math.min(Math.max(0, Long.parseLong(argument)), MAX_DELTA_SECONDS);
+        } catch (NumberFormatException e) {
+            return isDigits(argument) ? MAX_DELTA_SECONDS : 0;
+        }
+    }
+
+    private static boolean isDigits(String s) {
+        if (s.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) < '0' || s.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
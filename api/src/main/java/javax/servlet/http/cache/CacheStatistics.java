@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.cache;
+
+/**
+ * An immutable snapshot of the counters kept by a {@link ResponseCacheFilter}. Counters are cumulative since the filter
+ * was initialized.
+ *
+ * @since Servlet 4.0.4
+ */
+public final class CacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long staleHitCount;
+    private final long refreshCount;
+    private final long evictionCount;
+    private final long evictionWeight;
+    private final long entryCount;
+    private final long byteSize;
+    private final long maximumByteSize;
+
+    /**
+     * Creates a snapshot with the given values.
+     *
+     * @param hitCount        the number of requests served from the cache
+     * @param missCount       the number of cacheable requests that were not served from the cache
+     * @param staleHitCount   the number of requests served with a stale entry while it was being revalidated
+     * @param refreshCount    the number of stale entries successfully revalidated in the background
+     * @param evictionCount   the number of entries evicted to make room for others
+     * @param evictionWeight  the total size in bytes of the evicted entries
+     * @param entryCount      the current number of entries
+     * @param byteSize        the current total size of the entries in bytes
+     * @param maximumByteSize the configured maximum total size in bytes
+     */
+    public CacheStatistics(long hitCount, long missCount, long staleHitCount, long refreshCount, long evictionCount,
+            long evictionWeight, long entryCount, long byteSize, long maximumByteSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.staleHitCount = staleHitCount;
+        this.refreshCount = refreshCount;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+        this.entryCount = entryCount;
+        this.byteSize = byteSize;
+        this.maximumByteSize = maximumByteSize;
+    }
+
+    /**
+     * Returns the number of requests served from the cache, including those served with a stale entry.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of cacheable requests that were not served from the cache, including those that found only
+     * an expired entry.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of requests served with a stale entry while it was being revalidated. These are included in
+     * the hit count.
+     *
+     * @return the stale hit count
+     */
+    public long getStaleHitCount() {
+        return staleHitCount;
+    }
+
+    /**
+     * Returns the number of stale entries that were successfully revalidated in the background.
+     *
+     * @return the refresh count
+     */
+    public long getRefreshCount() {
+        return refreshCount;
+    }
+
+    /**
+     * Returns the ratio of hits to cacheable requests, or 1.0 if there have been no cacheable requests.
+     *
+     * @return the hit rate, between 0.0 and 1.0
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0d : (double) hitCount / requests;
+    }
+
+    /**
+     * Returns the number of entries evicted to make room for others. Entries removed because they expired are not
+     * counted.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the total size in bytes of the entries evicted to make room for others.
+     *
+     * @return the evicted size in bytes
+     */
+    public long getEvictionByteSize() {
+        return evictionWeight;
+    }
+
+    /**
+     * Returns the number of entries currently held.
+     *
+     * @return the entry count
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Returns the current total size of the entries, in bytes, including an estimate of the per-entry overhead.
+     *
+     * @return the size in bytes
+     */
+    public long getByteSize() {
+        return byteSize;
+    }
+
+    /**
+     * Returns the configured maximum total size of the entries, in bytes.
+     *
+     * @return the maximum size in bytes
+     */
+    public long getMaximumByteSize() {
+        return maximumByteSize;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics[hitCount=" + hitCount + ", missCount=" + missCount + ", hitRate=" + getHitRate()
+                + ", staleHitCount=" + staleHitCount + ", refreshCount=" + refreshCount + ", evictionCount="
+                + evictionCount + ", evictionByteSize=" + evictionWeight + ", entryCount=" + entryCount
+                + ", byteSize=" + byteSize + ", maximumByteSize=" + maximumByteSize + "]";
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.cache;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+
+/*
+ * An immutable captured response: status, headers and body. Headers are kept as flat parallel arrays, with repeated
+ * names for multi-valued headers, so that replaying allocates nothing beyond what the container does.
+ */
+// file private
+final class CachedResponse {
+
+    /*
+     * Rough per-entry overhead counted towards the cache weight in addition to header and body bytes.
+     */
+    private static final int OVERHEAD = 128;
+
+    private final int status;
+    private final String contentType;
+    private final String[] headerNames;
+    private final String[] headerValues;
+    private final byte[] body;
+    private final int bodyLength;
+    private final long storedAt;
+    private final long expiresAt;
+    private final long staleUntil;
+    private final long weight;
+
+    // file private
+    CachedResponse(int status, String contentType, List<String> headerNames, List<String> headerValues, byte[] body,
+            int bodyLength, long storedAt, long expiresAt, long staleUntil) {
+        this.status = status;
+        this.contentType = contentType;
+        this.headerNames = headerNames.toArray(new String[0]);
+        this.headerValues = headerValues.toArray(new String[0]);
+        this.body = body;
+        this.bodyLength = bodyLength;
+        this.storedAt = storedAt;
+        this.expiresAt = expiresAt;
+        this.staleUntil = staleUntil;
+        long w = OVERHEAD + bodyLength;
+        for (int i = 0; i < this.headerNames.length; i++) {
+            w += this.headerNames[i].length() + this.headerValues[i].length();
+        }
+        this.weight = w;
+    }
+
+    // file private
+    boolean isFresh(long now) {
+        return now < expiresAt;
+    }
+
+    /*
+     * True if the entry has expired but may still be served while it is being revalidated.
+     */
+    // file private
+    boolean isRevalidatable(long now) {
+        return now >= expiresAt && now < staleUntil;
+    }
+
+    // file private
+    long getWeight() {
+        return weight;
+    }
+
+    // file private
+    int getStatus() {
+        return status;
+    }
+
+    /*
+     * Writes the captured response, including an Age header, with the body going out in a single write. For a HEAD
+     * request only the headers are sent.
+     */
+    // file private
+    void replay(HttpServletResponse res, long now, boolean includeBody) throws IOException {
+        res.setStatus(status);
+        for (int i = 0; i < headerNames.length; i++) {
+            String name = headerNames[i];
+            if (i > 0 && name.equalsIgnoreCase(headerNames[i - 1])) {
+                res.addHeader(name, headerValues[i]);
+            } else {
+                res.setHeader(name, headerValues[i]);
+            }
+        }
+        if (contentType != null) {
+            res.setContentType(contentType);
+        }
+        res.setHeader("Age", Long.toString(Math.max(0, (now - storedAt) / 1000)));
+        res.setContentLength(bodyLength);
+        if (includeBody && bodyLength > 0) {
+            ServletOutputStream out = res.getOutputStream();
+            out.write(body, 0, bodyLength);
+        }
+    }
+}
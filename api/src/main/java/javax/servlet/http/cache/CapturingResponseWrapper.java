@@ -0,0 +1,532 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.cache;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InterceptingResponseWrapper;
+
+/*
+ * A response that records its status, headers and body. Normally everything is also passed through to the wrapped
+ * response, so the client is served while the copy is taken. An isolated wrapper instead keeps everything to itself
+ * and never touches the wrapped response; it is used to render a response in the background for the cache alone.
+ *
+ * The body copy is bounded; once it would exceed the limit, capturing stops and the response is no longer storable,
+ * but a client being served through the wrapper still receives it unchanged.
+ */
+// file private
+class CapturingResponseWrapper extends InterceptingResponseWrapper {
+
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    private static final String DEFAULT_CHARSET = "ISO-8859-1";
+
+    private final int maxCapture;
+    private final boolean isolated;
+
+    private final Map<String, List<String>> headers = new LinkedHashMap<>();
+    private final Map<String, String> headerNames = new LinkedHashMap<>();
+    private int status = SC_OK;
+    private boolean uncacheable;
+
+    // only maintained by an isolated wrapper
+    private String contentType;
+    private String characterEncoding;
+
+    private byte[] capture = new byte[0];
+    private int captured;
+    private boolean overflowed;
+
+    // file private
+    CapturingResponseWrapper(HttpServletResponse response, int maxCapture, boolean isolated) {
+        super(response);
+        this.maxCapture = maxCapture;
+        this.isolated = isolated;
+    }
+
+    @Override
+    protected ServletOutputStream newOutputStream() throws IOException {
+        return new TeeOutputStream(isolated ? null : getResponse().getOutputStream());
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (!isolated) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return !isolated && super.isCommitted();
+    }
+
+    @Override
+    public void reset() {
+        if (!isolated) {
+            super.reset();
+        }
+        headers.clear();
+        headerNames.clear();
+        status = SC_OK;
+        uncacheable = false;
+        contentType = null;
+        characterEncoding = getWriterEncoding();
+        captured = 0;
+        overflowed = false;
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (!isolated) {
+            super.resetBuffer();
+        }
+        captured = 0;
+        overflowed = false;
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+        if (!isolated) {
+            super.setBufferSize(size);
+        }
+    }
+
+    @Override
+    public void setContentType(String type) {
+        if (!isolated) {
+            super.setContentType(type);
+            return;
+        }
+        contentType = type;
+        int semicolon = type == null ? -1 : type.indexOf(';');
+        if (semicolon == -1) {
+            return;
+        }
+        // the charset parameter is kept apart, as the container keeps it; once the writer is used it is ignored
+        StringBuilder kept = new StringBuilder(type.substring(0, semicolon).trim());
+        for (String parameter : type.substring(semicolon + 1).split(";")) {
+            parameter = parameter.trim();
+            int equals = parameter.indexOf('=');
+            if (equals != -1 && parameter.substring(0, equals).trim().equalsIgnoreCase("charset")) {
+                if (getWriterEncoding() == null) {
+                    characterEncoding = CacheControl.unquote(parameter.substring(equals + 1).trim());
+                }
+            } else if (!parameter.isEmpty()) {
+                kept.append(';').append(parameter);
+            }
+        }
+        contentType = kept.toString();
+    }
+
+    @Override
+    public String getContentType() {
+        if (!isolated) {
+            return super.getContentType();
+        }
+        if (contentType == null || characterEncoding == null) {
+            return contentType;
+        }
+        return contentType + ";charset=" + characterEncoding;
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        if (isolated) {
+            if (getWriterEncoding() == null) {
+                characterEncoding = charset;
+            }
+        } else {
+            super.setCharacterEncoding(charset);
+        }
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        if (!isolated) {
+            return super.getCharacterEncoding();
+        }
+        return characterEncoding == null ? DEFAULT_CHARSET : characterEncoding;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        if (!isolated) {
+            super.setContentLength(len);
+        }
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (!isolated) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setLocale(Locale loc) {
+        if (!isolated) {
+            super.setLocale(loc);
+        }
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        if (!isolated) {
+            super.setStatus(sc);
+        }
+        status = sc;
+    }
+
+    @Override
+    @Deprecated
+    public void setStatus(int sc, String sm) {
+        if (!isolated) {
+            super.setStatus(sc, sm);
+        }
+        status = sc;
+    }
+
+    @Override
+    public int getStatus() {
+        return isolated ? status : super.getStatus();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        uncacheable = true;
+        if (!isolated) {
+            super.sendError(sc);
+        }
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        uncacheable = true;
+        if (!isolated) {
+            super.sendError(sc, msg);
+        }
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        uncacheable = true;
+        if (!isolated) {
+            super.sendRedirect(location);
+        }
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        uncacheable = true;
+        if (!isolated) {
+            super.addCookie(cookie);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (!isolated) {
+            super.setHeader(name, value);
+        }
+        record(name, value, false);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (!isolated) {
+            super.addHeader(name, value);
+        }
+        record(name, value, true);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (!isolated) {
+            super.setIntHeader(name, value);
+        }
+        record(name, Integer.toString(value), false);
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (!isolated) {
+            super.addIntHeader(name, value);
+        }
+        record(name, Integer.toString(value), true);
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        if (!isolated) {
+            super.setDateHeader(name, date);
+        }
+        record(name, HTTP_DATE.format(Instant.ofEpochMilli(date)), false);
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        if (!isolated) {
+            super.addDateHeader(name, date);
+        }
+        record(name, HTTP_DATE.format(Instant.ofEpochMilli(date)), true);
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        if (!isolated) {
+            return super.containsHeader(name);
+        }
+        return headers.containsKey(name.toLowerCase(Locale.ENGLISH));
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if (!isolated) {
+            return super.getHeader(name);
+        }
+        List<String> values = getCapturedHeaders(name);
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        if (!isolated) {
+            return super.getHeaders(name);
+        }
+        return new ArrayList<>(getCapturedHeaders(name));
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        if (!isolated) {
+            return super.getHeaderNames();
+        }
+        return new ArrayList<>(headerNames.values());
+    }
+
+    /*
+     * True if the response set a cookie, was an error or redirect produced by the container, or was too large to
+     * capture.
+     */
+    // file private
+    boolean isUncacheable() {
+        return uncacheable || overflowed;
+    }
+
+    /*
+     * True if a shared cache may store the response: it is not uncacheable, its status is cacheable by default, and
+     * its Cache-Control does not forbid storing it or reusing it without revalidation.
+     */
+    // file private
+    boolean isStorable() {
+        if (isUncacheable() || !isCacheableStatus(status)) {
+            return false;
+        }
+        CacheControl control = CacheControl.parse(getCapturedHeaders("Cache-Control"));
+        return !control.noStore && !control.noCache && !control.isPrivate;
+    }
+
+    // file private
+    List<String> getCapturedHeaders(String name) {
+        List<String> values = headers.get(name.toLowerCase(Locale.ENGLISH));
+        return values == null ? Collections.<String>emptyList() : values;
+    }
+
+    /*
+     * Builds the cache entry. Headers that describe the connection or the message framing, and those the cache
+     * recomputes on replay, are left out.
+     */
+    // file private
+    CachedResponse toCachedResponse(long storedAt, long expiresAt, long staleUntil) {
+        List<String> names = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+            if (isExcluded(e.getKey())) {
+                continue;
+            }
+            String name = headerNames.get(e.getKey());
+            for (String value : e.getValue()) {
+                names.add(name);
+                values.add(value);
+            }
+        }
+        byte[] body = captured == capture.length ? capture : Arrays.copyOf(capture, captured);
+        return new CachedResponse(status, getContentType(), names, values, body, captured, storedAt, expiresAt,
+                staleUntil);
+    }
+
+    private static boolean isExcluded(String lowerCaseName) {
+        switch (lowerCaseName) {
+            case "age":
+            case "connection":
+            case "content-length":
+            case "content-type":
+            case "keep-alive":
+            case "set-cookie":
+            case "trailer":
+            case "transfer-encoding":
+            case "upgrade":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void record(String name, String value, boolean add) {
+        if (name == null) {
+            return;
+        }
+        String key = name.toLowerCase(Locale.ENGLISH);
+        if (value == null) {
+            if (!add) {
+                headers.remove(key);
+                headerNames.remove(key);
+            }
+            return;
+        }
+        if ("set-cookie".equals(key)) {
+            uncacheable = true;
+        }
+        List<String> values = headers.get(key);
+        if (values == null) {
+            values = new ArrayList<>(1);
+            headers.put(key, values);
+            headerNames.put(key, name);
+        } else if (!add) {
+            values.clear();
+        }
+        values.add(value);
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        if (overflowed) {
+            return;
+        }
+        int required = captured + len;
+        if (required > maxCapture || required < 0) {
+            overflowed = true;
+            capture = new byte[0];
+            captured = 0;
+            return;
+        }
+        if (required > capture.length) {
+            capture = Arrays.copyOf(capture, Math.min(maxCapture, Math.max(required, Math.max(256, capture.length * 2))));
+        }
+        System.arraycopy(b, off, capture, captured, len);
+        captured = required;
+    }
+
+    /*
+     * The status codes defined as cacheable by default in RFC 7231, section 6.1, that a servlet would normally produce
+     * with a body.
+     */
+    private static boolean isCacheableStatus(int status) {
+        switch (status) {
+            case HttpServletResponse.SC_OK:
+            case HttpServletResponse.SC_NON_AUTHORITATIVE_INFORMATION:
+            case HttpServletResponse.SC_MULTIPLE_CHOICES:
+            case HttpServletResponse.SC_MOVED_PERMANENTLY:
+            case HttpServletResponse.SC_NOT_FOUND:
+            case HttpServletResponse.SC_METHOD_NOT_ALLOWED:
+            case HttpServletResponse.SC_GONE:
+            case HttpServletResponse.SC_REQUEST_URI_TOO_LONG:
+            case HttpServletResponse.SC_NOT_IMPLEMENTED:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /*
+     * Copies everything written into the capture buffer and, unless the wrapper is isolated, on to the client.
+     */
+    private class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream out;
+        private final byte[] single = new byte[1];
+
+        TeeOutputStream(ServletOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (out != null) {
+                out.write(b);
+            }
+            single[0] = (byte) b;
+            capture(single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (out != null) {
+                out.write(b, off, len);
+            }
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return out == null || out.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            if (out != null) {
+                out.setWriteListener(writeListener);
+                return;
+            }
+            try {
+                writeListener.onWritePossible();
+            } catch (IOException e) {
+                writeListener.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InitParameters;
+
+/**
+ * <p>
+ * A filter that collapses identical concurrent <code>GET</code> requests into a single execution of the target
+ * resource. The first request for a key, the leader, goes down the chain as usual while its response is captured on
+ * the way to the client. Identical requests arriving before the leader has finished, the followers, are put into
+ * asynchronous mode and parked without holding a thread; when the leader finishes they are all answered with a copy
+ * of its response.
+ * </p>
+ *
+ * <p>
+ * Requests are identical when {@link #getCoalescingKey(HttpServletRequest)} returns the same key for them. By default
+ * the key is made of the host, request URI and query string, plus the values of the request headers listed in
+ * <code>keyHeaders</code>; subclasses may override the method to derive the key differently, or to return
+ * <code>null</code> for requests that must not be coalesced.
+ * </p>
+ *
+ * <p>
+ * The leader's response is shared only if it could be stored by a cache, by the same rules as
+ * {@link ResponseCacheFilter}: a response that is marked <code>no-store</code>, <code>no-cache</code> or
+ * <code>private</code>, has a status that is not cacheable by default, sets a cookie, is an error or redirect produced
+ * with <code>sendError</code> or <code>sendRedirect</code>, or has a body larger than <code>maxBodySize</code> is not
+ * copied, and the followers are instead dispatched, through {@link AsyncContext#dispatch()}, to execute the resource
+ * themselves. The same happens to a follower that is still waiting after <code>timeout</code> milliseconds. Since these
+ * executions pass through the filter chain with a dispatcher type of <code>ASYNC</code>, filters that should apply to
+ * them must be mapped for that dispatcher type. Requests that do not support asynchronous processing, and followers
+ * beyond <code>maxFollowers</code> for a single leader, are executed normally.
+ * </p>
+ *
+ * <p>
+ * Counts of leaders, coalesced followers, timeouts and fallbacks are available from {@link #getStatistics()}. The
+ * filter registers itself as a servlet context attribute named after this class followed by <code>"."</code> and the
+ * filter name, so that other components can find it.
+ * </p>
+ *
+ * <p>
+ * The filter recognizes the following initialization parameters:
+ * </p>
+ * <ul>
+ * <li><code>keyHeaders</code> - a comma separated list of the request headers whose values are part of the default
+ * key; defaults to <code>Accept,Accept-Encoding,Accept-Language,Authorization,Cookie</code></li>
+ * <li><code>timeout</code> - the time in milliseconds a follower waits for its leader; defaults to 30000</li>
+ * <li><code>maxFollowers</code> - the maximum number of followers parked on a single leader; defaults to 1000</li>
+ * <li><code>maxBodySize</code> - the maximum size in bytes of a response body shared with followers; defaults to
+ * 1MB</li>
+ * </ul>
+ *
+ * @since Servlet 4.0.4
+ */
+public class CoalescingFilter extends HttpFilter {
+
+    private static final long serialVersionUID = -2170339464325542085L;
+
+    private static final String DEFAULT_KEY_HEADERS = "Accept,Accept-Encoding,Accept-Language,Authorization,Cookie";
+
+    private String[] keyHeaders;
+    private long timeout = 30000;
+    private int maxFollowers = 1000;
+    private int maxBodySize = 1024 * 1024;
+
+    private transient ConcurrentHashMap<String, Flight> flights;
+    private transient LongAdder leaderCount;
+    private transient LongAdder coalescedCount;
+    private transient LongAdder fallbackCount;
+    private transient LongAdder timeoutCount;
+    private transient LongAdder rejectedCount;
+
+    /**
+     * Reads the initialization parameters and registers the filter as a servlet context attribute.
+     *
+     * @throws ServletException if an initialization parameter is not valid
+     */
+    @Override
+    public void init() throws ServletException {
+        String headers = getInitParameter("keyHeaders");
+        keyHeaders = (headers == null ? DEFAULT_KEY_HEADERS : headers).trim().split("\\s*,\\s*");
+        if (keyHeaders.length == 1 && keyHeaders[0].isEmpty()) {
+            keyHeaders = new String[0];
+        }
+        timeout = InitParameters.getLong(this, "timeout", timeout, 1, Long.MAX_VALUE);
+        maxFollowers = InitParameters.getInt(this, "maxFollowers", maxFollowers, 0, Integer.MAX_VALUE);
+        maxBodySize = InitParameters.getInt(this, "maxBodySize", maxBodySize, 0, Integer.MAX_VALUE);
+
+        flights = new ConcurrentHashMap<>();
+        leaderCount = new LongAdder();
+        coalescedCount = new LongAdder();
+        fallbackCount = new LongAdder();
+        timeoutCount = new LongAdder();
+        rejectedCount = new LongAdder();
+        getServletContext().setAttribute(getAttributeName(), this);
+    }
+
+    /**
+     * Executes the request as a leader, parks it as a follower of an identical request in progress, or simply passes
+     * it down the chain if it is not eligible for coalescing.
+     *
+     * @param req   the request
+     * @param res   the response
+     * @param chain the <code>FilterChain</code> for invoking the next filter or the resource
+     * @throws IOException      if an input or output error occurs
+     * @throws ServletException if the request could not be handled
+     */
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        String key = null;
+        if ("GET".equals(req.getMethod()) && req.getDispatcherType() == DispatcherType.REQUEST) {
+            key = getCoalescingKey(req);
+        }
+        if (key == null) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        Flight flight = new Flight();
+        while (true) {
+            Flight existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                lead(key, flight, req, res, chain);
+                return;
+            }
+            if (!req.isAsyncSupported()) {
+                chain.doFilter(req, res);
+                return;
+            }
+            switch (existing.reserve(maxFollowers)) {
+                case Flight.RESERVED:
+                    follow(existing, req, res);
+                    return;
+                case Flight.FULL:
+                    rejectedCount.increment();
+                    chain.doFilter(req, res);
+                    return;
+                default:
+                    // the leader has just finished; try to become the next one
+                    flights.remove(key, existing);
+            }
+        }
+    }
+
+    /**
+     * Returns the key under which the request is coalesced with identical ones, or <code>null</code> if the request
+     * must be executed on its own. Only <code>GET</code> requests with a dispatcher type of <code>REQUEST</code> are
+     * passed to this method.
+     *
+     * <p>
+     * The default implementation combines the server name, request URI and query string with the values of the
+     * request headers listed in the <code>keyHeaders</code> initialization parameter.
+     * </p>
+     *
+     * @param req the request
+     * @return the coalescing key, or <code>null</code>
+     */
+    protected String getCoalescingKey(HttpServletRequest req) {
+        StringBuilder key = new StringBuilder(128);
+        key.append(req.getServerName()).append(req.getRequestURI());
+        String query = req.getQueryString();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        for (String name : keyHeaders) {
+            Enumeration<String> values = req.getHeaders(name);
+            if (values == null) {
+                continue;
+            }
+            key.append('\n').append(name).append(':');
+            while (values.hasMoreElements()) {
+                key.append(values.nextElement()).append(',');
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Removes the servlet context attribute.
+     */
+    @Override
+    public void destroy() {
+        if (flights != null) {
+            getServletContext().removeAttribute(getAttributeName());
+        }
+    }
+
+    /**
+     * Returns a snapshot of the coalescing counters.
+     *
+     * @return the current statistics
+     */
+    public CoalescingStatistics getStatistics() {
+        return new CoalescingStatistics(leaderCount.sum(), coalescedCount.sum(), fallbackCount.sum(),
+                timeoutCount.sum(), rejectedCount.sum(), flights.size());
+    }
+
+    private String getAttributeName() {
+        return CoalescingFilter.class.getName() + "." + getFilterName();
+    }
+
+    private void lead(final String key, final Flight flight, HttpServletRequest req, HttpServletResponse res,
+            FilterChain chain) throws IOException, ServletException {
+        leaderCount.increment();
+        final CapturingResponseWrapper wrapper = new CapturingResponseWrapper(res, maxBodySize, false);
+        boolean landed = false;
+        try {
+            chain.doFilter(req, wrapper);
+            if (req.isAsyncStarted()) {
+                req.getAsyncContext().addListener(new AsyncListener() {
+
+                    private boolean failed;
+
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        land(key, flight, failed ? null : wrapper);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        failed = true;
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        failed = true;
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+            } else {
+                land(key, flight, wrapper);
+            }
+            landed = true;
+        } finally {
+            if (!landed) {
+                land(key, flight, null);
+            }
+        }
+    }
+
+    /*
+     * Hands the leader's response, or null if it cannot be shared, to the followers.
+     */
+    private void land(String key, Flight flight, CapturingResponseWrapper wrapper) {
+        CachedResponse response = null;
+        if (wrapper != null) {
+            if (wrapper.isStorable()) {
+                long now = System.currentTimeMillis();
+                response = wrapper.toCachedResponse(now, now, now);
+            }
+        }
+        List<AsyncContext> followers = flight.land(response);
+        flights.remove(key, flight);
+        for (AsyncContext follower : followers) {
+            deliver(follower, response);
+        }
+    }
+
+    private void follow(final Flight flight, HttpServletRequest req, HttpServletResponse res) {
+        // keep the wrappers of the filters ahead of this one in place for the reply or the fallback dispatch
+        AsyncContext asyncContext = req.startAsync(req, res);
+        asyncContext.setTimeout(timeout);
+        asyncContext.addListener(new AsyncListener() {
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                AsyncContext context = event.getAsyncContext();
+                if (flight.detach(context)) {
+                    timeoutCount.increment();
+                    context.dispatch();
+                }
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                flight.detach(event.getAsyncContext());
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        if (!flight.park(asyncContext)) {
+            deliver(asyncContext, flight.getResponse());
+        }
+    }
+
+    private void deliver(final AsyncContext follower, final CachedResponse response) {
+        if (response == null) {
+            fallbackCount.increment();
+            follower.dispatch();
+            return;
+        }
+        coalescedCount.increment();
+        follower.start(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    response.replay((HttpServletResponse) follower.getResponse(), System.currentTimeMillis(), true);
+                } catch (IOException e) {
+                    // the client has gone away; nothing more can be done for it
+                } finally {
+                    follower.complete();
+                }
+            }
+        });
+    }
+
+    /*
+     * The state shared by a leader and its followers.
+     */
+    private static final class Flight {
+
+        static final int RESERVED = 0;
+        static final int FULL = 1;
+        static final int LANDED = 2;
+
+        private final List<AsyncContext> parked = new ArrayList<>();
+        private int reserved;
+        private boolean landed;
+        private CachedResponse response;
+
+        /*
+         * Claims a follower slot, before the follower goes asynchronous, so that the fan-out limit holds.
+         */
+        synchronized int reserve(int maxFollowers) {
+            if (landed) {
+                return LANDED;
+            }
+            if (reserved >= maxFollowers) {
+                return FULL;
+            }
+            reserved++;
+            return RESERVED;
+        }
+
+        /*
+         * Parks a follower that has reserved a slot; returns false if the leader landed in the meantime, in which case
+         * the caller delivers the response itself.
+         */
+        synchronized boolean park(AsyncContext follower) {
+            if (landed) {
+                return false;
+            }
+            parked.add(follower);
+            return true;
+        }
+
+        synchronized boolean detach(AsyncContext follower) {
+            return parked.remove(follower);
+        }
+
+        synchronized CachedResponse getResponse() {
+            return response;
+        }
+
+        synchronized List<AsyncContext> land(CachedResponse response) {
+            this.landed = true;
+            this.response = response;
+            List<AsyncContext> followers = new ArrayList<>(parked);
+            parked.clear();
+            return followers;
+        }
+    }
+}
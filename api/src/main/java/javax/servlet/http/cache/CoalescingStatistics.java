@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.cache;
+
+/**
+ * An immutable snapshot of the counters kept by a {@link CoalescingFilter}. Counters are cumulative since the filter
+ * was initialized.
+ *
+ * @since Servlet 4.0.4
+ */
+public final class CoalescingStatistics {
+
+    private final long leaderCount;
+    private final long coalescedCount;
+    private final long fallbackCount;
+    private final long timeoutCount;
+    private final long rejectedCount;
+    private final long inFlightCount;
+
+    /**
+     * Creates a snapshot with the given values.
+     *
+     * @param leaderCount    the number of requests that executed the resource on behalf of others
+     * @param coalescedCount the number of followers answered with a copy of their leader's response
+     * @param fallbackCount  the number of followers that executed the resource because the response could not be
+     *                       shared
+     * @param timeoutCount   the number of followers that executed the resource after waiting too long
+     * @param rejectedCount  the number of requests executed normally because their leader had too many followers
+     * @param inFlightCount  the current number of leaders
+     */
+    public CoalescingStatistics(long leaderCount, long coalescedCount, long fallbackCount, long timeoutCount,
+            long rejectedCount, long inFlightCount) {
+        this.leaderCount = leaderCount;
+        this.coalescedCount = coalescedCount;
+        this.fallbackCount = fallbackCount;
+        this.timeoutCount = timeoutCount;
+        this.rejectedCount = rejectedCount;
+        this.inFlightCount = inFlightCount;
+    }
+
+    /**
+     * Returns the number of requests that executed the resource on behalf of identical requests, whether or not any
+     * followers joined them.
+     *
+     * @return the leader count
+     */
+    public long getLeaderCount() {
+        return leaderCount;
+    }
+
+    /**
+     * Returns the number of followers answered with a copy of their leader's response without executing the resource.
+     *
+     * @return the coalesced count
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Returns the number of followers that executed the resource themselves because their leader's response could not
+     * be shared.
+     *
+     * @return the fallback count
+     */
+    public long getFallbackCount() {
+        return fallbackCount;
+    }
+
+    /**
+     * Returns the number of followers that executed the resource themselves after waiting for their leader for longer
+     * than the configured timeout.
+     *
+     * @return the timeout count
+     */
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    /**
+     * Returns the number of requests executed normally because their leader already had the maximum number of
+     * followers.
+     *
+     * @return the rejected count
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Returns the number of leaders executing at the time of the snapshot.
+     *
+     * @return the in-flight count
+     */
+    public long getInFlightCount() {
+        return inFlightCount;
+    }
+
+    /**
+     * Returns the fraction of the requests seen by the filter that were answered without executing the resource.
+     *
+     * @return the coalesced count divided by the total number of requests, or 0 if there were none
+     */
+    public double getCoalescedRate() {
+        long total = leaderCount + coalescedCount + fallbackCount + timeoutCount + rejectedCount;
+        return total == 0 ? 0 : (double) coalescedCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CoalescingStatistics[leaderCount=" + leaderCount + ", coalescedCount=" + coalescedCount
+                + ", fallbackCount=" + fallbackCount + ", timeoutCount=" + timeoutCount + ", rejectedCount="
+                + rejectedCount + ", inFlightCount=" + inFlightCount + "]";
+    }
+}
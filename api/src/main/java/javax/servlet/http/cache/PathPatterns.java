@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.internal.InitParameters;
+
+/*
+ * Maps servlet URL patterns (exact "/a/b", path prefix "/a/*" or "/*", extension "*.ext" and default "/") to values,
+ * matched against a context-relative path with the precedence rules of the servlet specification: exact, then longest
+ * prefix, then extension, then default. "/*" is the shortest prefix, so it still gives way to exact and longer prefix
+ * patterns but wins over extension patterns and the default.
+ */
+// file private
+final class PathPatterns<V> {
+
+    private final Map<String, V> exact = new HashMap<>();
+    private final Map<String, V> prefix = new HashMap<>();
+    private final Map<String, V> extension = new HashMap<>();
+    private V defaultValue;
+
+    /*
+     * Parses an initialization parameter made of a comma separated list of urlPattern=seconds pairs. A bare number
+     * applies to the default pattern "/".
+     */
+    // file private
+    static PathPatterns<Long> getSeconds(FilterConfig config, String name) throws ServletException {
+        PathPatterns<Long> patterns = new PathPatterns<>();
+        String value = config.getInitParameter(name);
+        if (value == null) {
+            return patterns;
+        }
+        for (String pair : value.split(",")) {
+            pair = pair.trim();
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.lastIndexOf('=');
+            String pattern = eq == -1 ? "/" : pair.substring(0, eq).trim();
+            try {
+                long seconds = Long.parseLong(pair.substring(eq + 1).trim());
+                if (seconds >= 0 && !pattern.isEmpty()) {
+                    patterns.put(pattern, Long.valueOf(seconds));
+                    continue;
+                }
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+            throw InitParameters.invalid(name, value);
+        }
+        return patterns;
+    }
+
+    // file private
+    void put(String pattern, V value) {
+        if (pattern.equals("/")) {
+            defaultValue = value;
+        } else if (pattern.startsWith("*.")) {
+            extension.put(pattern.substring(2), value);
+        } else if (pattern.endsWith("/*")) {
+            prefix.put(pattern.substring(0, pattern.length() - 2), value);
+        } else {
+            exact.put(pattern, value);
+        }
+    }
+
+    // file private
+    boolean isEmpty() {
+        return defaultValue == null && exact.isEmpty() && prefix.isEmpty() && extension.isEmpty();
+    }
+
+    // file private
+    V match(String path) {
+        V value = exact.get(path);
+        if (value != null) {
+            return value;
+        }
+        if (!prefix.isEmpty()) {
+            String candidate = path;
+            while (true) {
+                value = prefix.get(candidate);
+                if (value != null) {
+                    return value;
+                }
+                int slash = candidate.lastIndexOf('/');
+                if (slash == -1) {
+                    break;
+                }
+                // the leading slash leads to the empty prefix, under which "/*" is kept
+                candidate = candidate.substring(0, slash);
+            }
+        }
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        if (dot > slash) {
+            value = extension.get(path.substring(dot + 1));
+            if (value != null) {
+                return value;
+            }
+        }
+        return defaultValue;
+    }
+}
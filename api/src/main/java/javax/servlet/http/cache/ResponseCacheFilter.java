@@ -0,0 +1,474 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.cache;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InitParameters;
+
+/**
+ * <p>
+ * A filter that keeps complete <code>GET</code> responses in memory and replays them to later requests for the same
+ * resource. A response is captured while it is being sent, so the first client is not delayed, and a cache hit is
+ * replayed with a single write of the stored body. <code>HEAD</code> requests are answered from stored
+ * <code>GET</code> responses.
+ * </p>
+ *
+ * <p>
+ * Entries are keyed on the method, host, request URI and query string, plus the values of the request headers named
+ * in the response's <code>Vary</code> header. Freshness follows the response's <code>Cache-Control</code>
+ * (<code>s-maxage</code>, then <code>max-age</code>) or <code>Expires</code> header, falling back to
+ * <code>defaultTtl</code>. Responses are not stored if they are marked <code>no-store</code>, <code>no-cache</code> or
+ * <code>private</code>, set a cookie, vary on <code>*</code>, have a status that is not cacheable by default, or are
+ * larger than <code>maxEntrySize</code>. Requests with an <code>Authorization</code> header bypass the cache, and
+ * requests marked <code>no-cache</code> or <code>max-age=0</code> are not answered from it.
+ * </p>
+ *
+ * <p>
+ * The total size of the entries is bounded by <code>maxSize</code> bytes. Eviction uses the W-TinyLFU policy: a new
+ * entry is only admitted to the main space if it has been requested more often, recently, than the entry it would
+ * displace, so a scan of rarely requested URLs does not flush out the hot set.
+ * </p>
+ *
+ * <p>
+ * Optionally, expired entries can be served for a while longer when they are requested, as with the
+ * <code>stale-while-revalidate</code> extension of RFC 5861: the request that finds the stale entry is answered with it
+ * immediately and its response is closed, which completes it for the client. Only then is the same request put into
+ * asynchronous mode and dispatched again, through {@link AsyncContext#dispatch()}, to render a fresh copy into a
+ * response of its own that only the cache sees. At most one refresh per entry, and at most
+ * <code>maxConcurrentRefreshes</code> refreshes overall, run at a time; other requests keep receiving the stale entry
+ * meanwhile, so an expiring hot entry never sends a burst of requests to the resource. The stale window comes from the
+ * response's <code>stale-while-revalidate</code> directive, or else from the URL pattern configured in
+ * <code>staleWhileRevalidate</code>. Stale entries are only served to requests that support asynchronous processing.
+ * Since the refresh passes through the filter chain with a dispatcher type of <code>ASYNC</code>, filters that should
+ * apply to it must be mapped for that dispatcher type.
+ * </p>
+ *
+ * <p>
+ * Hit, miss and eviction counts and the current size are available from {@link #getStatistics()}. The filter
+ * registers itself as a servlet context attribute named after this class followed by <code>"."</code> and the filter
+ * name, so that other components can find it.
+ * </p>
+ *
+ * <p>
+ * The filter recognizes the following initialization parameters:
+ * </p>
+ * <ul>
+ * <li><code>maxSize</code> - the maximum total size of the entries in bytes; defaults to 64MB</li>
+ * <li><code>maxEntrySize</code> - the maximum size of a single response body in bytes; defaults to 1MB</li>
+ * <li><code>defaultTtl</code> - the freshness lifetime in seconds of responses without explicit freshness
+ * information; defaults to 0, meaning such responses are not stored</li>
+ * <li><code>staleWhileRevalidate</code> - a comma separated list of <code>urlPattern=seconds</code> pairs giving how
+ * long after expiry entries for matching requests may be served stale, for example
+ * <code>/api/*=30,*.json=10,/=5</code>; patterns are matched against the context-relative path following the
+ * servlet mapping rules; defaults to none</li>
+ * <li><code>maxConcurrentRefreshes</code> - the maximum number of stale entries revalidated at the same time;
+ * defaults to 4</li>
+ * <li><code>refreshTimeout</code> - the asynchronous timeout in milliseconds for a revalidation; defaults to
+ * 30000</li>
+ * </ul>
+ *
+ * @since Servlet 4.0.4
+ */
+public class ResponseCacheFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 3529086021357914120L;
+
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME;
+
+    /*
+     * Bound on the number of resources whose Vary header names are remembered. Forgetting them is harmless: the next
+     * lookup misses and the following store learns them again.
+     */
+    private static final int MAX_VARY_INDEX = 10000;
+
+    private long maxSize = 64L * 1024 * 1024;
+    private int maxEntrySize = 1024 * 1024;
+    private long defaultTtl = 0;
+    private int maxConcurrentRefreshes = 4;
+    private long refreshTimeout = 30000;
+
+    private transient TinyLfuCache<String, CachedResponse> cache;
+    private transient ConcurrentHashMap<String, String[]> varyIndex;
+    private transient PathPatterns<Long> staleWindows;
+    private transient Semaphore refreshPermits;
+    private transient Set<String> refreshing;
+    private transient LongAdder hitCount;
+    private transient LongAdder missCount;
+    private transient LongAdder staleHitCount;
+    private transient LongAdder refreshCount;
+
+    /**
+     * Reads the initialization parameters, creates the cache and registers the filter as a servlet context attribute.
+     *
+     * @throws ServletException if an initialization parameter is not valid
+     */
+    @Override
+    public void init() throws ServletException {
+        maxSize = InitParameters.getLong(this, "maxSize", maxSize, 1, Long.MAX_VALUE);
+        maxEntrySize = InitParameters.getInt(this, "maxEntrySize", maxEntrySize, 0, Integer.MAX_VALUE);
+        defaultTtl = InitParameters.getLong(this, "defaultTtl", defaultTtl, 0, Long.MAX_VALUE);
+        maxConcurrentRefreshes = InitParameters.getInt(this, "maxConcurrentRefreshes", maxConcurrentRefreshes, 0,
+                Integer.MAX_VALUE);
+        refreshTimeout = InitParameters.getLong(this, "refreshTimeout", refreshTimeout, 0, Long.MAX_VALUE);
+        staleWindows = PathPatterns.getSeconds(this, "staleWhileRevalidate");
+
+        int expectedEntries = (int) Math.min(1 << 22, maxSize / 4096);
+        cache = new TinyLfuCache<>(maxSize, expectedEntries);
+        varyIndex = new ConcurrentHashMap<>();
+        refreshPermits = new Semaphore(maxConcurrentRefreshes);
+        refreshing = ConcurrentHashMap.newKeySet();
+        hitCount = new LongAdder();
+        missCount = new LongAdder();
+        staleHitCount = new LongAdder();
+        refreshCount = new LongAdder();
+        getServletContext().setAttribute(getAttributeName(), this);
+    }
+
+    /**
+     * Answers the request from the cache if a fresh entry exists; otherwise invokes the chain and stores the response
+     * if it is cacheable.
+     *
+     * @param req   the request
+     * @param res   the response
+     * @param chain the <code>FilterChain</code> for invoking the next filter or the resource
+     * @throws IOException      if an input or output error occurs
+     * @throws ServletException if the request could not be handled
+     */
+    @Override
+    protected void doFilter(final HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        String method = req.getMethod();
+        boolean head = "HEAD".equals(method);
+        if ((!head && !"GET".equals(method)) || req.getDispatcherType() != DispatcherType.REQUEST
+                || req.getHeader("Authorization") != null) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        CacheControl requestControl = CacheControl.parse(req.getHeaders("Cache-Control"));
+        final String baseKey = baseKey(req);
+        if (!requestControl.noCache && requestControl.maxAge != 0 && !"no-cache".equals(req.getHeader("Pragma"))) {
+            String key = key(baseKey, req, varyIndex.get(baseKey));
+            CachedResponse cached = cache.get(key);
+            long now = System.currentTimeMillis();
+            if (cached != null) {
+                if (cached.isFresh(now)) {
+                    hitCount.increment();
+                    cached.replay(res, now, !head);
+                    return;
+                }
+                if (cached.isRevalidatable(now) && req.isAsyncSupported()) {
+                    hitCount.increment();
+                    staleHitCount.increment();
+                    cached.replay(res, now, !head);
+                    if (!head && refreshing.add(key)) {
+                        if (refreshPermits.tryAcquire()) {
+                            revalidate(req, res, baseKey, key);
+                        } else {
+                            refreshing.remove(key);
+                        }
+                    }
+                    return;
+                }
+                if (!cached.isRevalidatable(now)) {
+                    cache.remove(key, cached);
+                }
+            }
+        }
+        missCount.increment();
+
+        if (head || requestControl.noStore) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        final CapturingResponseWrapper wrapper = new CapturingResponseWrapper(res, maxEntrySize, false);
+        chain.doFilter(req, wrapper);
+        if (req.isAsyncStarted()) {
+            req.getAsyncContext().addListener(new AsyncListener() {
+
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    store(baseKey, req, wrapper);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                    event.getAsyncContext().addListener(this);
+                }
+            });
+        } else {
+            store(baseKey, req, wrapper);
+        }
+    }
+
+    /*
+     * Re-renders a stale entry for the cache. The stale copy has already been written to the client and is the whole
+     * response, so the response is closed first: that ends the message for the client, through whatever wraps the
+     * response on the way out, rather than leaving it open for as long as the refresh runs. The request is then
+     * dispatched again with an isolated response that never touches the client's.
+     */
+    private void revalidate(HttpServletRequest req, HttpServletResponse res, final String baseKey, final String key)
+            throws IOException {
+        boolean started = false;
+        try {
+            res.getOutputStream().close();
+            final HttpServletRequest revalidation = new RevalidationRequestWrapper(req);
+            final CapturingResponseWrapper capture = new CapturingResponseWrapper(res, maxEntrySize, true);
+            AsyncContext asyncContext = req.startAsync(revalidation, capture);
+            asyncContext.setTimeout(refreshTimeout);
+            asyncContext.addListener(new AsyncListener() {
+
+                private boolean failed;
+
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    try {
+                        if (!failed && store(baseKey, revalidation, capture)) {
+                            refreshCount.increment();
+                        }
+                    } finally {
+                        refreshing.remove(key);
+                        refreshPermits.release();
+                    }
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    failed = true;
+                    event.getAsyncContext().complete();
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    failed = true;
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                    event.getAsyncContext().addListener(this);
+                }
+            });
+            asyncContext.dispatch();
+            started = true;
+        } finally {
+            if (!started) {
+                refreshing.remove(key);
+                refreshPermits.release();
+            }
+        }
+    }
+
+    /**
+     * Discards all entries and removes the servlet context attribute.
+     */
+    @Override
+    public void destroy() {
+        if (cache != null) {
+            cache.clear();
+            varyIndex.clear();
+            getServletContext().removeAttribute(getAttributeName());
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the current statistics
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount.sum(), missCount.sum(), staleHitCount.sum(), refreshCount.sum(),
+                cache.evictionCount(), cache.evictionWeight(), cache.size(), cache.weightedSize(), cache.maximumWeight());
+    }
+
+    /**
+     * Discards all entries.
+     */
+    public void invalidateAll() {
+        cache.clear();
+        varyIndex.clear();
+    }
+
+    private String getAttributeName() {
+        return ResponseCacheFilter.class.getName() + "." + getFilterName();
+    }
+
+    /*
+     * Stores the captured response if it is cacheable, returning whether it was stored.
+     */
+    private boolean store(String baseKey, HttpServletRequest req, CapturingResponseWrapper wrapper) {
+        if (!wrapper.isStorable()) {
+            return false;
+        }
+        CacheControl control = CacheControl.parse(wrapper.getCapturedHeaders("Cache-Control"));
+        long now = System.currentTimeMillis();
+        long ttl = freshnessLifetime(control, wrapper, now);
+        if (ttl <= 0) {
+            return false;
+        }
+        String[] varyNames = varyNames(wrapper.getCapturedHeaders("Vary"));
+        if (varyNames == null) {
+            return false;
+        }
+        if (varyNames.length == 0) {
+            varyIndex.remove(baseKey);
+        } else {
+            if (varyIndex.size() >= MAX_VARY_INDEX) {
+                varyIndex.clear();
+            }
+            varyIndex.put(baseKey, varyNames);
+        }
+        long expiresAt = now + ttl;
+        CachedResponse entry = wrapper.toCachedResponse(now, expiresAt, expiresAt + staleWindow(control, req));
+        cache.put(key(baseKey, req, varyNames), entry, entry.getWeight());
+        return true;
+    }
+
+    /*
+     * Returns how long after expiry, in milliseconds, the entry may be served while being revalidated.
+     */
+    private long staleWindow(CacheControl control, HttpServletRequest req) {
+        if (control.staleWhileRevalidate >= 0) {
+            return millis(control.staleWhileRevalidate);
+        }
+        if (staleWindows.isEmpty()) {
+            return 0;
+        }
+        String path = req.getServletPath();
+        String pathInfo = req.getPathInfo();
+        if (pathInfo != null) {
+            path = path == null ? pathInfo : path + pathInfo;
+        }
+        Long seconds = staleWindows.match(path == null ? "/" : path);
+        return seconds == null ? 0 : millis(seconds.longValue());
+    }
+
+    /*
+     * Returns the freshness lifetime in milliseconds of a storable response, or 0 if it is already stale.
+     */
+    private long freshnessLifetime(CacheControl control, CapturingResponseWrapper wrapper, long now) {
+        if (control.sMaxAge >= 0) {
+            return millis(control.sMaxAge);
+        }
+        if (control.maxAge >= 0) {
+            return millis(control.maxAge);
+        }
+        List<String> expires = wrapper.getCapturedHeaders("Expires");
+        if (!expires.isEmpty()) {
+            try {
+                long expiresAt = ZonedDateTime.parse(expires.get(0).trim(), HTTP_DATE).toInstant().toEpochMilli();
+                return Math.min(expiresAt - now, millis(CacheControl.MAX_DELTA_SECONDS));
+            } catch (DateTimeParseException e) {
+                // an invalid Expires means already expired
+                return 0;
+            }
+        }
+        return millis(defaultTtl);
+    }
+
+    /*
+     * Converts a number of seconds to milliseconds, clamped to the largest delta-seconds a cache need honour. The
+     * lifetime and the stale window are then both below 70 years, so adding them to the current time cannot overflow.
+     */
+    private static long millis(long seconds) {
+        return TimeUnit.SECONDS.toMillis(Math.min(seconds, CacheControl.MAX_DELTA_SECONDS));
+    }
+
+    /*
+     * Returns the lower case header names listed in Vary, or null if the response varies on "*".
+     */
+    private static String[] varyNames(List<String> vary) {
+        if (vary.isEmpty()) {
+            return new String[0];
+        }
+        List<String> names = new ArrayList<>();
+        for (String value : vary) {
+            for (String token : value.split(",")) {
+                String name = token.trim().toLowerCase(Locale.ENGLISH);
+                if (name.equals("*")) {
+                    return null;
+                }
+                if (!name.isEmpty() && !names.contains(name)) {
+                    names.add(name);
+                }
+            }
+        }
+        names.sort(null);
+        return names.toArray(new String[0]);
+    }
+
+    private static String baseKey(HttpServletRequest req) {
+        StringBuilder key = new StringBuilder(64);
+        key.append("GET ").append(req.getServerName()).append(req.getRequestURI());
+        String query = req.getQueryString();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        return key.toString();
+    }
+
+    private static String key(String baseKey, HttpServletRequest req, String[] varyNames) {
+        if (varyNames == null || varyNames.length == 0) {
+            return baseKey;
+        }
+        StringBuilder key = new StringBuilder(baseKey);
+        for (String name : varyNames) {
+            key.append('\n').append(name).append(':');
+            Enumeration<String> values = req.getHeaders(name);
+            boolean first = true;
+            while (values != null && values.hasMoreElements()) {
+                if (!first) {
+                    key.append(',');
+                }
+                key.append(values.nextElement());
+                first = false;
+            }
+        }
+        return key.toString();
+    }
+}
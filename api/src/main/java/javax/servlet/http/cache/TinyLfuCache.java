@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * A size-bounded cache using the W-TinyLFU policy: new entries enter a small LRU admission window (1% of the capacity)
+ * and, when they overflow it, must compete for a place in the main space against the main space's least recently
+ * used entry. The winner is whichever the frequency sketch says has been requested more often, so a burst of
+ * one-off requests cannot flush out entries that are popular over time. The main space is a segmented LRU whose
+ * protected segment (80%) holds entries that were hit again after admission.
+ *
+ * Entries are weighed in bytes. Lookups are lock free; the policy bookkeeping for a lookup is skipped if another
+ * thread holds the policy lock, trading a little accuracy for never blocking a cache hit.
+ */
+// file private
+final class TinyLfuCache<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protectedQueue = new AccessOrderDeque<>();
+
+    private long windowWeight;
+    private long protectedWeight;
+    private volatile long weightedSize;
+
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder evictionWeight = new LongAdder();
+
+    // file private
+    TinyLfuCache(long maximumWeight, int expectedEntries) {
+        this.maximumWeight = maximumWeight;
+        this.windowMaximum = Math.max(1, maximumWeight / 100);
+        this.protectedMaximum = (long) ((maximumWeight - windowMaximum) * 0.8d);
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    // file private
+    V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (lock.tryLock()) {
+            try {
+                sketch.increment(key.hashCode());
+                if (node != null && node.queue != -1) {
+                    onAccess(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node == null ? null : node.value;
+    }
+
+    // file private
+    void put(K key, V value, long weight) {
+        if (weight > maximumWeight - windowMaximum) {
+            // could only be admitted by evicting (nearly) everything else
+            remove(key);
+            return;
+        }
+        lock.lock();
+        try {
+            sketch.increment(key.hashCode());
+            Node<K, V> node = data.get(key);
+            if (node != null) {
+                node.value = value;
+                adjustWeight(node, weight - node.weight);
+                node.weight = weight;
+                onAccess(node);
+            } else {
+                node = new Node<>(key, value, weight);
+                node.queue = WINDOW;
+                window.addLast(node);
+                windowWeight += weight;
+                weightedSize += weight;
+                data.put(key, node);
+            }
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // file private
+    void remove(K key) {
+        lock.lock();
+        try {
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Removes the entry only if it still maps to the given value, so that a stale reader cannot discard a newer entry
+     * stored concurrently.
+     */
+    // file private
+    void remove(K key, V value) {
+        lock.lock();
+        try {
+            Node<K, V> node = data.get(key);
+            if (node != null && node.value == value) {
+                data.remove(key);
+                unlink(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // file private
+    void clear() {
+        lock.lock();
+        try {
+            for (Node<K, V> node : data.values()) {
+                unlink(node);
+            }
+            data.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // file private
+    int size() {
+        return data.size();
+    }
+
+    // file private
+    long weightedSize() {
+        return weightedSize;
+    }
+
+    // file private
+    long maximumWeight() {
+        return maximumWeight;
+    }
+
+    // file private
+    long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    // file private
+    long evictionWeight() {
+        return evictionWeight.sum();
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedQueue.addLast(node);
+                protectedWeight += node.weight;
+                demoteProtected();
+                break;
+            case PROTECTED:
+                protectedQueue.moveToLast(node);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void adjustWeight(Node<K, V> node, long delta) {
+        weightedSize += delta;
+        if (node.queue == WINDOW) {
+            windowWeight += delta;
+        } else if (node.queue == PROTECTED) {
+            protectedWeight += delta;
+        }
+    }
+
+    private void demoteProtected() {
+        while (protectedWeight > protectedMaximum) {
+            Node<K, V> demoted = protectedQueue.pollFirst();
+            protectedWeight -= demoted.weight;
+            demoted.queue = PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    /*
+     * Moves entries that overflowed the window into probation, then evicts until the cache fits. While candidates
+     * from the window remain at the MRU end of probation they duel with the LRU victim at the other end; the sketch
+     * decides which one goes.
+     */
+    private void evict() {
+        int candidates = 0;
+        while (windowWeight > windowMaximum) {
+            Node<K, V> node = window.pollFirst();
+            windowWeight -= node.weight;
+            node.queue = PROBATION;
+            probation.addLast(node);
+            candidates++;
+        }
+        while (weightedSize > maximumWeight) {
+            Node<K, V> victim = probation.peekFirst();
+            Node<K, V> candidate = probation.peekLast();
+            if (victim == null) {
+                victim = protectedQueue.peekFirst() != null ? protectedQueue.peekFirst() : window.peekFirst();
+                evictEntry(victim);
+                continue;
+            }
+            if (candidates == 0 || victim == candidate) {
+                evictEntry(victim);
+                continue;
+            }
+            candidates--;
+            if (sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())) {
+                evictEntry(victim);
+            } else {
+                evictEntry(candidate);
+            }
+        }
+    }
+
+    private void evictEntry(Node<K, V> node) {
+        data.remove(node.key, node);
+        unlink(node);
+        evictionCount.increment();
+        evictionWeight.add(node.weight);
+    }
+
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                windowWeight -= node.weight;
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            case PROTECTED:
+                protectedQueue.remove(node);
+                protectedWeight -= node.weight;
+                break;
+            default:
+                return;
+        }
+        node.queue = -1;
+        weightedSize -= node.weight;
+    }
+
+    private static final class Node<K, V> {
+
+        final K key;
+        volatile V value;
+        long weight;
+        int queue;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /*
+     * An intrusive doubly linked list; the first node is the least recently used.
+     */
+    private static final class AccessOrderDeque<K, V> {
+
+        private Node<K, V> first;
+        private Node<K, V> last;
+
+        Node<K, V> peekFirst() {
+            return first;
+        }
+
+        Node<K, V> peekLast() {
+            return last;
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+    }
+}
@@ -0,0 +1,499 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.compress;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.ResourceBundle;
+import java.util.zip.Deflater;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+/*
+ * Servlet output stream that decides, on the first bytes written, whether the response body is worth compressing and
+ * then either passes bytes straight through or streams them through a pooled Deflater. Nothing beyond the configured
+ * minimum size is ever held back, so arbitrarily large and long-lived responses are compressed in constant memory.
+ *
+ * Once a WriteListener is set, the container must not be written to unless it has just reported itself ready, yet a
+ * single write from the application can deflate into several output buffers. Each buffer is then written only after
+ * the container has reported itself ready for it, and whatever cannot be written is kept until the container calls
+ * onWritePossible; until it has been written, isReady() reports false to the application.
+ */
+// file private
+class CompressingServletOutputStream extends ServletOutputStream {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.compress.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    private static final int UNDECIDED = 0;
+    private static final int STAGING = 1;
+    private static final int COMPRESSING = 2;
+    private static final int IDENTITY = 3;
+    private static final int FINISHED = 4;
+
+    private final CompressionResponseWrapper response;
+    private final ContentCoding coding;
+    private final DeflaterPool pool;
+    private final int minSize;
+
+    private ServletOutputStream out;
+    private DeflaterPool.Entry entry;
+    private int state = UNDECIDED;
+    private int staged;
+    private int buffered;
+    private boolean wroteDownstream;
+
+    private NonBlockingListener listener;
+    private byte[] pending;
+    private int pendingLength;
+    private Runnable completion;
+
+    // file private
+    CompressingServletOutputStream(CompressionResponseWrapper response, ContentCoding coding, DeflaterPool pool,
+            int minSize) {
+        this.response = response;
+        this.coding = coding;
+        this.pool = pool;
+        this.minSize = minSize;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        switch (prepareWrite(1)) {
+            case STAGING:
+                entry.staging[staged++] = (byte) b;
+                break;
+            case COMPRESSING:
+                entry.single[0] = (byte) b;
+                deflate(entry.single, 0, 1);
+                break;
+            default:
+                if (listener == null) {
+                    out.write(b);
+                } else {
+                    send(new byte[] { (byte) b }, 0, 1);
+                }
+                break;
+        }
+    }
+
+    @Override
+    public void write(byte buf[], int offset, int len) throws IOException {
+        if (buf == null) {
+            throw new NullPointerException(lStrings.getString("err.io.nullArray"));
+        }
+        if (offset < 0 || len < 0 || offset + len > buf.length) {
+            String msg = lStrings.getString("err.io.indexOutOfBounds");
+            Object[] msgArgs = new Object[3];
+            msgArgs[0] = Integer.valueOf(offset);
+            msgArgs[1] = Integer.valueOf(len);
+            msgArgs[2] = Integer.valueOf(buf.length);
+            msg = MessageFormat.format(msg, msgArgs);
+            throw new IndexOutOfBoundsException(msg);
+        }
+        if (len == 0) {
+            return;
+        }
+        switch (prepareWrite(len)) {
+            case STAGING:
+                System.arraycopy(buf, offset, entry.staging, staged, len);
+                staged += len;
+                break;
+            case COMPRESSING:
+                deflate(buf, offset, len);
+                break;
+            default:
+                send(buf, offset, len);
+                break;
+        }
+    }
+
+    /*
+     * Compresses everything written so far and pushes it to the client. A flush is how streaming responses ask for
+     * their data to be delivered, so a response still being staged is committed to compression at this point rather
+     * than being held back until it reaches the minimum size.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (state == UNDECIDED) {
+            decide();
+        }
+        if (state == STAGING) {
+            startCompressing();
+        }
+        if (state == COMPRESSING) {
+            drain();
+            writeBuffered();
+        }
+        if (state != FINISHED && (listener == null || writePending() && out.isReady())) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (state == FINISHED) {
+            return;
+        }
+        finish();
+        if (listener == null || writePending()) {
+            // otherwise the container's stream stays open for the bytes kept back, until the request completes
+            out.close();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        try {
+            ServletOutputStream out = underlying();
+            if (listener != null && !writePending()) {
+                return false;
+            }
+            return out.isReady();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+        try {
+            NonBlockingListener nonBlocking = new NonBlockingListener(writeListener);
+            underlying().setWriteListener(nonBlocking);
+            listener = nonBlocking;
+        } catch (IOException e) {
+            writeListener.onError(e);
+        }
+    }
+
+    /*
+     * Completes the body without closing the underlying stream. Small bodies still being staged are sent
+     * uncompressed with an exact Content-Length; compressed bodies that never left the output buffer are likewise
+     * sent with the exact compressed length, so only genuinely streamed responses fall back to chunking.
+     */
+    // file private
+    void finish() throws IOException {
+        switch (state) {
+            case UNDECIDED:
+                startIdentity(response.getDeclaredLength());
+                break;
+            case STAGING:
+                startIdentity(staged);
+                if (staged > 0) {
+                    send(entry.staging, 0, staged);
+                }
+                break;
+            case COMPRESSING:
+                finishDeflater();
+                if (coding == ContentCoding.GZIP) {
+                    writeGzipTrailer();
+                }
+                if (!wroteDownstream) {
+                    response.setCompressedLength(buffered);
+                }
+                writeBuffered();
+                break;
+            default:
+                break;
+        }
+        state = FINISHED;
+        releaseEntry();
+    }
+
+    /*
+     * Discards any uncommitted body. The container has already discarded its own buffer by the time this is called.
+     * If the headers are kept, a compressed body restarts from an empty stream; otherwise the decision is revisited.
+     */
+    // file private
+    void resetBuffer(boolean keepHeaders) {
+        staged = 0;
+        buffered = 0;
+        wroteDownstream = false;
+        if (state == COMPRESSING && keepHeaders) {
+            entry.deflater.reset();
+            entry.crc.reset();
+            writeGzipHeader();
+        } else if (state != FINISHED) {
+            releaseEntry();
+            state = UNDECIDED;
+        }
+    }
+
+    // file private
+    void passThrough() throws IOException {
+        if (state == FINISHED) {
+            return;
+        }
+        staged = 0;
+        buffered = 0;
+        releaseEntry();
+        underlying();
+        state = IDENTITY;
+    }
+
+    // file private
+    void abort() {
+        state = FINISHED;
+        releaseEntry();
+        synchronized (this) {
+            pendingLength = 0;
+        }
+    }
+
+    /*
+     * Arranges for the asynchronous request to be completed once the container has taken the bytes still waiting for
+     * it, since completing it now would lose them. Returns false if nothing is waiting, so it can be completed now.
+     */
+    // file private
+    synchronized boolean completeWhenWritten(Runnable completion) {
+        if (pendingLength == 0) {
+            return false;
+        }
+        this.completion = completion;
+        return true;
+    }
+
+    private int prepareWrite(int len) throws IOException {
+        switch (state) {
+            case UNDECIDED:
+                decide();
+                return prepareWrite(len);
+            case STAGING:
+                if (staged + len <= entry.staging.length) {
+                    return STAGING;
+                }
+                startCompressing();
+                return COMPRESSING;
+            case FINISHED:
+                throw new IOException(lStrings.getString("err.io.closed"));
+            default:
+                return state;
+        }
+    }
+
+    private void decide() throws IOException {
+        if (!response.isCompressible()) {
+            startIdentity(response.getDeclaredLength());
+            return;
+        }
+        long declared = response.getDeclaredLength();
+        if (declared >= 0) {
+            if (declared < minSize) {
+                startIdentity(declared);
+            } else {
+                startCompressing();
+            }
+            return;
+        }
+        if (minSize == 0) {
+            startCompressing();
+            return;
+        }
+        entry = pool.acquire();
+        state = STAGING;
+    }
+
+    private void startIdentity(long contentLength) throws IOException {
+        response.startIdentity(contentLength);
+        underlying();
+        state = IDENTITY;
+    }
+
+    private void startCompressing() throws IOException {
+        response.startCompression();
+        underlying();
+        if (entry == null) {
+            entry = pool.acquire();
+        }
+        state = COMPRESSING;
+        writeGzipHeader();
+        if (staged > 0) {
+            int len = staged;
+            staged = 0;
+            deflate(entry.staging, 0, len);
+        }
+    }
+
+    private void writeGzipHeader() {
+        if (coding == ContentCoding.GZIP) {
+            System.arraycopy(GZIP_HEADER, 0, entry.output, 0, GZIP_HEADER.length);
+            buffered = GZIP_HEADER.length;
+        }
+    }
+
+    private void writeGzipTrailer() throws IOException {
+        if (entry.output.length - buffered < 8) {
+            writeBuffered();
+        }
+        writeIntLE((int) entry.crc.getValue());
+        writeIntLE((int) entry.deflater.getBytesRead());
+    }
+
+    private void writeIntLE(int value) {
+        byte[] output = entry.output;
+        output[buffered++] = (byte) value;
+        output[buffered++] = (byte) (value >> 8);
+        output[buffered++] = (byte) (value >> 16);
+        output[buffered++] = (byte) (value >> 24);
+    }
+
+    private void deflate(byte[] buf, int offset, int len) throws IOException {
+        if (coding == ContentCoding.GZIP) {
+            entry.crc.update(buf, offset, len);
+        }
+        Deflater deflater = entry.deflater;
+        byte[] output = entry.output;
+        deflater.setInput(buf, offset, len);
+        while (!deflater.needsInput()) {
+            buffered += deflater.deflate(output, buffered, output.length - buffered, Deflater.NO_FLUSH);
+            if (buffered == output.length) {
+                writeBuffered();
+            }
+        }
+    }
+
+    /*
+     * Emits everything the deflater holds using a sync flush, so that the client can decode all bytes written so far
+     * while the stream stays open.
+     */
+    private void drain() throws IOException {
+        Deflater deflater = entry.deflater;
+        byte[] output = entry.output;
+        boolean full;
+        do {
+            buffered += deflater.deflate(output, buffered, output.length - buffered, Deflater.SYNC_FLUSH);
+            full = buffered == output.length;
+            if (full) {
+                writeBuffered();
+            }
+        } while (full);
+    }
+
+    private void finishDeflater() throws IOException {
+        Deflater deflater = entry.deflater;
+        byte[] output = entry.output;
+        deflater.finish();
+        while (!deflater.finished()) {
+            buffered += deflater.deflate(output, buffered, output.length - buffered);
+            if (buffered == output.length) {
+                writeBuffered();
+            }
+        }
+    }
+
+    private void writeBuffered() throws IOException {
+        if (buffered > 0) {
+            send(entry.output, 0, buffered);
+            buffered = 0;
+            wroteDownstream = true;
+        }
+    }
+
+    private void send(byte[] buf, int offset, int len) throws IOException {
+        if (listener == null) {
+            out.write(buf, offset, len);
+            return;
+        }
+        synchronized (this) {
+            if (pendingLength == 0 && out.isReady()) {
+                out.write(buf, offset, len);
+                return;
+            }
+            if (pending == null || pending.length - pendingLength < len) {
+                int size = Math.max(pendingLength + len, pending == null ? 0 : pending.length * 2);
+                pending = pending == null ? new byte[size] : Arrays.copyOf(pending, size);
+            }
+            System.arraycopy(buf, offset, pending, pendingLength, len);
+            pendingLength += len;
+        }
+    }
+
+    /*
+     * Writes the bytes kept back, if the container is ready for them, and returns whether none remain.
+     */
+    private synchronized boolean writePending() throws IOException {
+        if (pendingLength > 0 && out.isReady()) {
+            out.write(pending, 0, pendingLength);
+            pendingLength = 0;
+        }
+        return pendingLength == 0;
+    }
+
+    private ServletOutputStream underlying() throws IOException {
+        if (out == null) {
+            out = response.getResponse().getOutputStream();
+        }
+        return out;
+    }
+
+    private void releaseEntry() {
+        if (entry != null) {
+            pool.release(entry);
+            entry = null;
+        }
+    }
+
+    /*
+     * Stands between the container and the application's listener: the bytes kept back are written first, and the
+     * application is only told that it may write once none remain. If the application has already completed the
+     * request, it is completed now instead.
+     */
+    private final class NonBlockingListener implements WriteListener {
+
+        private final WriteListener application;
+
+        NonBlockingListener(WriteListener application) {
+            this.application = application;
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            Runnable then;
+            synchronized (CompressingServletOutputStream.this) {
+                if (!writePending()) {
+                    return;
+                }
+                then = completion;
+                completion = null;
+            }
+            if (then != null) {
+                then.run();
+            } else {
+                application.onWritePossible();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            Runnable then;
+            synchronized (CompressingServletOutputStream.this) {
+                pendingLength = 0;
+                then = completion;
+                completion = null;
+            }
+            application.onError(t);
+            if (then != null) {
+                then.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.compress;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InitParameters;
+
+/**
+ * <p>
+ * A filter that compresses response bodies with the <code>gzip</code> or <code>deflate</code> content coding
+ * negotiated from the request's <code>Accept-Encoding</code> header.
+ * </p>
+ *
+ * <p>
+ * The body is streamed through a pooled {@link Deflater} and a reusable output buffer; it is never buffered in full.
+ * Up to <code>minSize</code> bytes are held back while the filter decides whether compressing is worthwhile: a body
+ * that ends (or declares a <code>Content-Length</code>) below that size is sent unchanged with its exact length, and a
+ * compressed body that fits in the output buffer is sent with the exact compressed length. Calling
+ * {@link HttpServletResponse#flushBuffer()} or flushing the stream or writer performs a zlib sync flush, so streaming
+ * responses reach the client as they are produced. Both {@link HttpServletResponse#getOutputStream()} and
+ * {@link HttpServletResponse#getWriter()} are supported.
+ * </p>
+ *
+ * <p>
+ * A response is left uncompressed if its content type is not listed as compressible, if it already carries a
+ * <code>Content-Encoding</code> or <code>Content-Range</code> header, or if its status does not permit a body. When a
+ * response is compressed, <code>Vary: Accept-Encoding</code> is added and a strong <code>ETag</code> is weakened.
+ * </p>
+ *
+ * <p>
+ * The filter recognizes the following initialization parameters:
+ * </p>
+ * <ul>
+ * <li><code>compressionLevel</code> - the {@link Deflater} level, from 1 to 9, or -1 for the default level</li>
+ * <li><code>minSize</code> - bodies smaller than this many bytes are not compressed; defaults to 1024</li>
+ * <li><code>bufferSize</code> - the size of the compressed output buffer; defaults to 8192</li>
+ * <li><code>poolSize</code> - the maximum number of idle deflaters kept per coding; defaults to 64</li>
+ * <li><code>compressibleTypes</code> - a comma separated list of media types, where <code>type/*</code> matches any
+ * subtype; defaults to text and the common JSON, JavaScript, XML and SVG types</li>
+ * </ul>
+ *
+ * <p>
+ * For asynchronous requests the body is completed when the application closes the output stream or writer, or at the
+ * latest when it calls {@link javax.servlet.AsyncContext#complete()} on the context returned by the request passed
+ * down the chain.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class CompressionFilter extends HttpFilter {
+
+    private static final long serialVersionUID = -2263905185717457235L;
+
+    private static final String APPLIED = CompressionFilter.class.getName() + ".applied";
+
+    private static final String DEFAULT_COMPRESSIBLE_TYPES = "text/*,application/json,application/javascript,"
+            + "application/xml,application/xhtml+xml,application/problem+json,image/svg+xml";
+
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private int minSize = 1024;
+    private int bufferSize = 8192;
+    private int poolSize = 64;
+
+    private transient Set<String> compressibleTypes;
+    private transient List<String> compressiblePrefixes;
+    private transient DeflaterPool gzipPool;
+    private transient DeflaterPool deflatePool;
+
+    /**
+     * Reads the initialization parameters and creates the deflater pools.
+     *
+     * @throws ServletException if an initialization parameter is not valid
+     */
+    @Override
+    public void init() throws ServletException {
+        compressionLevel = InitParameters.getInt(this, "compressionLevel", compressionLevel, -1, 9);
+        minSize = InitParameters.getInt(this, "minSize", minSize, 0, Integer.MAX_VALUE);
+        bufferSize = InitParameters.getInt(this, "bufferSize", bufferSize, 64, Integer.MAX_VALUE);
+        poolSize = InitParameters.getInt(this, "poolSize", poolSize, 0, Integer.MAX_VALUE);
+
+        String types = getInitParameter("compressibleTypes");
+        compressibleTypes = new HashSet<>();
+        compressiblePrefixes = new ArrayList<>();
+        for (String type : (types == null ? DEFAULT_COMPRESSIBLE_TYPES : types).split(",")) {
+            String mediaType = type.trim().toLowerCase(Locale.ENGLISH);
+            if (mediaType.endsWith("/*")) {
+                compressiblePrefixes.add(mediaType.substring(0, mediaType.length() - 1));
+            } else if (!mediaType.isEmpty()) {
+                compressibleTypes.add(mediaType);
+            }
+        }
+
+        int stagingSize = Math.max(minSize, 1);
+        gzipPool = new DeflaterPool(compressionLevel, ContentCoding.GZIP.nowrap, stagingSize, bufferSize, poolSize);
+        deflatePool = new DeflaterPool(compressionLevel, ContentCoding.DEFLATE.nowrap, stagingSize, bufferSize,
+                poolSize);
+    }
+
+    /**
+     * Wraps the response so that its body is compressed, if the client accepts a supported content coding.
+     *
+     * @param req   the request
+     * @param res   the response
+     * @param chain the <code>FilterChain</code> for invoking the next filter or the resource
+     * @throws IOException      if an input or output error occurs while compressing the response
+     * @throws ServletException if the request could not be handled
+     */
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        ContentCoding coding = null;
+        if (!"HEAD".equals(req.getMethod()) && req.getAttribute(APPLIED) == null && !res.isCommitted()) {
+            coding = ContentCoding.negotiate(req.getHeaders("Accept-Encoding"));
+        }
+        if (coding == null) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        final CompressionResponseWrapper wrapper = new CompressionResponseWrapper(res, this, coding);
+        req.setAttribute(APPLIED, Boolean.TRUE);
+        boolean completed = false;
+        try {
+            chain.doFilter(new CompressionRequestWrapper(req, wrapper), wrapper);
+            completed = true;
+        } finally {
+            req.removeAttribute(APPLIED);
+            if (!completed) {
+                wrapper.abort();
+            }
+        }
+
+        if (req.isAsyncStarted()) {
+            // the body is finished by the wrapped AsyncContext before it completes; by the time a listener is told of
+            // the completion the response is closed, so what remains is to return a deflater that was never released
+            req.getAsyncContext().addListener(new AsyncListener() {
+
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    wrapper.abort();
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    wrapper.abort();
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                    event.getAsyncContext().addListener(this);
+                }
+            });
+        } else {
+            wrapper.finish();
+        }
+    }
+
+    /**
+     * Releases the pooled deflaters.
+     */
+    @Override
+    public void destroy() {
+        if (gzipPool != null) {
+            gzipPool.clear();
+        }
+        if (deflatePool != null) {
+            deflatePool.clear();
+        }
+    }
+
+    // file private
+    boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int semi = contentType.indexOf(';');
+        String mediaType = (semi == -1 ? contentType : contentType.substring(0, semi)).trim()
+                .toLowerCase(Locale.ENGLISH);
+        if (compressibleTypes.contains(mediaType)) {
+            return true;
+        }
+        for (String prefix : compressiblePrefixes) {
+            if (mediaType.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // file private
+    DeflaterPool getPool(ContentCoding coding) {
+        return coding == ContentCoding.GZIP ? gzipPool : deflatePool;
+    }
+
+    // file private
+    int getMinSize() {
+        return minSize;
+    }
+}
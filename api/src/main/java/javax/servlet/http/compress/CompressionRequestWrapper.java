@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package javax.servlet.http.compress;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+
+/*
+ * A request whose asynchronous context finishes the compressed body when the application completes it. The container
+ * completes the response inside complete(), so the gzip trailer and the last deflated bytes must be written before
+ * the call is passed on; by the time an AsyncListener hears of the completion, nothing more can be written. With
+ * non-blocking output, the call is passed on once the container has taken the last of those bytes.
+ */
+// file private
+class CompressionRequestWrapper extends HttpServletRequestWrapper {
+
+    private final CompressionResponseWrapper response;
+
+    private CompressionAsyncContext asyncContext;
+
+    // file private
+    CompressionRequestWrapper(HttpServletRequest request, CompressionResponseWrapper response) {
+        super(request);
+        this.response = response;
+    }
+
+    @Override
+    public AsyncContext startAsync() throws IllegalStateException {
+        return wrap(super.startAsync());
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse)
+            throws IllegalStateException {
+        return wrap(super.startAsync(servletRequest, servletResponse));
+    }
+
+    @Override
+    public AsyncContext getAsyncContext() {
+        AsyncContext context = super.getAsyncContext();
+        if (asyncContext != null && asyncContext.context == context) {
+            return asyncContext;
+        }
+        return context;
+    }
+
+    private AsyncContext wrap(AsyncContext context) {
+        if (asyncContext == null || asyncContext.context != context) {
+            asyncContext = new CompressionAsyncContext(context);
+        }
+        return asyncContext;
+    }
+
+    /*
+     * Passes every call on to the container's context, finishing the body first when it is completed.
+     */
+    private final class CompressionAsyncContext implements AsyncContext {
+
+        private final AsyncContext context;
+
+        CompressionAsyncContext(AsyncContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public void complete() {
+            try {
+                response.finish();
+            } catch (IOException e) {
+                // the client has gone away; the container still has to complete the request
+                response.abort();
+            }
+            if (!response.completeWhenWritten(context::complete)) {
+                context.complete();
+            }
+        }
+
+        @Override
+        public ServletRequest getRequest() {
+            return context.getRequest();
+        }
+
+        @Override
+        public ServletResponse getResponse() {
+            return context.getResponse();
+        }
+
+        @Override
+        public boolean hasOriginalRequestAndResponse() {
+            return context.hasOriginalRequestAndResponse();
+        }
+
+        @Override
+        public void dispatch() {
+            context.dispatch();
+        }
+
+        @Override
+        public void dispatch(String path) {
+            context.dispatch(path);
+        }
+
+        @Override
+        public void dispatch(ServletContext context, String path) {
+            this.context.dispatch(context, path);
+        }
+
+        @Override
+        public void start(Runnable run) {
+            context.start(run);
+        }
+
+        @Override
+        public void addListener(AsyncListener listener) {
+            context.addListener(listener);
+        }
+
+        @Override
+        public void addListener(AsyncListener listener, ServletRequest servletRequest,
+                ServletResponse servletResponse) {
+            context.addListener(listener, servletRequest, servletResponse);
+        }
+
+        @Override
+        public <T extends AsyncListener> T createListener(Class<T> clazz) throws ServletException {
+            return context.createListener(clazz);
+        }
+
+        @Override
+        public void setTimeout(long timeout) {
+            context.setTimeout(timeout);
+        }
+
+        @Override
+        public long getTimeout() {
+            return context.getTimeout();
+        }
+    }
+}
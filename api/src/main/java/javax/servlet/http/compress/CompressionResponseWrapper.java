@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.compress;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InterceptingResponseWrapper;
+
+/*
+ * A response that compresses its body with the negotiated content coding when the body turns out to be worth
+ * compressing. Content-Length is withheld from the wrapped response until the decision is made, because a length set
+ * by the application describes the uncompressed body.
+ */
+// file private
+class CompressionResponseWrapper extends InterceptingResponseWrapper {
+
+    private static final String HEADER_CONTENT_LENGTH = "Content-Length";
+    private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+    private static final String HEADER_CONTENT_RANGE = "Content-Range";
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_VARY = "Vary";
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    private final CompressionFilter filter;
+    private final ContentCoding coding;
+
+    private CompressingServletOutputStream stream;
+
+    private long declaredLength = -1;
+    private int status = SC_OK;
+    private boolean preEncoded;
+    private boolean decided;
+    private boolean compressing;
+
+    // file private
+    CompressionResponseWrapper(HttpServletResponse response, CompressionFilter filter, ContentCoding coding) {
+        super(response);
+        this.filter = filter;
+        this.coding = coding;
+    }
+
+    @Override
+    protected ServletOutputStream newOutputStream() {
+        stream = new CompressingServletOutputStream(this, coding, filter.getPool(coding), filter.getMinSize());
+        return stream;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (stream != null) {
+            stream.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (stream != null) {
+            stream.resetBuffer(true);
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (stream != null) {
+            stream.resetBuffer(false);
+        }
+        declaredLength = -1;
+        status = SC_OK;
+        preEncoded = false;
+        decided = false;
+        compressing = false;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (!decided) {
+            declaredLength = len;
+        } else if (!compressing) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (!interceptHeader(name, value)) {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (!interceptHeader(name, value)) {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (!interceptHeader(name, String.valueOf(value))) {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (!interceptHeader(name, String.valueOf(value))) {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        super.setStatus(sc);
+        status = sc;
+    }
+
+    @Override
+    @Deprecated
+    public void setStatus(int sc, String sm) {
+        super.setStatus(sc, sm);
+        status = sc;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        passThrough();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        passThrough();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        passThrough();
+        super.sendRedirect(location);
+    }
+
+    /*
+     * Completes the response body once the filter chain has returned, or as the asynchronous processing completes.
+     */
+    // file private
+    void finish() throws IOException {
+        if (stream == null) {
+            if (!decided) {
+                startIdentity(declaredLength);
+            }
+            return;
+        }
+        stream.finish();
+    }
+
+    /*
+     * Defers the completion of an asynchronous request until the body has been written; see
+     * CompressingServletOutputStream.
+     */
+    // file private
+    boolean completeWhenWritten(Runnable completion) {
+        return stream != null && stream.completeWhenWritten(completion);
+    }
+
+    /*
+     * Returns pooled resources without writing anything further, used when the request failed.
+     */
+    // file private
+    void abort() {
+        decided = true;
+        if (stream != null) {
+            stream.abort();
+        }
+    }
+
+    /*
+     * Error pages and redirects are written by the container, so any compression in progress is abandoned and later
+     * writes go straight through.
+     */
+    private void passThrough() throws IOException {
+        decided = true;
+        compressing = false;
+        if (stream != null) {
+            stream.passThrough();
+        }
+    }
+
+    // file private
+    boolean isCompressible() {
+        if (preEncoded || status < SC_OK || status == SC_NO_CONTENT || status == SC_PARTIAL_CONTENT
+                || status == SC_NOT_MODIFIED) {
+            return false;
+        }
+        return filter.isCompressible(getContentType());
+    }
+
+    // file private
+    long getDeclaredLength() {
+        return declaredLength;
+    }
+
+    // file private
+    void startCompression() {
+        decided = true;
+        compressing = true;
+        super.setHeader(HEADER_CONTENT_ENCODING, coding.token);
+        if (!varies()) {
+            super.addHeader(HEADER_VARY, ACCEPT_ENCODING);
+        }
+        String etag = getHeader(HEADER_ETAG);
+        if (etag != null && !etag.startsWith("W/")) {
+            // the compressed entity is no longer byte-for-byte identical to the one the strong tag describes
+            super.setHeader(HEADER_ETAG, "W/" + etag);
+        }
+    }
+
+    // file private
+    void startIdentity(long contentLength) {
+        decided = true;
+        if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        }
+    }
+
+    // file private
+    void setCompressedLength(long contentLength) {
+        if (!isCommitted()) {
+            super.setContentLengthLong(contentLength);
+        }
+    }
+
+    private boolean varies() {
+        for (String value : getHeaders(HEADER_VARY)) {
+            String lower = value.toLowerCase(Locale.ENGLISH);
+            if (lower.contains("*") || lower.contains("accept-encoding")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Returns true if the header was consumed here rather than being passed on to the wrapped response.
+     */
+    private boolean interceptHeader(String name, String value) {
+        if (HEADER_CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            long len = -1;
+            if (value != null) {
+                try {
+                    len = Long.parseLong(value.trim());
+                } catch (NumberFormatException e) {
+                    // leave the length undeclared
+                }
+            }
+            setContentLengthLong(len);
+            return true;
+        }
+        if (HEADER_CONTENT_ENCODING.equalsIgnoreCase(name) || HEADER_CONTENT_RANGE.equalsIgnoreCase(name)) {
+            preEncoded = true;
+        }
+        return false;
+    }
+}
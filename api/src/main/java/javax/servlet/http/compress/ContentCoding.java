@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.compress;
+
+import java.util.Enumeration;
+import java.util.Locale;
+
+/*
+ * The content codings understood by the compression filters, together with Accept-Encoding negotiation.
+ */
+// file private
+enum ContentCoding {
+
+    GZIP("gzip", true),
+    DEFLATE("deflate", false);
+
+    // file private
+    final String token;
+
+    // file private
+    final boolean nowrap;
+
+    ContentCoding(String token, boolean nowrap) {
+        this.token = token;
+        this.nowrap = nowrap;
+    }
+
+    /*
+     * Returns the coding named by a Content-Encoding value, or null if the value is not one of ours. The legacy
+     * x-gzip alias is accepted as required by RFC 7230, section 4.2.3.
+     */
+    // file private
+    static ContentCoding forToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        String name = token.trim();
+        if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+            return GZIP;
+        }
+        if (name.equalsIgnoreCase("deflate")) {
+            return DEFLATE;
+        }
+        return null;
+    }
+
+    /*
+     * Selects the preferred coding from the Accept-Encoding header values, honouring quality values and the "*"
+     * wildcard. Returns null if the client accepts neither coding. On equal preference gzip wins, since some clients
+     * historically mishandled zlib-wrapped deflate.
+     */
+    // file private
+    static ContentCoding negotiate(Enumeration<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        float gzip = -1;
+        float deflate = -1;
+        float any = -1;
+        while (acceptEncoding.hasMoreElements()) {
+            String value = acceptEncoding.nextElement();
+            if (value == null) {
+                continue;
+            }
+            int start = 0;
+            int length = value.length();
+            while (start < length) {
+                int end = value.indexOf(',', start);
+                if (end == -1) {
+                    end = length;
+                }
+                int semi = value.indexOf(';', start);
+                int nameEnd = (semi == -1 || semi > end) ? end : semi;
+                String name = value.substring(start, nameEnd).trim().toLowerCase(Locale.ENGLISH);
+                float q = nameEnd < end ? parseQuality(value.substring(nameEnd + 1, end)) : 1f;
+                switch (name) {
+                    case "gzip":
+                    case "x-gzip":
+                        gzip = Math.max(gzip, q);
+                        break;
+                    case "deflate":
+                        deflate = Math.max(deflate, q);
+                        break;
+                    case "*":
+                        any = Math.max(any, q);
+                        break;
+                    default:
+                        break;
+                }
+                start = end + 1;
+            }
+        }
+        if (gzip < 0) {
+            gzip = any;
+        }
+        if (deflate < 0) {
+            deflate = any;
+        }
+        if (gzip <= 0 && deflate <= 0) {
+            return null;
+        }
+        return gzip >= deflate ? GZIP : DEFLATE;
+    }
+
+    private static float parseQuality(String params) {
+        int start = 0;
+        int length = params.length();
+        while (start < length) {
+            int end = params.indexOf(';', start);
+            if (end == -1) {
+                end = length;
+            }
+            String param = params.substring(start, end).trim();
+            if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                try {
+                    float q = Float.parseFloat(param.substring(2).trim());
+                    return (q < 0 || q > 1) ? 0f : q;
+                } catch (NumberFormatException e) {
+                    return 0f;
+                }
+            }
+            start = end + 1;
+        }
+        return 1f;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.compress;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InitParameters;
+
+/**
+ * <p>
+ * A filter that transparently inflates request bodies sent with <code>Content-Encoding: gzip</code> (or
+ * <code>x-gzip</code>) or <code>Content-Encoding: deflate</code>. Both the zlib format required by RFC 7230 and the
+ * raw deflate data sent by some clients are accepted for <code>deflate</code>, and concatenated gzip members are read
+ * as one body.
+ * </p>
+ *
+ * <p>
+ * The body is inflated as the application reads it, through a pooled {@link java.util.zip.Inflater} and reusable
+ * buffers, so memory use does not depend on the body size. The wrapped request reports an unknown content length and
+ * hides the <code>Content-Encoding</code> and <code>Content-Length</code> headers, which describe the coded body.
+ * Non-blocking reads are supported: once a {@link javax.servlet.ReadListener} is registered,
+ * {@link javax.servlet.ServletInputStream#isReady()} only returns <code>true</code> when inflated bytes can be read
+ * without blocking.
+ * </p>
+ *
+ * <p>
+ * To protect against decompression bombs, reading fails with an <code>IOException</code> once the inflated body
+ * exceeds <code>maxInflatedSize</code> bytes, or once it exceeds 64KB and is more than <code>maxRatio</code> times
+ * larger than the compressed bytes read so far. If such an exception propagates out of the filter chain before the
+ * response is committed, the filter answers <code>413 Payload Too Large</code>.
+ * </p>
+ *
+ * <p>
+ * The filter recognizes the following initialization parameters:
+ * </p>
+ * <ul>
+ * <li><code>maxInflatedSize</code> - the maximum inflated body size in bytes, or -1 for no limit; defaults to -1</li>
+ * <li><code>maxRatio</code> - the maximum ratio of inflated to compressed size, or 0 for no limit; defaults to 100</li>
+ * <li><code>bufferSize</code> - the size of the compressed and inflated buffers; defaults to 8192</li>
+ * <li><code>poolSize</code> - the maximum number of idle inflaters kept; defaults to 64</li>
+ * </ul>
+ *
+ * <p>
+ * Request parameters are parsed by the container from the original body, so <code>getParameter</code> does not see
+ * the fields of a compressed <code>application/x-www-form-urlencoded</code> body.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class DecompressionFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 6106395398478921535L;
+
+    private static final int SC_PAYLOAD_TOO_LARGE = 413;
+
+    private long maxInflatedSize = -1;
+    private int maxRatio = 100;
+    private int bufferSize = 8192;
+    private int poolSize = 64;
+
+    private transient InflaterPool pool;
+
+    /**
+     * Reads the initialization parameters and creates the inflater pool.
+     *
+     * @throws ServletException if an initialization parameter is not valid
+     */
+    @Override
+    public void init() throws ServletException {
+        maxInflatedSize = InitParameters.getLong(this, "maxInflatedSize", maxInflatedSize, -1, Long.MAX_VALUE);
+        maxRatio = InitParameters.getInt(this, "maxRatio", maxRatio, 0, Integer.MAX_VALUE);
+        bufferSize = InitParameters.getInt(this, "bufferSize", bufferSize, 64, Integer.MAX_VALUE);
+        poolSize = InitParameters.getInt(this, "poolSize", poolSize, 0, Integer.MAX_VALUE);
+        pool = new InflaterPool(bufferSize, poolSize);
+    }
+
+    /**
+     * Wraps the request so that its body is inflated, if it carries a supported content coding.
+     *
+     * @param req   the request
+     * @param res   the response
+     * @param chain the <code>FilterChain</code> for invoking the next filter or the resource
+     * @throws IOException      if an input or output error occurs
+     * @throws ServletException if the request could not be handled
+     */
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        ContentCoding coding = ContentCoding.forToken(req.getHeader("Content-Encoding"));
+        if (coding == null) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        final DecompressionRequestWrapper wrapper = new DecompressionRequestWrapper(req, this, coding);
+        boolean async = false;
+        try {
+            chain.doFilter(wrapper, res);
+            async = req.isAsyncStarted();
+        } catch (InflatingServletInputStream.LimitExceededException e) {
+            if (res.isCommitted()) {
+                throw e;
+            }
+            res.sendError(SC_PAYLOAD_TOO_LARGE, e.getMessage());
+        } finally {
+            if (!async) {
+                wrapper.release();
+            }
+        }
+
+        if (async) {
+            req.getAsyncContext().addListener(new AsyncListener() {
+
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    wrapper.release();
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                    event.getAsyncContext().addListener(this);
+                }
+            });
+        }
+    }
+
+    /**
+     * Releases the pooled inflaters.
+     */
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.clear();
+        }
+    }
+
+    // file private
+    InflaterPool getPool() {
+        return pool;
+    }
+
+    // file private
+    long getMaxInflatedSize() {
+        return maxInflatedSize;
+    }
+
+    // file private
+    int getMaxRatio() {
+        return maxRatio;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.compress;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+
+/*
+ * A request whose body is inflated as it is read. The Content-Encoding and Content-Length headers describe the coded
+ * body, so they are hidden from the application, and the content length is reported as unknown.
+ */
+// file private
+class DecompressionRequestWrapper extends HttpServletRequestWrapper {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.compress.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private static final String HEADER_CONTENT_LENGTH = "Content-Length";
+    private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+
+    private final DecompressionFilter filter;
+    private final ContentCoding coding;
+
+    private InflatingServletInputStream stream;
+    private BufferedReader reader;
+    private boolean usingInputStream;
+
+    // file private
+    DecompressionRequestWrapper(HttpServletRequest request, DecompressionFilter filter, ContentCoding coding) {
+        super(request);
+        this.filter = filter;
+        this.coding = coding;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (reader != null) {
+            throw new IllegalStateException(lStrings.getString("err.ise.getInputStream"));
+        }
+        usingInputStream = true;
+        return stream();
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (usingInputStream) {
+            throw new IllegalStateException(lStrings.getString("err.ise.getReader"));
+        }
+        if (reader == null) {
+            String encoding = getCharacterEncoding();
+            reader = new BufferedReader(new InputStreamReader(stream(), encoding == null ? "ISO-8859-1" : encoding));
+        }
+        return reader;
+    }
+
+    @Override
+    public int getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return -1L;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return isHidden(name) ? null : super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        if (isHidden(name)) {
+            return Collections.emptyEnumeration();
+        }
+        return super.getHeaders(name);
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        return isHidden(name) ? -1 : super.getIntHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        Enumeration<String> names = super.getHeaderNames();
+        if (names == null) {
+            return null;
+        }
+        List<String> visible = new ArrayList<>();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            if (!isHidden(name)) {
+                visible.add(name);
+            }
+        }
+        return Collections.enumeration(visible);
+    }
+
+    // file private
+    void release() {
+        if (stream != null) {
+            stream.release();
+        }
+    }
+
+    private InflatingServletInputStream stream() throws IOException {
+        if (stream == null) {
+            stream = new InflatingServletInputStream(super.getInputStream(), coding, filter.getPool(),
+                    filter.getMaxInflatedSize(), filter.getMaxRatio());
+        }
+        return stream;
+    }
+
+    private static boolean isHidden(String name) {
+        return HEADER_CONTENT_ENCODING.equalsIgnoreCase(name) || HEADER_CONTENT_LENGTH.equalsIgnoreCase(name);
+    }
+}
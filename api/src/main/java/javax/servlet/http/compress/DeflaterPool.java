@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.compress;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/*
+ * A bounded pool of Deflater instances, each paired with the reusable staging and output buffers used to drive it.
+ * Creating a Deflater allocates native zlib state that is only released by end() or finalization, so compressing
+ * responses would otherwise churn native memory on every request. Entries beyond the bound are ended on release.
+ */
+// file private
+class DeflaterPool {
+
+    private final int level;
+    private final boolean nowrap;
+    private final int stagingSize;
+    private final int bufferSize;
+    private final int maxIdle;
+
+    private final Queue<Entry> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    // file private
+    DeflaterPool(int level, boolean nowrap, int stagingSize, int bufferSize, int maxIdle) {
+        this.level = level;
+        this.nowrap = nowrap;
+        this.stagingSize = stagingSize;
+        this.bufferSize = bufferSize;
+        this.maxIdle = maxIdle;
+    }
+
+    // file private
+    Entry acquire() {
+        Entry entry = idle.poll();
+        if (entry == null) {
+            return new Entry(new Deflater(level, nowrap), new byte[stagingSize], new byte[bufferSize]);
+        }
+        idleCount.decrementAndGet();
+        return entry;
+    }
+
+    // file private
+    void release(Entry entry) {
+        entry.deflater.reset();
+        entry.crc.reset();
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            entry.deflater.end();
+            return;
+        }
+        idle.offer(entry);
+    }
+
+    // file private
+    void clear() {
+        Entry entry;
+        while ((entry = idle.poll()) != null) {
+            idleCount.decrementAndGet();
+            entry.deflater.end();
+        }
+    }
+
+    /*
+     * A pooled Deflater with its buffers. The staging buffer holds uncompressed bytes while the response is still too
+     * small to decide whether compressing is worthwhile; the output buffer receives deflated bytes. The checksum is
+     * only maintained for the gzip coding.
+     */
+    // file private
+    static final class Entry {
+
+        final Deflater deflater;
+        final byte[] staging;
+        final byte[] output;
+        final byte[] single = new byte[1];
+        final CRC32 crc = new CRC32();
+
+        Entry(Deflater deflater, byte[] staging, byte[] output) {
+            this.deflater = deflater;
+            this.staging = staging;
+            this.output = output;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.compress;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+
+/*
+ * A bounded pool of raw (nowrap) Inflater instances, each paired with the reusable input and output buffers and the
+ * checksums used to verify the gzip or zlib framing around the deflate data. As with DeflaterPool, entries beyond the
+ * bound are ended on release so that their native state is freed promptly.
+ */
+// file private
+class InflaterPool {
+
+    private final int bufferSize;
+    private final int maxIdle;
+
+    private final Queue<Entry> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    // file private
+    InflaterPool(int bufferSize, int maxIdle) {
+        this.bufferSize = bufferSize;
+        this.maxIdle = maxIdle;
+    }
+
+    // file private
+    Entry acquire() {
+        Entry entry = idle.poll();
+        if (entry == null) {
+            return new Entry(new Inflater(true), new byte[bufferSize], new byte[bufferSize]);
+        }
+        idleCount.decrementAndGet();
+        return entry;
+    }
+
+    // file private
+    void release(Entry entry) {
+        entry.inflater.reset();
+        entry.crc.reset();
+        entry.adler.reset();
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            entry.inflater.end();
+            return;
+        }
+        idle.offer(entry);
+    }
+
+    // file private
+    void clear() {
+        Entry entry;
+        while ((entry = idle.poll()) != null) {
+            idleCount.decrementAndGet();
+            entry.inflater.end();
+        }
+    }
+
+    /*
+     * A pooled Inflater with its buffers. The input buffer receives compressed bytes read from the request, the
+     * output buffer holds inflated bytes not yet handed to the application.
+     */
+    // file private
+    static final class Entry {
+
+        final Inflater inflater;
+        final byte[] input;
+        final byte[] output;
+        final CRC32 crc = new CRC32();
+        final Adler32 adler = new Adler32();
+
+        Entry(Inflater inflater, byte[] input, byte[] output) {
+            this.inflater = inflater;
+            this.input = input;
+            this.output = output;
+        }
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.compress;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+
+/*
+ * Servlet input stream that inflates a gzip or deflate coded request body as it is read. The gzip and zlib framing is
+ * parsed here, one byte at a time, so that a single pool of raw inflaters serves every coding and so that the framing
+ * can arrive split across arbitrary reads. Inflated bytes are produced only as far as the application reads them,
+ * which keeps memory constant and lets the ratio and size limits stop a decompression bomb early.
+ *
+ * In non-blocking mode isReady() only returns true once inflated bytes are actually available, so a read() that
+ * follows it never has to wait for more compressed input.
+ */
+// file private
+class InflatingServletInputStream extends ServletInputStream {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.compress.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    /*
+     * Inflated sizes below this are never treated as a ratio violation, since tiny, highly repetitive bodies are
+     * legitimately very compressible.
+     */
+    private static final long RATIO_GRACE = 64 * 1024;
+
+    private static final int FLG_FHCRC = 0x02;
+    private static final int FLG_FEXTRA = 0x04;
+    private static final int FLG_FNAME = 0x08;
+    private static final int FLG_FCOMMENT = 0x10;
+
+    private static final int GZIP_HEADER = 0;
+    private static final int GZIP_EXTRA_LENGTH = 1;
+    private static final int GZIP_EXTRA = 2;
+    private static final int GZIP_NAME = 3;
+    private static final int GZIP_COMMENT = 4;
+    private static final int GZIP_HEADER_CRC = 5;
+    private static final int GZIP_TRAILER = 6;
+    private static final int GZIP_NEXT_MEMBER = 7;
+    private static final int ZLIB_DETECT = 8;
+    private static final int ZLIB_TRAILER = 9;
+    private static final int BODY = 10;
+    private static final int DONE = 11;
+
+    private final ServletInputStream in;
+    private final ContentCoding coding;
+    private final InflaterPool pool;
+    private final long maxInflatedSize;
+    private final int maxRatio;
+
+    private InflaterPool.Entry entry;
+    private int state;
+    private boolean zlib;
+    private int flags;
+    private int fieldCount;
+    private int fieldLength;
+    private long fieldValue;
+    private int inPos;
+    private int inLimit;
+    private int outPos;
+    private int outLimit;
+    private long totalIn;
+    private long totalOut;
+    private IOException failure;
+
+    // file private
+    InflatingServletInputStream(ServletInputStream in, ContentCoding coding, InflaterPool pool, long maxInflatedSize,
+            int maxRatio) {
+        this.in = in;
+        this.coding = coding;
+        this.pool = pool;
+        this.maxInflatedSize = maxInflatedSize;
+        this.maxRatio = maxRatio;
+        this.entry = pool.acquire();
+        this.state = coding == ContentCoding.GZIP ? GZIP_HEADER : ZLIB_DETECT;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!produce(true)) {
+            return -1;
+        }
+        return entry.output[outPos++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!produce(true)) {
+            return -1;
+        }
+        int n = Math.min(len, outLimit - outPos);
+        System.arraycopy(entry.output, outPos, b, off, n);
+        outPos += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return outLimit - outPos;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return state == DONE && outPos == outLimit;
+    }
+
+    @Override
+    public boolean isReady() {
+        try {
+            return produce(false) || state == DONE;
+        } catch (IOException e) {
+            // reported to the application by the next read()
+            failure = e;
+            return true;
+        }
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+        in.setReadListener(readListener);
+    }
+
+    @Override
+    public void close() throws IOException {
+        release();
+        in.close();
+    }
+
+    // file private
+    void release() {
+        if (entry != null) {
+            pool.release(entry);
+            entry = null;
+        }
+    }
+
+    /*
+     * Makes inflated bytes available in the output buffer. Returns false at the end of the body or, when not
+     * blocking, if no inflated bytes can be produced without waiting for the client.
+     */
+    private boolean produce(boolean blocking) throws IOException {
+        if (failure != null) {
+            IOException e = failure;
+            failure = null;
+            throw e;
+        }
+        while (outPos == outLimit) {
+            if (state == DONE) {
+                release();
+                return false;
+            }
+            if (needsInput()) {
+                if (!blocking && !in.isFinished() && !in.isReady()) {
+                    return false;
+                }
+                fill();
+                continue;
+            }
+            if (state == BODY) {
+                inflate();
+            } else {
+                parseFraming();
+            }
+        }
+        return true;
+    }
+
+    /*
+     * While inflating, the inflater refers directly to the input buffer, so new input may only be read once it has
+     * consumed everything it was given.
+     */
+    private boolean needsInput() {
+        if (state == BODY) {
+            return inPos == inLimit && entry.inflater.needsInput();
+        }
+        return inPos == inLimit || (state == ZLIB_DETECT && inLimit - inPos < 2);
+    }
+
+    /*
+     * Reads more compressed input, keeping any unconsumed bytes. The body may only end between gzip members.
+     */
+    private void fill() throws IOException {
+        byte[] input = entry.input;
+        if (inPos > 0) {
+            System.arraycopy(input, inPos, input, 0, inLimit - inPos);
+            inLimit -= inPos;
+            inPos = 0;
+        }
+        int n = in.read(input, inLimit, input.length - inLimit);
+        if (n == -1) {
+            if (state != GZIP_NEXT_MEMBER) {
+                throw new EOFException(lStrings.getString("err.io.truncated"));
+            }
+            state = DONE;
+            return;
+        }
+        inLimit += n;
+        totalIn += n;
+    }
+
+    private void inflate() throws IOException {
+        Inflater inflater = entry.inflater;
+        if (inflater.needsInput()) {
+            inflater.setInput(entry.input, inPos, inLimit - inPos);
+            inPos = inLimit;
+        }
+        int n;
+        try {
+            n = inflater.inflate(entry.output, 0, entry.output.length);
+        } catch (DataFormatException e) {
+            throw corrupt(e.getMessage());
+        }
+        if (inflater.needsDictionary()) {
+            throw corrupt("preset dictionary");
+        }
+        outPos = 0;
+        outLimit = n;
+        if (n > 0) {
+            if (zlib) {
+                entry.adler.update(entry.output, 0, n);
+            } else {
+                entry.crc.update(entry.output, 0, n);
+            }
+            totalOut += n;
+            checkLimits();
+        }
+        if (inflater.finished()) {
+            inPos = inLimit - inflater.getRemaining();
+            startField(coding == ContentCoding.GZIP ? GZIP_TRAILER : (zlib ? ZLIB_TRAILER : DONE), 0);
+        } else if (n == 0 && !inflater.needsInput()) {
+            // the output buffer is empty, so a deflater that neither consumes nor produces is stuck
+            throw corrupt("no progress");
+        }
+    }
+
+    private void checkLimits() throws IOException {
+        if (maxInflatedSize >= 0 && totalOut > maxInflatedSize) {
+            throw new LimitExceededException(
+                    MessageFormat.format(lStrings.getString("err.io.inflatedSize"), Long.valueOf(maxInflatedSize)));
+        }
+        if (maxRatio > 0 && totalOut > RATIO_GRACE && totalOut / Math.max(totalIn, 1) > maxRatio) {
+            throw new LimitExceededException(
+                    MessageFormat.format(lStrings.getString("err.io.inflatedRatio"), Integer.valueOf(maxRatio)));
+        }
+    }
+
+    /*
+     * Consumes gzip or zlib framing bytes from the input buffer until the framing state needs more input or the
+     * deflate data starts.
+     */
+    private void parseFraming() throws IOException {
+        byte[] input = entry.input;
+        while (inPos < inLimit && state != BODY && state != DONE) {
+            if (state == ZLIB_DETECT) {
+                detectZlib(input[inPos] & 0xff, input[inPos + 1] & 0xff);
+                continue;
+            }
+            if (state == GZIP_NEXT_MEMBER) {
+                entry.inflater.reset();
+                entry.crc.reset();
+                startField(GZIP_HEADER, 0);
+            }
+            int b = input[inPos++] & 0xff;
+            switch (state) {
+                case GZIP_HEADER:
+                    if ((fieldCount == 0 && b != 0x1f) || (fieldCount == 1 && b != 0x8b)
+                            || (fieldCount == 2 && b != 8)) {
+                        throw corrupt("not in gzip format");
+                    }
+                    if (fieldCount == 3) {
+                        flags = b;
+                    }
+                    if (++fieldCount == 10) {
+                        nextHeaderField(FLG_FHCRC | FLG_FEXTRA | FLG_FNAME | FLG_FCOMMENT);
+                    }
+                    break;
+                case GZIP_EXTRA_LENGTH:
+                    fieldLength |= b << (8 * fieldCount);
+                    if (++fieldCount == 2) {
+                        int length = fieldLength;
+                        startField(GZIP_EXTRA, 0);
+                        fieldLength = length;
+                        if (fieldLength == 0) {
+                            nextHeaderField(FLG_FHCRC | FLG_FNAME | FLG_FCOMMENT);
+                        }
+                    }
+                    break;
+                case GZIP_EXTRA:
+                    if (++fieldCount == fieldLength) {
+                        nextHeaderField(FLG_FHCRC | FLG_FNAME | FLG_FCOMMENT);
+                    }
+                    break;
+                case GZIP_NAME:
+                    if (b == 0) {
+                        nextHeaderField(FLG_FHCRC | FLG_FCOMMENT);
+                    }
+                    break;
+                case GZIP_COMMENT:
+                    if (b == 0) {
+                        nextHeaderField(FLG_FHCRC);
+                    }
+                    break;
+                case GZIP_HEADER_CRC:
+                    if (++fieldCount == 2) {
+                        nextHeaderField(0);
+                    }
+                    break;
+                case GZIP_TRAILER:
+                    fieldValue |= (long) b << (8 * (fieldCount % 4));
+                    if (++fieldCount == 4) {
+                        if (fieldValue != entry.crc.getValue()) {
+                            throw corrupt("CRC mismatch");
+                        }
+                        fieldValue = 0;
+                    } else if (fieldCount == 8) {
+                        if (fieldValue != (entry.inflater.getBytesWritten() & 0xffffffffL)) {
+                            throw corrupt("size mismatch");
+                        }
+                        startField(GZIP_NEXT_MEMBER, 0);
+                    }
+                    break;
+                case ZLIB_TRAILER:
+                    fieldValue = (fieldValue << 8) | b;
+                    if (++fieldCount == 4) {
+                        if (fieldValue != entry.adler.getValue()) {
+                            throw corrupt("Adler-32 mismatch");
+                        }
+                        startField(DONE, 0);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /*
+     * Per RFC 7230 "deflate" means the zlib format, but enough clients send raw deflate data that both are accepted.
+     * A zlib header is recognized by its compression method and check bits; anything else is treated as raw data.
+     */
+    private void detectZlib(int cmf, int flg) throws IOException {
+        zlib = (cmf & 0x0f) == 8 && (cmf >> 4) <= 7 && ((cmf << 8) | flg) % 31 == 0;
+        if (zlib) {
+            if ((flg & 0x20) != 0) {
+                throw corrupt("preset dictionary");
+            }
+            inPos += 2;
+        }
+        startField(BODY, 0);
+    }
+
+    /*
+     * Advances past the gzip header to the next optional field present in the flags, in header order.
+     */
+    private void nextHeaderField(int candidates) {
+        int remaining = flags & candidates;
+        if ((remaining & FLG_FEXTRA) != 0) {
+            startField(GZIP_EXTRA_LENGTH, 0);
+        } else if ((remaining & FLG_FNAME) != 0) {
+            startField(GZIP_NAME, 0);
+        } else if ((remaining & FLG_FCOMMENT) != 0) {
+            startField(GZIP_COMMENT, 0);
+        } else if ((remaining & FLG_FHCRC) != 0) {
+            startField(GZIP_HEADER_CRC, 0);
+        } else {
+            startField(BODY, 0);
+        }
+    }
+
+    private void startField(int newState, int count) {
+        state = newState;
+        fieldCount = count;
+        fieldLength = 0;
+        fieldValue = 0;
+    }
+
+    private IOException corrupt(String detail) {
+        return new IOException(MessageFormat.format(lStrings.getString("err.io.corrupt"), detail));
+    }
+
+    /*
+     * Signals that the body was rejected by the size or ratio limit rather than being malformed, so that the filter
+     * can answer 413 if the application lets the exception propagate.
+     */
+    // file private
+    static class LimitExceededException extends IOException {
+
+        private static final long serialVersionUID = 2981264587214953190L;
+
+        LimitExceededException(String message) {
+            super(message);
+        }
+    }
+}
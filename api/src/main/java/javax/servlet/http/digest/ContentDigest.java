@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.digest;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+/**
+ * <p>
+ * Computes one or more digests of a body, incrementally, as its bytes pass through. The algorithms are those of
+ * {@link MessageDigest}, such as <code>SHA-256</code>, and the checksums <code>CRC32C</code>, <code>CRC32</code> and
+ * <code>Adler32</code>; all of them are updated in a single pass over each chunk of the body.
+ * </p>
+ *
+ * <p>
+ * {@link #finish()} completes the digests, after which their values can be read and no more bytes are accepted.
+ * {@link #toFieldValue()} formats them as the value of a <code>Content-Digest</code> field of RFC 9530, for example
+ * <code>sha-256=:X48E9qOokqqrvdts8nOJRJN3OWDUoyWxBf7kbu9DBPE=:</code>. Checksums are given as their four bytes in
+ * big-endian order.
+ * </p>
+ *
+ * <p>
+ * A digest is not safe for use by multiple threads.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public final class ContentDigest {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.digest.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    /*
+     * The constructor of java.util.zip.CRC32C, looked up reflectively since this API is compiled for Java 8; null on
+     * runtimes before Java 9.
+     */
+    private static final MethodHandle NEW_CRC32C = findCrc32c();
+
+    private final List<String> algorithms;
+    private final MessageDigest[] digests;
+    private final Checksum[] checksums;
+    private Map<String, byte[]> values;
+    private long length;
+
+    private ContentDigest(List<String> algorithms, MessageDigest[] digests, Checksum[] checksums) {
+        this.algorithms = algorithms;
+        this.digests = digests;
+        this.checksums = checksums;
+    }
+
+    /**
+     * Creates a digest computing the given algorithms.
+     *
+     * @param algorithms the names of the algorithms, matched without regard to case
+     * @return a new digest
+     * @throws NoSuchAlgorithmException if an algorithm is not available on this runtime, as <code>CRC32C</code> is
+     *                                  not before Java 9
+     */
+    public static ContentDigest getInstance(String... algorithms) throws NoSuchAlgorithmException {
+        if (algorithms.length == 0) {
+            throw new NoSuchAlgorithmException(lStrings.getString("err.algorithm.none"));
+        }
+        List<String> names = new ArrayList<>(algorithms.length);
+        MessageDigest[] digests = new MessageDigest[algorithms.length];
+        Checksum[] checksums = new Checksum[algorithms.length];
+        for (int i = 0; i < algorithms.length; i++) {
+            String algorithm = algorithms[i].trim();
+            Checksum checksum = newChecksum(algorithm);
+            if (checksum != null) {
+                checksums[i] = checksum;
+            } else {
+                digests[i] = MessageDigest.getInstance(algorithm);
+            }
+            names.add(algorithm);
+        }
+        return new ContentDigest(Collections.unmodifiableList(names), digests, checksums);
+    }
+
+    /**
+     * Returns whether an algorithm is available on this runtime.
+     *
+     * @param algorithm the name of the algorithm
+     * @return <code>true</code> if {@link #getInstance} accepts it
+     */
+    public static boolean isAvailable(String algorithm) {
+        try {
+            getInstance(algorithm);
+            return true;
+        } catch (NoSuchAlgorithmException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the names of the algorithms, as given.
+     *
+     * @return the algorithms
+     */
+    public List<String> getAlgorithms() {
+        return algorithms;
+    }
+
+    /**
+     * Returns the number of bytes digested so far.
+     *
+     * @return the length of the body
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Adds a byte to the digests.
+     *
+     * @param b the byte
+     * @throws IllegalStateException if the digests have been finished
+     */
+    public void update(int b) {
+        checkOpen();
+        for (int i = 0; i < digests.length; i++) {
+            if (digests[i] != null) {
+                digests[i].update((byte) b);
+            } else {
+                checksums[i].update(b);
+            }
+        }
+        length++;
+    }
+
+    /**
+     * Adds bytes to the digests.
+     *
+     * @param b the bytes
+     * @param off the offset of the first byte
+     * @param len the number of bytes
+     * @throws IllegalStateException if the digests have been finished
+     */
+    public void update(byte[] b, int off, int len) {
+        checkOpen();
+        for (int i = 0; i < digests.length; i++) {
+            if (digests[i] != null) {
+                digests[i].update(b, off, len);
+            } else {
+                checksums[i].update(b, off, len);
+            }
+        }
+        length += len;
+    }
+
+    /**
+     * Completes the digests. Further calls do nothing.
+     */
+    public void finish() {
+        if (values != null) {
+            return;
+        }
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        for (int i = 0; i < digests.length; i++) {
+            byte[] value;
+            if (digests[i] != null) {
+                value = digests[i].digest();
+            } else {
+                long crc = checksums[i].getValue();
+                value = new byte[] { (byte) (crc >>> 24), (byte) (crc >>> 16), (byte) (crc >>> 8), (byte) crc };
+            }
+            result.put(algorithms.get(i), value);
+        }
+        values = result;
+    }
+
+    /**
+     * Returns whether the digests have been finished.
+     *
+     * @return <code>true</code> once {@link #finish()} has been called
+     */
+    public boolean isFinished() {
+        return values != null;
+    }
+
+    /**
+     * Returns the value of a digest.
+     *
+     * @param algorithm the name of the algorithm, as given
+     * @return a copy of the value, or <code>null</code> if the algorithm is not computed by this digest
+     * @throws IllegalStateException if the digests have not been finished
+     */
+    public byte[] getValue(String algorithm) {
+        checkFinished();
+        byte[] value = values.get(algorithm);
+        return value == null ? null : value.clone();
+    }
+
+    /**
+     * Returns the value of a digest in lowercase hexadecimal.
+     *
+     * @param algorithm the name of the algorithm, as given
+     * @return the value, or <code>null</code> if the algorithm is not computed by this digest
+     * @throws IllegalStateException if the digests have not been finished
+     */
+    public String getHexValue(String algorithm) {
+        checkFinished();
+        byte[] value = values.get(algorithm);
+        if (value == null) {
+            return null;
+        }
+        char[] hex = new char[value.length * 2];
+        for (int i = 0; i < value.length; i++) {
+            hex[2 * i] = Character.forDigit((value[i] >> 4) & 0xf, 16);
+            hex[2 * i + 1] = Character.forDigit(value[i] & 0xf, 16);
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Formats the digests as the value of a <code>Content-Digest</code> field: each algorithm, in lowercase, with
+     * its value as a structured byte sequence.
+     *
+     * @return the field value
+     * @throws IllegalStateException if the digests have not been finished
+     */
+    public String toFieldValue() {
+        checkFinished();
+        StringBuilder field = new StringBuilder();
+        Base64.Encoder encoder = Base64.getEncoder();
+        for (Map.Entry<String, byte[]> entry : values.entrySet()) {
+            if (field.length() > 0) {
+                field.append(", ");
+            }
+            field.append(entry.getKey().toLowerCase(Locale.ENGLISH)).append("=:")
+                    .append(encoder.encodeToString(entry.getValue())).append(':');
+        }
+        return field.toString();
+    }
+
+    private void checkOpen() {
+        if (values != null) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private void checkFinished() {
+        if (values == null) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static Checksum newChecksum(String algorithm) throws NoSuchAlgorithmException {
+        if (algorithm.equalsIgnoreCase("CRC32")) {
+            return new CRC32();
+        }
+        if (algorithm.equalsIgnoreCase("Adler32")) {
+            return new Adler32();
+        }
+        if (!algorithm.equalsIgnoreCase("CRC32C")) {
+            return null;
+        }
+        if (NEW_CRC32C == null) {
+            throw new NoSuchAlgorithmException(MessageFormat.format(lStrings.getString("err.algorithm"), algorithm));
+        }
+        try {
+            return (Checksum) NEW_CRC32C.invoke();
+        } catch (Throwable t) {
+            throw new NoSuchAlgorithmException(MessageFormat.format(lStrings.getString("err.algorithm"), algorithm),
+                    t);
+        }
+    }
+
+    private static MethodHandle findCrc32c() {
+        try {
+            Class<?> crc32c = Class.forName("java.util.zip.CRC32C");
+            return MethodHandles.publicLookup().findConstructor(crc32c, MethodType.methodType(void.class));
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.digest;
+
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InitParameters;
+
+/**
+ * <p>
+ * A filter that digests request and response bodies as they stream through, so that a checksum of a large upload or
+ * download does not take a second pass over its bytes.
+ * </p>
+ *
+ * <p>
+ * Once the request body has been read to its end, its finished {@link ContentDigest} is available as the request
+ * attribute {@link #REQUEST_DIGEST_ATTRIBUTE}; the attribute is absent while the body has not been read completely.
+ * The digest of the response body is sent as a <code>Content-Digest</code> trailer field, announced in a
+ * <code>Trailer</code> header, and once the response is complete it is also available as the request attribute
+ * {@link #RESPONSE_DIGEST_ATTRIBUTE}.
+ * </p>
+ *
+ * <p>
+ * Trailers are only sent where the protocol allows: not for <code>HEAD</code> requests, not over HTTP/1.0 and, over
+ * HTTP/1.1, not for a response given a content length, which the container then does not send chunked. The
+ * response body is still digested in those cases.
+ * </p>
+ *
+ * <p>
+ * The filter recognizes the following initialization parameters:
+ * </p>
+ * <ul>
+ * <li><code>algorithms</code> - a comma separated list of the algorithms to compute, as accepted by
+ * {@link ContentDigest#getInstance(String...)}; defaults to <code>SHA-256</code></li>
+ * <li><code>digestRequests</code> - whether request bodies are digested; defaults to <code>true</code></li>
+ * <li><code>digestResponses</code> - whether response bodies are digested; defaults to <code>true</code></li>
+ * </ul>
+ *
+ * @since Servlet 4.0.4
+ */
+public class DigestFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 4290378162542018731L;
+
+    /**
+     * The name of the request attribute holding the {@link ContentDigest} of the request body.
+     */
+    public static final String REQUEST_DIGEST_ATTRIBUTE = "javax.servlet.http.digest.request";
+
+    /**
+     * The name of the request attribute holding the {@link ContentDigest} of the response body.
+     */
+    public static final String RESPONSE_DIGEST_ATTRIBUTE = "javax.servlet.http.digest.response";
+
+    // file private
+    static final String CONTENT_DIGEST = "Content-Digest";
+
+    private String[] algorithms = { "SHA-256" };
+    private boolean digestRequests = true;
+    private boolean digestResponses = true;
+
+    /**
+     * Reads the initialization parameters.
+     *
+     * @throws ServletException if an initialization parameter is not valid
+     */
+    @Override
+    public void init() throws ServletException {
+        String value = getInitParameter("algorithms");
+        if (value != null) {
+            algorithms = value.trim().split("\\s*,\\s*");
+            try {
+                ContentDigest.getInstance(algorithms);
+            } catch (NoSuchAlgorithmException e) {
+                throw InitParameters.invalid("algorithms", value, e);
+            }
+        }
+        digestRequests = getBoolean("digestRequests", digestRequests);
+        digestResponses = getBoolean("digestResponses", digestResponses);
+    }
+
+    /**
+     * Invokes the chain with the request and response wrapped for digesting.
+     *
+     * @param req   the request
+     * @param res   the response
+     * @param chain the <code>FilterChain</code> for invoking the next filter or the resource
+     * @throws IOException      if an input or output error occurs
+     * @throws ServletException if the request could not be handled
+     */
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        if (req.getDispatcherType() != DispatcherType.REQUEST) {
+            // the body has been wrapped, if at all, on the way in
+            chain.doFilter(req, res);
+            return;
+        }
+
+        final HttpServletRequest request = digestRequests ? new DigestRequestWrapper(req, this) : req;
+        if (!digestResponses) {
+            chain.doFilter(request, res);
+            return;
+        }
+
+        final DigestResponseWrapper response = new DigestResponseWrapper(res, this);
+        if (!"HEAD".equals(req.getMethod()) && !"HTTP/1.0".equals(req.getProtocol()) && !res.isCommitted()) {
+            try {
+                res.setTrailerFields(response);
+                res.setHeader("Trailer", CONTENT_DIGEST);
+            } catch (IllegalStateException e) {
+                // trailers are not supported for this response
+            }
+        }
+
+        chain.doFilter(request, response);
+        if (!request.isAsyncStarted()) {
+            request.setAttribute(RESPONSE_DIGEST_ATTRIBUTE, response.finish());
+            return;
+        }
+        request.getAsyncContext().addListener(new AsyncListener() {
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+                request.setAttribute(RESPONSE_DIGEST_ATTRIBUTE, response.finish());
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                event.getAsyncContext().addListener(this);
+            }
+        });
+    }
+
+    /*
+     * A fresh digest over the configured algorithms, which init() has checked are available.
+     */
+    // file private
+    ContentDigest newDigest() {
+        try {
+            return ContentDigest.getInstance(algorithms);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean getBoolean(String name, boolean defaultValue) throws ServletException {
+        String value = getInitParameter(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        value = value.trim();
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw InitParameters.invalid(name, value);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.digest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ResourceBundle;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+
+/*
+ * Digests the request body as it is read and publishes the finished digest as a request attribute. The digest is
+ * created on the first call to getInputStream() or getReader(), so a request whose body is never read costs nothing.
+ */
+// file private
+class DigestRequestWrapper extends HttpServletRequestWrapper {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.digest.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private final DigestFilter filter;
+
+    private DigestingServletInputStream stream;
+    private BufferedReader reader;
+
+    // file private
+    DigestRequestWrapper(HttpServletRequest request, DigestFilter filter) {
+        super(request);
+        this.filter = filter;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (reader != null) {
+            throw new IllegalStateException(lStrings.getString("err.ise.getInputStream"));
+        }
+        if (stream == null) {
+            stream = newStream();
+        }
+        return stream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            if (stream != null) {
+                throw new IllegalStateException(lStrings.getString("err.ise.getReader"));
+            }
+            String encoding = getCharacterEncoding();
+            stream = newStream();
+            reader = new BufferedReader(new InputStreamReader(stream, encoding == null ? "ISO-8859-1" : encoding));
+        }
+        return reader;
+    }
+
+    private DigestingServletInputStream newStream() throws IOException {
+        return new DigestingServletInputStream(super.getInputStream(), filter.newDigest()) {
+
+            @Override
+            protected void onEndOfStream() {
+                setAttribute(DigestFilter.REQUEST_DIGEST_ATTRIBUTE, getDigest());
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.digest;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InterceptingResponseWrapper;
+
+/*
+ * Digests the response body as it is written. Text written through getWriter() is encoded here, over the digesting
+ * stream, so that the digest covers the bytes actually sent. The wrapper is also the supplier of the trailer fields:
+ * the container calls it once the body is complete, which is when the digest can be finished.
+ */
+// file private
+class DigestResponseWrapper extends InterceptingResponseWrapper implements Supplier<Map<String, String>> {
+
+    private final DigestFilter filter;
+
+    private ContentDigest digest;
+
+    // file private
+    DigestResponseWrapper(HttpServletResponse response, DigestFilter filter) {
+        super(response);
+        this.filter = filter;
+    }
+
+    @Override
+    protected ServletOutputStream newOutputStream() throws IOException {
+        return new DigestingServletOutputStream(getResponse().getOutputStream(), newDigest());
+    }
+
+    /*
+     * Called by the container as the body completes, and by the filter once it is known to be complete.
+     */
+    @Override
+    public synchronized Map<String, String> get() {
+        return Collections.singletonMap(DigestFilter.CONTENT_DIGEST, finish().toFieldValue());
+    }
+
+    /*
+     * Finishes the digest of the bytes written so far, which are all the bytes of the body since the writer pushes its
+     * text into the digesting stream as it is written; nothing is written through the digest from here. A response
+     * without a body is given the digest of no bytes.
+     */
+    // file private
+    synchronized ContentDigest finish() {
+        ContentDigest result = newDigest();
+        result.finish();
+        return result;
+    }
+
+    private synchronized ContentDigest newDigest() {
+        if (digest == null) {
+            digest = filter.newDigest();
+        }
+        return digest;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.digest;
+
+import java.io.IOException;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+
+/**
+ * <p>
+ * A request body stream that adds every byte read to a {@link ContentDigest}, so that the body is digested in the
+ * same pass that consumes it. Once the end of the body is reached, whether by a read returning <code>-1</code>, by
+ * {@link #isFinished()} turning true in non-blocking mode, or by {@link ReadListener#onAllDataRead()}, the digest is
+ * finished and {@link #onEndOfStream()} is called, once.
+ * </p>
+ *
+ * <p>
+ * Bytes skipped with {@link #skip(long)} are read, and digested, rather than skipped. Marks are not supported.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class DigestingServletInputStream extends ServletInputStream {
+
+    private final ServletInputStream in;
+    private final ContentDigest digest;
+    private boolean ended;
+
+    /**
+     * Creates a stream digesting the bytes read from another.
+     *
+     * @param in     the stream to read from
+     * @param digest the digest to update
+     */
+    public DigestingServletInputStream(ServletInputStream in, ContentDigest digest) {
+        this.in = in;
+        this.digest = digest;
+    }
+
+    /**
+     * Returns the digest of the bytes read so far.
+     *
+     * @return the digest, finished once the end of the body has been reached
+     */
+    public ContentDigest getDigest() {
+        return digest;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            end();
+        } else {
+            digest.update(b);
+            checkFinished();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n < 0) {
+            end();
+        } else {
+            digest.update(b, off, n);
+            checkFinished();
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] discard = new byte[(int) Math.min(8192, Math.max(n, 0))];
+        long skipped = 0;
+        while (skipped < n) {
+            int r = read(discard, 0, (int) Math.min(discard.length, n - skipped));
+            if (r < 0) {
+                break;
+            }
+            skipped += r;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return in.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    @Override
+    public boolean isFinished() {
+        boolean finished = in.isFinished();
+        if (finished) {
+            end();
+        }
+        return finished;
+    }
+
+    @Override
+    public boolean isReady() {
+        return in.isReady();
+    }
+
+    @Override
+    public void setReadListener(final ReadListener readListener) {
+        in.setReadListener(new ReadListener() {
+
+            @Override
+            public void onDataAvailable() throws IOException {
+                readListener.onDataAvailable();
+            }
+
+            @Override
+            public void onAllDataRead() throws IOException {
+                end();
+                readListener.onAllDataRead();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                readListener.onError(t);
+            }
+        });
+    }
+
+    /**
+     * Called once, after the digest has been finished at the end of the body. The default implementation does
+     * nothing.
+     */
+    protected void onEndOfStream() {
+    }
+
+    /*
+     * A non-blocking reader may stop once isFinished() is true, without ever reading -1.
+     */
+    private void checkFinished() {
+        if (!ended && in.isFinished()) {
+            end();
+        }
+    }
+
+    private void end() {
+        if (!ended) {
+            ended = true;
+            digest.finish();
+            onEndOfStream();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.digest;
+
+import java.io.IOException;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+/**
+ * <p>
+ * A response body stream that adds every byte written to a {@link ContentDigest}, so that the body is digested in
+ * the same pass that sends it. Finishing the digest is left to the caller, typically when the trailer fields of the
+ * response are requested; writes after that fail with an <code>IllegalStateException</code>.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class DigestingServletOutputStream extends ServletOutputStream {
+
+    private final ServletOutputStream out;
+    private final ContentDigest digest;
+
+    /**
+     * Creates a stream digesting the bytes written to another.
+     *
+     * @param out    the stream to write to
+     * @param digest the digest to update
+     */
+    public DigestingServletOutputStream(ServletOutputStream out, ContentDigest digest) {
+        this.out = out;
+        this.digest = digest;
+    }
+
+    /**
+     * Returns the digest of the bytes written so far.
+     *
+     * @return the digest
+     */
+    public ContentDigest getDigest() {
+        return digest;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        digest.update(b);
+        out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        digest.update(b, off, len);
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    @Override
+    public boolean isReady() {
+        return out.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+        out.setWriteListener(writeListener);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * A step in the asynchronous processing of a request. The completing steps span the time since the request was put
+ * into asynchronous mode.
+ */
+@Name("javax.servlet.Async")
+@Label("Servlet Async")
+@Category("Servlet")
+@Description("A request put into asynchronous mode, dispatched, completed, timed out or failed")
+@StackTrace(false)
+// file private
+final class AsyncLifecycleEvent extends jdk.jfr.Event {
+
+    // file private
+    static final String START = "start";
+    // file private
+    static final String DISPATCH = "dispatch";
+    // file private
+    static final String COMPLETE = "complete";
+    // file private
+    static final String TIMEOUT = "timeout";
+    // file private
+    static final String ERROR = "error";
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Mapping Pattern")
+    String pattern;
+
+    @Label("Method")
+    String method;
+
+    @Label("Status")
+    int status;
+}
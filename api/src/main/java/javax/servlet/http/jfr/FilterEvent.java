@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * A pass through a filter wrapped with FlightRecorderFilter.wrap(), including the rest of the chain below it.
+ */
+@Name("javax.servlet.Filter")
+@Label("Servlet Filter")
+@Category("Servlet")
+@Description("A pass of a request through a filter, including the rest of the chain")
+@StackTrace(false)
+// file private
+final class FilterEvent extends jdk.jfr.Event {
+
+    @Label("Filter")
+    String filterName;
+
+    @Label("Dispatcher Type")
+    String dispatcherType;
+
+    @Label("Mapping Pattern")
+    String pattern;
+
+    @Label("Method")
+    String method;
+
+    @Label("Status")
+    int status;
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.jfr;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpFilter;
+import javax.servlet.http.HttpServletMapping;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InitParameters;
+
+import jdk.jfr.EventType;
+
+/**
+ * <p>
+ * A filter that makes servlet activity visible in JDK Flight Recorder recordings. It records the following events,
+ * all in the <code>Servlet</code> category:
+ * </p>
+ * <ul>
+ * <li><code>javax.servlet.Service</code> - the execution of each request below this filter, with the servlet name,
+ * mapping pattern and match, method, status and the number of bytes written</li>
+ * <li><code>javax.servlet.Async</code> - a request put into asynchronous mode, dispatched, completed, timed out or
+ * failed; the completing events span the whole asynchronous processing</li>
+ * <li><code>javax.servlet.LargeWrite</code> - every single write of at least <code>largeWriteThreshold</code> bytes
+ * to the response body, spanning the time the write blocked</li>
+ * <li><code>javax.servlet.Filter</code> - each pass through a filter wrapped with {@link #wrap(String, Filter)},
+ * including the rest of the chain</li>
+ * </ul>
+ *
+ * <p>
+ * Session events are recorded by {@link FlightRecorderSessionListener}. The filter is best mapped last, for all
+ * dispatcher types, so that the service events measure the servlets alone and asynchronous dispatches are seen.
+ * </p>
+ *
+ * <p>
+ * The events are enabled and given thresholds in the recording settings like any JDK event. While they are disabled
+ * the filter does no more than check that, and neither wraps the response nor registers listeners. On a JVM without
+ * Flight Recorder support this class cannot be loaded and must not be registered.
+ * </p>
+ *
+ * <p>
+ * The filter recognizes the following initialization parameter:
+ * </p>
+ * <ul>
+ * <li><code>largeWriteThreshold</code> - the size in bytes from which a write is recorded; defaults to 65536</li>
+ * </ul>
+ *
+ * @since Servlet 4.0.4
+ */
+public class FlightRecorderFilter extends HttpFilter {
+
+    private static final long serialVersionUID = -1752894463302117734L;
+
+    /*
+     * The types of the events recorded per request, which tell whether they are enabled without an event being
+     * created for it.
+     */
+    private static final EventType SERVICE_EVENTS = EventType.getEventType(ServiceEvent.class);
+    private static final EventType LARGE_WRITE_EVENTS = EventType.getEventType(LargeWriteEvent.class);
+    private static final EventType ASYNC_EVENTS = EventType.getEventType(AsyncLifecycleEvent.class);
+
+    private int largeWriteThreshold = 65536;
+
+    /**
+     * Wraps a filter so that each pass of a request through it is recorded as a <code>javax.servlet.Filter</code>
+     * event. The result is registered in place of the filter, for example with
+     * {@link javax.servlet.ServletContext#addFilter(String, Filter)}.
+     *
+     * @param filterName the name under which the filter is registered
+     * @param filter     the filter to wrap
+     * @return the wrapping filter
+     */
+    public static Filter wrap(String filterName, Filter filter) {
+        return new TracingFilter(filterName, filter);
+    }
+
+    /**
+     * Reads the initialization parameters.
+     *
+     * @throws ServletException if an initialization parameter is not valid
+     */
+    @Override
+    public void init() throws ServletException {
+        largeWriteThreshold = InitParameters.getInt(this, "largeWriteThreshold", largeWriteThreshold, 1,
+                Integer.MAX_VALUE);
+    }
+
+    /**
+     * Invokes the chain, recording the events that are enabled.
+     *
+     * @param req   the request
+     * @param res   the response
+     * @param chain the <code>FilterChain</code> for invoking the next filter or the resource
+     * @throws IOException      if an input or output error occurs
+     * @throws ServletException if the request could not be handled
+     */
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        boolean service = SERVICE_EVENTS.isEnabled();
+        boolean largeWrites = LARGE_WRITE_EVENTS.isEnabled();
+        boolean async = ASYNC_EVENTS.isEnabled();
+        if (!service && !largeWrites && !async) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        if (async && req.getDispatcherType() == DispatcherType.ASYNC) {
+            AsyncLifecycleEvent dispatch = new AsyncLifecycleEvent();
+            if (dispatch.shouldCommit()) {
+                fill(dispatch, AsyncLifecycleEvent.DISPATCH, req, res);
+                dispatch.commit();
+            }
+        }
+
+        ServiceEvent event = new ServiceEvent();
+
+        HttpServletMapping mapping = req.getHttpServletMapping();
+        RecordingResponseWrapper wrapper = null;
+        if (service || largeWrites) {
+            wrapper = new RecordingResponseWrapper(res, largeWrites ? largeWriteThreshold : Integer.MAX_VALUE,
+                    mapping == null ? null : mapping.getPattern(), req.getMethod());
+        }
+        event.begin();
+        try {
+            chain.doFilter(req, wrapper == null ? res : wrapper);
+        } finally {
+            event.end();
+            boolean asyncStarted = req.isAsyncStarted();
+            if (event.shouldCommit()) {
+                if (mapping != null) {
+                    event.servletName = mapping.getServletName();
+                    event.pattern = mapping.getPattern();
+                    event.mappingMatch = mapping.getMappingMatch() == null ? null : mapping.getMappingMatch().name();
+                }
+                event.method = req.getMethod();
+                event.status = res.getStatus();
+                event.bytesWritten = wrapper == null ? 0 : wrapper.getBytesWritten();
+                event.asyncStarted = asyncStarted;
+                event.commit();
+            }
+            if (async && asyncStarted) {
+                traceAsync(req, res);
+            }
+        }
+    }
+
+    private void traceAsync(final HttpServletRequest req, final HttpServletResponse res) {
+        AsyncLifecycleEvent start = new AsyncLifecycleEvent();
+        if (start.shouldCommit()) {
+            fill(start, AsyncLifecycleEvent.START, req, res);
+            start.commit();
+        }
+        final AsyncLifecycleEvent completion = new AsyncLifecycleEvent();
+        completion.begin();
+        req.getAsyncContext().addListener(new AsyncListener() {
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+                end(AsyncLifecycleEvent.COMPLETE);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                end(AsyncLifecycleEvent.TIMEOUT);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                end(AsyncLifecycleEvent.ERROR);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                event.getAsyncContext().addListener(this);
+            }
+
+            /*
+             * Records the first outcome only; a timeout or an error is followed by the completion.
+             */
+            private void end(String phase) {
+                if (completion.phase != null) {
+                    return;
+                }
+                completion.end();
+                fill(completion, phase, req, res);
+                if (completion.shouldCommit()) {
+                    completion.commit();
+                }
+            }
+        });
+    }
+
+    private static void fill(AsyncLifecycleEvent event, String phase, HttpServletRequest req,
+            HttpServletResponse res) {
+        HttpServletMapping mapping = req.getHttpServletMapping();
+        event.phase = phase;
+        event.pattern = mapping == null ? null : mapping.getPattern();
+        event.method = req.getMethod();
+        event.status = res.getStatus();
+    }
+}
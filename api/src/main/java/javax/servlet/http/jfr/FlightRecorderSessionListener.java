@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.jfr;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.http.HttpSessionEvent;
+import javax.servlet.http.HttpSessionListener;
+
+/**
+ * A listener that records a <code>javax.servlet.Session</code> JDK Flight Recorder event whenever an HTTP session is
+ * created or destroyed, carrying the number of sessions active afterwards. While the event is disabled the listener
+ * only keeps the count.
+ *
+ * @since Servlet 4.0.4
+ */
+public class FlightRecorderSessionListener implements HttpSessionListener {
+
+    private final AtomicLong active = new AtomicLong();
+
+    /**
+     * Records the creation of a session.
+     *
+     * @param se the event for the session created
+     */
+    @Override
+    public void sessionCreated(HttpSessionEvent se) {
+        record(SessionLifecycleEvent.CREATED, active.incrementAndGet());
+    }
+
+    /**
+     * Records the destruction of a session.
+     *
+     * @param se the event for the session destroyed
+     */
+    @Override
+    public void sessionDestroyed(HttpSessionEvent se) {
+        record(SessionLifecycleEvent.DESTROYED, active.decrementAndGet());
+    }
+
+    private static void record(String action, long activeSessions) {
+        SessionLifecycleEvent event = new SessionLifecycleEvent();
+        if (event.shouldCommit()) {
+            event.action = action;
+            event.activeSessions = activeSessions;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * A single write to the response body at or above the threshold. Its duration is the time the write blocked.
+ */
+@Name("javax.servlet.LargeWrite")
+@Label("Large Response Write")
+@Category("Servlet")
+@Description("A single large write to a ServletOutputStream, and the time it blocked")
+// file private
+final class LargeWriteEvent extends jdk.jfr.Event {
+
+    @Label("Mapping Pattern")
+    String pattern;
+
+    @Label("Method")
+    String method;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.jfr;
+
+import java.io.IOException;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InterceptingResponseWrapper;
+
+/*
+ * Counts the bytes of the response body and records a LargeWriteEvent for every write at or above the threshold.
+ * Text written through getWriter() is encoded here, over the recording stream, so that it is seen in bytes too.
+ */
+// file private
+class RecordingResponseWrapper extends InterceptingResponseWrapper {
+
+    private final int largeWriteThreshold;
+    private final String pattern;
+    private final String method;
+
+    private RecordingOutputStream stream;
+
+    // file private
+    RecordingResponseWrapper(HttpServletResponse response, int largeWriteThreshold, String pattern, String method) {
+        super(response);
+        this.largeWriteThreshold = largeWriteThreshold;
+        this.pattern = pattern;
+        this.method = method;
+    }
+
+    @Override
+    protected ServletOutputStream newOutputStream() throws IOException {
+        stream = new RecordingOutputStream(getResponse().getOutputStream());
+        return stream;
+    }
+
+    /*
+     * The number of bytes written so far, including the text written through the writer, which reaches the stream as
+     * it is written.
+     */
+    // file private
+    long getBytesWritten() {
+        return stream == null ? 0 : stream.count;
+    }
+
+    private final class RecordingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream out;
+        private long count;
+
+        RecordingOutputStream(ServletOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len < largeWriteThreshold) {
+                out.write(b, off, len);
+                count += len;
+                return;
+            }
+            LargeWriteEvent event = new LargeWriteEvent();
+            event.begin();
+            out.write(b, off, len);
+            count += len;
+            event.end();
+            if (event.shouldCommit()) {
+                event.pattern = pattern;
+                event.method = method;
+                event.bytes = len;
+                event.commit();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return out.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            out.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * The execution of a request by its servlet, as seen from the innermost FlightRecorderFilter.
+ */
+@Name("javax.servlet.Service")
+@Label("Servlet Service")
+@Category("Servlet")
+@Description("A request executed by a servlet, up to the point where the servlet returned")
+@StackTrace(false)
+// file private
+final class ServiceEvent extends jdk.jfr.Event {
+
+    @Label("Servlet")
+    String servletName;
+
+    @Label("Mapping Pattern")
+    String pattern;
+
+    @Label("Mapping Match")
+    String mappingMatch;
+
+    @Label("Method")
+    String method;
+
+    @Label("Status")
+    int status;
+
+    @Label("Bytes Written")
+    @DataAmount
+    long bytesWritten;
+
+    @Label("Async Started")
+    boolean asyncStarted;
+}
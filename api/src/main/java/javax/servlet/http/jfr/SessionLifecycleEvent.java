@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * The creation or destruction of an HTTP session.
+ */
+@Name("javax.servlet.Session")
+@Label("HTTP Session")
+@Category("Servlet")
+@Description("An HTTP session created, or invalidated or timed out")
+// file private
+final class SessionLifecycleEvent extends jdk.jfr.Event {
+
+    // file private
+    static final String CREATED = "created";
+    // file private
+    static final String DESTROYED = "destroyed";
+
+    @Label("Action")
+    String action;
+
+    @Label("Active Sessions")
+    long activeSessions;
+}
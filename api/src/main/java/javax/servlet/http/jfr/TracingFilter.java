@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.jfr;
+
+import java.io.IOException;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletMapping;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import jdk.jfr.EventType;
+
+/*
+ * Wraps a filter to record a FilterEvent for each pass through it. While the event is disabled the wrapper only
+ * checks that and calls the filter.
+ */
+// file private
+final class TracingFilter implements Filter {
+
+    private static final EventType FILTER_EVENTS = EventType.getEventType(FilterEvent.class);
+
+    private final String filterName;
+    private final Filter filter;
+
+    // file private
+    TracingFilter(String filterName, Filter filter) {
+        this.filterName = filterName;
+        this.filter = filter;
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        filter.init(filterConfig);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!FILTER_EVENTS.isEnabled()) {
+            filter.doFilter(request, response, chain);
+            return;
+        }
+        FilterEvent event = new FilterEvent();
+        event.begin();
+        try {
+            filter.doFilter(request, response, chain);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.filterName = filterName;
+                event.dispatcherType = request.getDispatcherType().name();
+                if (request instanceof HttpServletRequest) {
+                    HttpServletRequest req = (HttpServletRequest) request;
+                    HttpServletMapping mapping = req.getHttpServletMapping();
+                    event.pattern = mapping == null ? null : mapping.getPattern();
+                    event.method = req.getMethod();
+                }
+                if (response instanceof HttpServletResponse) {
+                    event.status = ((HttpServletResponse) response).getStatus();
+                }
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        filter.destroy();
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.longpoll;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * <p>
+ * Parks long-polling requests by topic until a message is published to it. {@link #park park} puts a request into
+ * asynchronous mode and queues it on its topic; {@link #publish publish} takes every request waiting on the topic at
+ * that moment and answers them all with the same payload, serialized once by the caller. The answers are written by
+ * the given executor, in batches, so that publishing returns at once and a small executor serves any number of
+ * waiting requests. Requests parked while a message is being published wait for the next one.
+ * </p>
+ *
+ * <p>
+ * A request that receives no message within the timeout is answered with <code>204 No Content</code>, after which
+ * the client polls again. The requests are given no timeout of their own; instead, since all of them wait equally
+ * long, they are kept in the order of their deadlines, and a single periodic task on the given scheduler answers
+ * those whose deadline has passed. Closing the hub answers every waiting request with
+ * <code>503 Service Unavailable</code>.
+ * </p>
+ *
+ * <p>
+ * The payload is written with a non-blocking write listener, so a client that reads slowly ties up no thread of the
+ * executor. A hub can be shared by all requests to a servlet, and used from any thread.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class LongPollHub {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.longpoll.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private static final long MIN_TICK_MILLIS = 10;
+    private static final long MAX_TICK_MILLIS = 1000;
+
+    private final Executor executor;
+    private final long timeout;
+    private final int batchSize;
+    private final Map<String, TopicQueue> topics = new ConcurrentHashMap<>();
+    private final Queue<ParkedRequest> deadlines = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger parked = new AtomicInteger();
+    private final ScheduledFuture<?> sweeps;
+    private volatile boolean closed;
+
+    /**
+     * Creates a hub.
+     *
+     * @param executor the executor that answers the requests
+     * @param scheduler the scheduler of the task that answers the requests whose timeout has expired
+     * @param timeout how long a request waits for a message
+     * @param unit the unit of the timeout
+     * @param batchSize the number of requests answered by each task given to the executor
+     * @throws IllegalArgumentException if a parameter is not valid
+     */
+    public LongPollHub(Executor executor, ScheduledExecutorService scheduler, long timeout, TimeUnit unit,
+            int batchSize) {
+        if (executor == null || scheduler == null) {
+            throw new NullPointerException();
+        }
+        if (timeout <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format(lStrings.getString("err.config.invalid"),
+                    "timeout", String.valueOf(timeout)));
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(MessageFormat.format(lStrings.getString("err.config.invalid"),
+                    "batchSize", String.valueOf(batchSize)));
+        }
+        this.executor = executor;
+        this.timeout = unit.toNanos(timeout);
+        this.batchSize = batchSize;
+        // a tenth of the timeout, within bounds, is as late as a request is answered after its deadline
+        long tick = Math.max(MIN_TICK_MILLIS, Math.min(MAX_TICK_MILLIS, unit.toMillis(timeout) / 10));
+        this.sweeps = scheduler.scheduleAtFixedRate(this::sweep, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Parks a request on a topic until a message is published to it or the timeout expires. The request is put into
+     * asynchronous mode, if it is not already, and the calling thread returns at once.
+     *
+     * @param req the request
+     * @param resp the response, which must not have been committed
+     * @param topic the topic
+     * @throws IllegalStateException if the hub has been closed, or the request does not support asynchronous
+     *                               operation
+     */
+    public void park(HttpServletRequest req, HttpServletResponse resp, String topic) {
+        if (closed) {
+            throw new IllegalStateException(lStrings.getString("err.closed"));
+        }
+        AsyncContext asyncContext = req.isAsyncStarted() ? req.getAsyncContext() : req.startAsync(req, resp);
+        asyncContext.setTimeout(0);
+        ParkedRequest request = new ParkedRequest(this, topic, asyncContext, resp, System.nanoTime() + timeout);
+        asyncContext.addListener(request);
+        parked.incrementAndGet();
+        deadlines.offer(request);
+        enqueue(request);
+        if (closed && request.claim()) {
+            request.respond(HttpServletResponse.SC_SERVICE_UNAVAILABLE, null, null);
+        }
+    }
+
+    /**
+     * Answers every request waiting on a topic with a message.
+     *
+     * @param topic the topic
+     * @param contentType the content type of the message, or <code>null</code> to leave it unset
+     * @param payload the message, which is written as it is to every request and must not be changed afterwards
+     * @return the number of requests answered
+     */
+    public int publish(String topic, String contentType, byte[] payload) {
+        TopicQueue queue = topics.get(topic);
+        if (queue == null) {
+            return 0;
+        }
+        topics.remove(topic, queue);
+        List<ParkedRequest> claimed = new ArrayList<>();
+        for (ParkedRequest request : queue.detach()) {
+            if (request.claim()) {
+                claimed.add(request);
+            }
+        }
+        respond(claimed, HttpServletResponse.SC_OK, contentType, payload);
+        return claimed.size();
+    }
+
+    /**
+     * Returns the number of requests waiting for a message.
+     *
+     * @return the number of requests, on all topics
+     */
+    public int getParkedCount() {
+        return parked.get();
+    }
+
+    /**
+     * Stops the timeouts and answers every waiting request with <code>503 Service Unavailable</code>. No more
+     * requests can be parked.
+     */
+    public void close() {
+        closed = true;
+        sweeps.cancel(false);
+        List<ParkedRequest> claimed = new ArrayList<>();
+        ParkedRequest request;
+        while ((request = deadlines.poll()) != null) {
+            if (request.claim()) {
+                claimed.add(request);
+            }
+        }
+        topics.clear();
+        respond(claimed, HttpServletResponse.SC_SERVICE_UNAVAILABLE, null, null);
+    }
+
+    // file private
+    void claimed() {
+        parked.decrementAndGet();
+    }
+
+    /*
+     * Adds a request to the queue of its topic. A queue that has just been detached from the map, by a message or by
+     * a sweep, no longer takes requests, so the request goes to the queue that replaces it.
+     */
+    private void enqueue(ParkedRequest request) {
+        String topic = request.getTopic();
+        while (true) {
+            TopicQueue queue = topics.computeIfAbsent(topic, t -> new TopicQueue());
+            if (queue.add(request)) {
+                return;
+            }
+            // detached meanwhile: drop it from the map, if no one else has, and try again
+            topics.remove(topic, queue);
+        }
+    }
+
+    /*
+     * Answers the requests whose deadline has passed, and clears the requests answered since the last sweep out of
+     * their queues, which would otherwise keep them until the next message. The requests are ordered by deadline, so
+     * the sweep stops at the first that is not due.
+     */
+    private void sweep() {
+        long now = System.nanoTime();
+        List<ParkedRequest> expired = new ArrayList<>();
+        Set<String> touched = new HashSet<>();
+        ParkedRequest request;
+        while ((request = deadlines.peek()) != null && now - request.getDeadline() >= 0) {
+            deadlines.poll();
+            touched.add(request.getTopic());
+            if (request.claim()) {
+                expired.add(request);
+            }
+        }
+        respond(expired, HttpServletResponse.SC_NO_CONTENT, null, null);
+        for (String topic : touched) {
+            TopicQueue queue = topics.get(topic);
+            if (queue != null && queue.purge()) {
+                // the queue was left empty and has been detached; requests that raced into it are parked again
+                topics.remove(topic, queue);
+                for (ParkedRequest straggler : queue.detach()) {
+                    if (!straggler.isClaimed()) {
+                        enqueue(straggler);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Hands the requests to the executor, a batch per task.
+     */
+    private void respond(List<ParkedRequest> requests, final int status, final String contentType,
+            final byte[] payload) {
+        for (int i = 0; i < requests.size(); i += batchSize) {
+            final List<ParkedRequest> batch = requests.subList(i, Math.min(i + batchSize, requests.size()));
+            Runnable task = () -> {
+                for (ParkedRequest request : batch) {
+                    request.respond(status, contentType, payload);
+                }
+            };
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+    }
+
+    /*
+     * The requests waiting on one topic. Once detached, the queue takes no more requests: a request added while it is
+     * being detached either is taken with the others, or sees that the queue is detached and goes elsewhere.
+     */
+    private static final class TopicQueue {
+
+        private final Queue<ParkedRequest> requests = new ConcurrentLinkedQueue<>();
+        private volatile boolean detached;
+
+        boolean add(ParkedRequest request) {
+            requests.offer(request);
+            return !detached;
+        }
+
+        /*
+         * Detaches the queue and takes its requests. It may be called again, for the requests that were added while it
+         * was first called.
+         */
+        List<ParkedRequest> detach() {
+            detached = true;
+            List<ParkedRequest> taken = new ArrayList<>();
+            ParkedRequest request;
+            while ((request = requests.poll()) != null) {
+                taken.add(request);
+            }
+            return taken;
+        }
+
+        /*
+         * Drops the requests that have been answered, and detaches the queue if none is left.
+         */
+        boolean purge() {
+            requests.removeIf(ParkedRequest::isClaimed);
+            if (!requests.isEmpty()) {
+                return false;
+            }
+            detached = true;
+            return true;
+        }
+    }
+}
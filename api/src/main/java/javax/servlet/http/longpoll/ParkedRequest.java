@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.longpoll;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+
+/*
+ * A request parked on a topic. It is answered once, by whichever of a message, the timeout, the closing of the hub or
+ * the container ending the request claims it first; a request can sit in several queues meanwhile, of which all but
+ * the one that claims it simply drop it. The payload is written with a non-blocking write listener, so that a client
+ * that reads slowly holds no thread of the executor that answers the requests.
+ */
+// file private
+final class ParkedRequest implements AsyncListener, WriteListener {
+
+    /*
+     * The largest write made at once to the output stream, so that a large payload is not copied whole into the buffer
+     * of the container.
+     */
+    private static final int WRITE_CHUNK = 8192;
+
+    private final LongPollHub hub;
+    private final String topic;
+    private final AsyncContext asyncContext;
+    private final HttpServletResponse response;
+    private final long deadline;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private ServletOutputStream out;
+    private byte[] payload;
+    private int written;
+
+    ParkedRequest(LongPollHub hub, String topic, AsyncContext asyncContext, HttpServletResponse response,
+            long deadline) {
+        this.hub = hub;
+        this.topic = topic;
+        this.asyncContext = asyncContext;
+        this.response = response;
+        this.deadline = deadline;
+    }
+
+    // file private
+    String getTopic() {
+        return topic;
+    }
+
+    // file private
+    long getDeadline() {
+        return deadline;
+    }
+
+    // file private
+    boolean isClaimed() {
+        return claimed.get();
+    }
+
+    /*
+     * Returns whether the caller is the one to answer the request.
+     */
+    // file private
+    boolean claim() {
+        if (claimed.compareAndSet(false, true)) {
+            hub.claimed();
+            return true;
+        }
+        return false;
+    }
+
+    /*
+     * Answers the request, which the caller has claimed, and completes it once the payload has been written. A client
+     * that has gone away is ignored.
+     */
+    // file private
+    void respond(int status, String contentType, byte[] payload) {
+        try {
+            response.setStatus(status);
+            if (payload != null) {
+                if (contentType != null) {
+                    response.setContentType(contentType);
+                }
+                response.setContentLength(payload.length);
+                if (payload.length > 0) {
+                    this.payload = payload;
+                    out = response.getOutputStream();
+                    out.setWriteListener(this);
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // the client has gone away
+        }
+        complete();
+    }
+
+    @Override
+    public void onWritePossible() throws IOException {
+        while (out.isReady()) {
+            if (written == payload.length) {
+                complete();
+                return;
+            }
+            int len = Math.min(payload.length - written, WRITE_CHUNK);
+            out.write(payload, written, len);
+            written += len;
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        // the client has gone away
+        complete();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        claim();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        if (claim()) {
+            respond(HttpServletResponse.SC_NO_CONTENT, null, null);
+        }
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        claim();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    private void complete() {
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // already completed by the container
+        }
+    }
+}
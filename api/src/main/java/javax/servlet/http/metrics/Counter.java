@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A counter that only goes up. Updates take no lock and scale with the number of threads updating it.
+ *
+ * @since Servlet 4.0.4
+ */
+public final class Counter extends Metric {
+
+    private final LongAdder value = new LongAdder();
+
+    // file private
+    Counter(String name, String labels) {
+        super(name, labels);
+    }
+
+    /**
+     * Adds one to the counter.
+     */
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * Adds the given amount to the counter.
+     *
+     * @param amount the amount to add, which must not be negative
+     */
+    public void add(long amount) {
+        if (amount > 0) {
+            value.add(amount);
+        }
+    }
+
+    /**
+     * Returns the current value.
+     *
+     * @return the value
+     */
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    void writeTo(ExpositionWriter writer) throws IOException {
+        writer.write(series);
+        writer.write(' ');
+        writer.writeLong(value.sum());
+        writer.write('\n');
+    }
+}
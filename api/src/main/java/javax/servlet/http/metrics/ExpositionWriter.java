@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Writes the Prometheus text format into a fixed byte buffer that is drained to the output stream whenever it fills
+ * up. Names and labels are encoded once, when a series is created, so rendering only copies bytes and formats
+ * numbers digit by digit; a scrape creates no strings. One writer is kept per thread and reused for every scrape.
+ */
+// file private
+final class ExpositionWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final ThreadLocal<ExpositionWriter> WRITERS = new ThreadLocal<ExpositionWriter>() {
+        @Override
+        protected ExpositionWriter initialValue() {
+            return new ExpositionWriter();
+        }
+    };
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final byte[] digits = new byte[20];
+    private int pos;
+    private OutputStream out;
+
+    private ExpositionWriter() {
+    }
+
+    // file private
+    static ExpositionWriter get(OutputStream out) {
+        ExpositionWriter writer = WRITERS.get();
+        writer.out = out;
+        writer.pos = 0;
+        return writer;
+    }
+
+    // file private
+    void write(byte[] b) throws IOException {
+        int len = b.length;
+        if (len > buffer.length - pos) {
+            drain();
+            if (len > buffer.length) {
+                out.write(b, 0, len);
+                return;
+            }
+        }
+        System.arraycopy(b, 0, buffer, pos, len);
+        pos += len;
+    }
+
+    // file private
+    void write(int b) throws IOException {
+        if (pos == buffer.length) {
+            drain();
+        }
+        buffer[pos++] = (byte) b;
+    }
+
+    // file private
+    void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            write('-');
+            value = -value;
+        }
+        int n = 0;
+        do {
+            digits[n++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (n > 0) {
+            write(digits[--n]);
+        }
+    }
+
+    /*
+     * Writes a number of nanoseconds as a decimal number of seconds, without trailing zeros.
+     */
+    // file private
+    void writeSeconds(long nanos) throws IOException {
+        if (nanos < 0) {
+            write('-');
+            nanos = -nanos;
+        }
+        writeLong(nanos / 1000000000L);
+        long fraction = nanos % 1000000000L;
+        if (fraction == 0) {
+            return;
+        }
+        int width = 9;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            width--;
+        }
+        write('.');
+        for (long scale = pow10(width - 1); scale > fraction; scale /= 10) {
+            write('0');
+        }
+        writeLong(fraction);
+    }
+
+    // file private
+    void finish() throws IOException {
+        drain();
+        out.flush();
+        out = null;
+    }
+
+    /*
+     * The same formatting as writeSeconds, used once when a series is created.
+     */
+    // file private
+    static String formatSeconds(long nanos) {
+        String fraction = Long.toString(1000000000L + Math.abs(nanos) % 1000000000L).substring(1).replaceAll("0+$", "");
+        String seconds = (nanos < 0 ? "-" : "") + Math.abs(nanos) / 1000000000L;
+        return fraction.isEmpty() ? seconds : seconds + "." + fraction;
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    private void drain() throws IOException {
+        if (pos > 0) {
+            out.write(buffer, 0, pos);
+            pos = 0;
+        }
+    }
+}
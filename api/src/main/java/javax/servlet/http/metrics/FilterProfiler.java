@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterRegistration;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+
+/**
+ * <p>
+ * An opt-in profiler that attributes the time spent in the filter chain to the individual filters. Filters registered
+ * through {@link #addFilter(String, Filter)} or {@link #addFilter(String, Class)} are wrapped so that, for a sample of
+ * the requests passing through them, the time between entering the filter and leaving it is split into the time spent
+ * further down the chain, inside {@link javax.servlet.FilterChain#doFilter}, and the time spent in the filter itself.
+ * Timings are kept separately for each filter name and {@link DispatcherType}, so that the passes of a request through
+ * a filter for an asynchronous dispatch, a forward or an error page are told apart from the original one.
+ * </p>
+ *
+ * <p>
+ * One request in <code>sampleRate</code> is timed, chosen at random by each filter independently; the others pay only
+ * for the random draw. When a filter returns with the request in asynchronous mode, the time measured ends there: the
+ * work done later on other threads is measured by the pass of the request through the filter for the
+ * <code>ASYNC</code> dispatch, if the filter is mapped for it. The number of such returns is counted.
+ * </p>
+ *
+ * <p>
+ * A profiler created with a sample rate of 0 is disabled: it registers filters without wrapping them. This lets an
+ * application always register its filters through the profiler and switch profiling on by configuration. An enabled
+ * profiler publishes itself as a servlet context attribute named after this class.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public final class FilterProfiler {
+
+    /**
+     * The name of the servlet context attribute holding an enabled profiler.
+     */
+    public static final String PROFILER_ATTRIBUTE = FilterProfiler.class.getName();
+
+    private static final DispatcherType[] TYPES = DispatcherType.values();
+
+    private final ServletContext context;
+    private final int sampleRate;
+    private final ConcurrentHashMap<String, FilterTimings[]> timings = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a profiler for the filters of the given context.
+     *
+     * @param context    the servlet context whose filters are profiled
+     * @param sampleRate time one request in this many, 1 to time all of them, or 0 to disable profiling
+     * @throws IllegalArgumentException if the sample rate is negative
+     */
+    public FilterProfiler(ServletContext context, int sampleRate) {
+        if (sampleRate < 0) {
+            throw new IllegalArgumentException(Integer.toString(sampleRate));
+        }
+        this.context = context;
+        this.sampleRate = sampleRate;
+        if (sampleRate > 0) {
+            context.setAttribute(PROFILER_ATTRIBUTE, this);
+        }
+    }
+
+    /**
+     * Registers the given filter instance with the servlet context, wrapped for profiling if the profiler is enabled.
+     * The returned registration is used to map the filter as usual.
+     *
+     * @param filterName the name of the filter
+     * @param filter     the filter instance
+     * @return the registration, or <code>null</code> if a filter of that name is already registered
+     * @see ServletContext#addFilter(String, Filter)
+     */
+    public FilterRegistration.Dynamic addFilter(String filterName, Filter filter) {
+        if (sampleRate == 0) {
+            return context.addFilter(filterName, filter);
+        }
+        return context.addFilter(filterName, new ProfilingFilter(this, filterName, filter));
+    }
+
+    /**
+     * Instantiates the given filter class with {@link ServletContext#createFilter(Class)}, so that it receives resource
+     * injection, and registers the instance as {@link #addFilter(String, Filter)} does.
+     *
+     * @param filterName  the name of the filter
+     * @param filterClass the class of the filter
+     * @return the registration, or <code>null</code> if a filter of that name is already registered
+     * @throws ServletException if the class could not be instantiated
+     * @see ServletContext#addFilter(String, Class)
+     */
+    public FilterRegistration.Dynamic addFilter(String filterName, Class<? extends Filter> filterClass)
+            throws ServletException {
+        if (sampleRate == 0) {
+            return context.addFilter(filterName, filterClass);
+        }
+        return addFilter(filterName, context.createFilter(filterClass));
+    }
+
+    /**
+     * Returns the sample rate.
+     *
+     * @return the number of requests per timed request, or 0 if profiling is disabled
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Returns snapshots of the timings of the profiled filters, grouped by dispatcher type and then keyed by filter
+     * name. Filters not yet timed for a dispatcher type are left out of its group.
+     *
+     * @return the snapshots
+     */
+    public Map<DispatcherType, Map<String, FilterTimingSnapshot>> snapshot() {
+        Map<DispatcherType, Map<String, FilterTimingSnapshot>> snapshots = new EnumMap<>(DispatcherType.class);
+        for (DispatcherType type : TYPES) {
+            Map<String, FilterTimingSnapshot> byName = new LinkedHashMap<>();
+            for (Map.Entry<String, FilterTimings[]> e : timings.entrySet()) {
+                FilterTimings t = e.getValue()[type.ordinal()];
+                if (t.hasSamples()) {
+                    byName.put(e.getKey(), t.snapshot(e.getKey(), type, sampleRate));
+                }
+            }
+            if (!byName.isEmpty()) {
+                snapshots.put(type, byName);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Discards the timings collected so far.
+     */
+    public void reset() {
+        for (Map.Entry<String, FilterTimings[]> e : timings.entrySet()) {
+            timings.replace(e.getKey(), e.getValue(), newTimings());
+        }
+    }
+
+    // file private
+    boolean sample() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    // file private
+    void record(String filterName, DispatcherType type, long totalNanos, long downstreamNanos, boolean async) {
+        FilterTimings[] byType = timings.get(filterName);
+        if (byType == null) {
+            byType = timings.computeIfAbsent(filterName, k -> newTimings());
+        }
+        byType[type.ordinal()].record(totalNanos, downstreamNanos, async);
+    }
+
+    private static FilterTimings[] newTimings() {
+        FilterTimings[] byType = new FilterTimings[TYPES.length];
+        for (int i = 0; i < byType.length; i++) {
+            byType[i] = new FilterTimings();
+        }
+        return byType;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import javax.servlet.DispatcherType;
+
+/**
+ * An immutable snapshot of the timings collected by a {@link FilterProfiler} for one filter and dispatcher type. All
+ * times are in nanoseconds and cover the timed requests only; multiply by the sample rate to estimate totals for all
+ * requests.
+ *
+ * @since Servlet 4.0.4
+ */
+public final class FilterTimingSnapshot {
+
+    private final String filterName;
+    private final DispatcherType dispatcherType;
+    private final int sampleRate;
+    private final long sampleCount;
+    private final long selfNanos;
+    private final long downstreamNanos;
+    private final long asyncReturnCount;
+    private final HistogramSnapshot selfHistogram;
+
+    // file private
+    FilterTimingSnapshot(String filterName, DispatcherType dispatcherType, int sampleRate, long sampleCount,
+            long selfNanos, long downstreamNanos, long asyncReturnCount, HistogramSnapshot selfHistogram) {
+        this.filterName = filterName;
+        this.dispatcherType = dispatcherType;
+        this.sampleRate = sampleRate;
+        this.sampleCount = sampleCount;
+        this.selfNanos = selfNanos;
+        this.downstreamNanos = downstreamNanos;
+        this.asyncReturnCount = asyncReturnCount;
+        this.selfHistogram = selfHistogram;
+    }
+
+    /**
+     * Returns the name of the filter.
+     *
+     * @return the filter name
+     */
+    public String getFilterName() {
+        return filterName;
+    }
+
+    /**
+     * Returns the dispatcher type of the requests timed.
+     *
+     * @return the dispatcher type
+     */
+    public DispatcherType getDispatcherType() {
+        return dispatcherType;
+    }
+
+    /**
+     * Returns the number of requests per timed request.
+     *
+     * @return the sample rate
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Returns the number of requests timed.
+     *
+     * @return the sample count
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Returns the total time spent in the filter itself, excluding the rest of the chain.
+     *
+     * @return the self time in nanoseconds
+     */
+    public long getSelfNanos() {
+        return selfNanos;
+    }
+
+    /**
+     * Returns the total time spent in the rest of the chain, below the filter.
+     *
+     * @return the downstream time in nanoseconds
+     */
+    public long getDownstreamNanos() {
+        return downstreamNanos;
+    }
+
+    /**
+     * Returns the number of timed requests that were in asynchronous mode when the filter returned, and whose timing
+     * therefore stops short of the end of the request.
+     *
+     * @return the count of asynchronous returns
+     */
+    public long getAsyncReturnCount() {
+        return asyncReturnCount;
+    }
+
+    /**
+     * Returns the distribution of the time spent in the filter itself.
+     *
+     * @return the self time histogram
+     */
+    public HistogramSnapshot getSelfHistogram() {
+        return selfHistogram;
+    }
+
+    /**
+     * Returns the mean time spent in the filter itself per request.
+     *
+     * @return the mean self time in nanoseconds, or 0 if no request was timed
+     */
+    public double getMeanSelfNanos() {
+        return sampleCount == 0 ? 0 : (double) selfNanos / sampleCount;
+    }
+
+    /**
+     * Returns the fraction of the time between entering and leaving the filter that was spent in the filter itself.
+     *
+     * @return the self time divided by the total time, or 0 if no time was measured
+     */
+    public double getSelfRatio() {
+        long total = selfNanos + downstreamNanos;
+        return total == 0 ? 0 : (double) selfNanos / total;
+    }
+
+    @Override
+    public String toString() {
+        return "FilterTimingSnapshot[filterName=" + filterName + ", dispatcherType=" + dispatcherType + ", sampleCount="
+                + sampleCount + ", meanSelfNanos=" + getMeanSelfNanos() + ", selfRatio=" + getSelfRatio()
+                + ", asyncReturnCount=" + asyncReturnCount + "]";
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.DispatcherType;
+
+/*
+ * The timings of one filter for one dispatcher type.
+ */
+// file private
+final class FilterTimings {
+
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder selfNanos = new LongAdder();
+    private final LongAdder downstreamNanos = new LongAdder();
+    private final LongAdder asyncReturns = new LongAdder();
+    private final LatencyHistogram self = new LatencyHistogram();
+
+    // file private
+    void record(long totalNanos, long downstream, boolean async) {
+        long selfTime = Math.max(0, totalNanos - downstream);
+        samples.increment();
+        selfNanos.add(selfTime);
+        downstreamNanos.add(downstream);
+        if (async) {
+            asyncReturns.increment();
+        }
+        self.record(selfTime);
+    }
+
+    // file private
+    boolean hasSamples() {
+        return samples.sum() > 0;
+    }
+
+    // file private
+    FilterTimingSnapshot snapshot(String filterName, DispatcherType type, int sampleRate) {
+        return new FilterTimingSnapshot(filterName, type, sampleRate, samples.sum(), selfNanos.sum(),
+                downstreamNanos.sum(), asyncReturns.sum(), self.snapshot());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A value that goes up and down, such as the number of requests in progress.
+ *
+ * @since Servlet 4.0.4
+ */
+public final class Gauge extends Metric {
+
+    private final AtomicLong value = new AtomicLong();
+
+    // file private
+    Gauge(String name, String labels) {
+        super(name, labels);
+    }
+
+    /**
+     * Adds one to the gauge.
+     */
+    public void increment() {
+        value.incrementAndGet();
+    }
+
+    /**
+     * Subtracts one from the gauge.
+     */
+    public void decrement() {
+        value.decrementAndGet();
+    }
+
+    /**
+     * Sets the gauge.
+     *
+     * @param newValue the new value
+     */
+    public void set(long newValue) {
+        value.set(newValue);
+    }
+
+    /**
+     * Returns the current value.
+     *
+     * @return the value
+     */
+    public long get() {
+        return value.get();
+    }
+
+    @Override
+    void writeTo(ExpositionWriter writer) throws IOException {
+        writer.write(series);
+        writer.write(' ');
+        writer.writeLong(value.get());
+        writer.write('\n');
+    }
+}
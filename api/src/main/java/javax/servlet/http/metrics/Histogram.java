@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations with fixed bucket boundaries, exposed in seconds as a Prometheus histogram. Durations are
+ * recorded in nanoseconds; recording takes no lock and allocates nothing.
+ *
+ * <p>
+ * Unlike a {@link LatencyHistogram}, which keeps enough buckets to answer any percentile, this histogram keeps only
+ * the few buckets that are exposed, so that thousands of them can be rendered on every scrape.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public final class Histogram extends Metric {
+
+    private final long[] bounds;
+    private final AtomicLongArray counts;
+    private final LongAdder sum = new LongAdder();
+
+    private final byte[] bucketPrefix;
+    private final byte[][] bucketSuffixes;
+    private final byte[] sumSeries;
+    private final byte[] countSeries;
+
+    // file private
+    Histogram(String name, String labels, long[] bounds) {
+        super(name, labels);
+        this.bounds = bounds;
+        this.counts = new AtomicLongArray(bounds.length + 1);
+        String separator = labels.isEmpty() ? "" : labels + ",";
+        this.bucketPrefix = (name + "_bucket{" + separator + "le=\"").getBytes(StandardCharsets.UTF_8);
+        this.bucketSuffixes = new byte[bounds.length + 1][];
+        for (int i = 0; i < bounds.length; i++) {
+            bucketSuffixes[i] = (ExpositionWriter.formatSeconds(bounds[i]) + "\"} ").getBytes(StandardCharsets.UTF_8);
+        }
+        bucketSuffixes[bounds.length] = "+Inf\"} ".getBytes(StandardCharsets.UTF_8);
+        String braced = labels.isEmpty() ? "" : "{" + labels + "}";
+        this.sumSeries = (name + "_sum" + braced + " ").getBytes(StandardCharsets.UTF_8);
+        this.countSeries = (name + "_count" + braced + " ").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Records a duration. Negative values are recorded as 0.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int index = Arrays.binarySearch(bounds, value);
+        counts.incrementAndGet(index >= 0 ? index : -index - 1);
+        sum.add(value);
+    }
+
+    /**
+     * Returns the number of durations recorded.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    @Override
+    void writeTo(ExpositionWriter writer) throws IOException {
+        long cumulative = 0;
+        for (int i = 0; i < bucketSuffixes.length; i++) {
+            cumulative += counts.get(i);
+            writer.write(bucketPrefix);
+            writer.write(bucketSuffixes[i]);
+            writer.writeLong(cumulative);
+            writer.write('\n');
+        }
+        writer.write(sumSeries);
+        writer.writeSeconds(sum.sum());
+        writer.write('\n');
+        writer.write(countSeries);
+        writer.writeLong(cumulative);
+        writer.write('\n');
+    }
+}
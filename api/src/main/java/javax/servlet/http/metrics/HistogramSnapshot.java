@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+/**
+ * An immutable copy of the counts of a {@link LatencyHistogram}. All values are in nanoseconds.
+ *
+ * @since Servlet 4.0.4
+ */
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    // file private
+    HistogramSnapshot(long[] counts, long count, long sum, long max) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of the values recorded.
+     *
+     * @return the sum in nanoseconds
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return the maximum in nanoseconds, or 0 if no value was recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the values recorded.
+     *
+     * @return the mean in nanoseconds, or 0 if no value was recorded
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values fall. The result is the upper bound of
+     * the bucket holding that value, so it overstates the true value by at most about 3%, and never exceeds the
+     * largest value recorded.
+     *
+     * @param percentile the percentage, between 0 and 100
+     * @return the value at the percentile in nanoseconds, or 0 if no value was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        double p = Math.max(0, Math.min(100, percentile));
+        long rank = Math.max(1, (long) Math.ceil(p / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, LatencyHistogram.highestValueAt(i));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the number of recorded values that are less than or equal to the given value. Since values are only
+     * known to within their bucket, a value is counted if its bucket lies entirely at or below the given value.
+     *
+     * @param nanos the upper bound in nanoseconds
+     * @return the cumulative count
+     */
+    public long getCountAtOrBelow(long nanos) {
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (LatencyHistogram.highestValueAt(i) > nanos) {
+                break;
+            }
+            total += counts[i];
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot[count=" + count + ", mean=" + getMean() + ", p50=" + getValueAtPercentile(50)
+                + ", p99=" + getValueAtPercentile(99) + ", max=" + max + "]";
+    }
+}
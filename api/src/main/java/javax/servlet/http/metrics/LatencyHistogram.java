@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * A histogram of durations in nanoseconds with logarithmic buckets, in the manner of HdrHistogram. Each power of two
+ * is split into 32 linear sub-buckets, so that every recorded value is known to within about 3% whatever its
+ * magnitude, from a nanosecond up to the largest value tracked, 2<sup>40</sup> nanoseconds (a little over 18 minutes).
+ * Larger values are counted in the last bucket.
+ * </p>
+ *
+ * <p>
+ * Recording takes no lock and allocates nothing: it increments one element of an atomic array. Any number of threads
+ * may record concurrently, and {@link #snapshot()} may be called at any time to copy the counts, which costs about as
+ * much as copying a ten kilobyte array. A snapshot taken while values are being recorded may count a value in its
+ * bucket but not yet in the total, or the reverse.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public final class LatencyHistogram {
+
+    // file private
+    static final int SUB_BUCKET_BITS = 5;
+    // file private
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // file private
+    static final int MAX_EXPONENT = 40;
+    // file private
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration. Negative values are recorded as 0.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        sum.add(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Returns a copy of the current counts.
+     *
+     * @return a snapshot of the histogram
+     */
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = counts.get(i);
+            copy[i] = c;
+            count += c;
+        }
+        return new HistogramSnapshot(copy, count, sum.sum(), max.get());
+    }
+
+    /*
+     * Values below SUB_BUCKET_COUNT have a bucket each; above that, the exponent selects a group of SUB_BUCKET_COUNT
+     * buckets and the bits following the leading one select the bucket within the group.
+     */
+    // file private
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + sub;
+    }
+
+    /*
+     * The smallest value counted in the bucket.
+     */
+    // file private
+    static long lowestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long sub = index % SUB_BUCKET_COUNT;
+        return (SUB_BUCKET_COUNT + sub) << shift;
+    }
+
+    /*
+     * The largest value counted in the bucket.
+     */
+    // file private
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        if (index == BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        return lowestValueAt(index) + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.MappingMatch;
+
+/**
+ * The latency histograms kept by a {@link RequestLatencyListener}, one for each servlet mapping pattern and kind of
+ * match. Requests are grouped by the pattern they matched rather than by their URI, so that the number of histograms
+ * stays bounded by the number of mappings of the application.
+ *
+ * @since Servlet 4.0.4
+ */
+public final class LatencyHistograms {
+
+    private static final MappingMatch[] MATCHES = MappingMatch.values();
+
+    /*
+     * One map per kind of match, so that finding the histogram of a request needs no composite key.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private final ConcurrentHashMap<String, LatencyHistogram>[] histograms = new ConcurrentHashMap[MATCHES.length + 1];
+
+    /**
+     * Creates an empty set of histograms.
+     */
+    public LatencyHistograms() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Returns the histogram for the given mapping, creating it if needed.
+     *
+     * @param match   the kind of match, or <code>null</code> if the container did not report one
+     * @param pattern the mapping pattern, as returned by {@link javax.servlet.http.HttpServletMapping#getPattern()}
+     * @return the histogram
+     */
+    public LatencyHistogram get(MappingMatch match, String pattern) {
+        ConcurrentHashMap<String, LatencyHistogram> byPattern = histograms[match == null ? MATCHES.length
+                : match.ordinal()];
+        String key = pattern == null ? "" : pattern;
+        LatencyHistogram histogram = byPattern.get(key);
+        if (histogram == null) {
+            histogram = byPattern.computeIfAbsent(key, k -> new LatencyHistogram());
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns snapshots of all the histograms, grouped by kind of match and then keyed by pattern. Mappings for which
+     * the container did not report a kind of match are left out.
+     *
+     * @return the snapshots
+     */
+    public Map<MappingMatch, Map<String, HistogramSnapshot>> snapshot() {
+        Map<MappingMatch, Map<String, HistogramSnapshot>> snapshots = new EnumMap<>(MappingMatch.class);
+        for (MappingMatch match : MATCHES) {
+            ConcurrentHashMap<String, LatencyHistogram> byPattern = histograms[match.ordinal()];
+            if (byPattern.isEmpty()) {
+                continue;
+            }
+            Map<String, HistogramSnapshot> copies = new LinkedHashMap<>();
+            for (Map.Entry<String, LatencyHistogram> e : byPattern.entrySet()) {
+                copies.put(e.getKey(), e.getValue().snapshot());
+            }
+            snapshots.put(match, copies);
+        }
+        return snapshots;
+    }
+
+    /**
+     * Discards all histograms.
+     */
+    public void clear() {
+        for (ConcurrentHashMap<String, LatencyHistogram> byPattern : histograms) {
+            byPattern.clear();
+        }
+    }
+}
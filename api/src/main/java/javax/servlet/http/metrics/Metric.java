@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A single time series of a {@link MetricFamily}: the metric for one combination of label values.
+ *
+ * @since Servlet 4.0.4
+ */
+public abstract class Metric {
+
+    /*
+     * The series name followed by its labels, e.g. name{a="1",b="2"}, ready to be copied into the output.
+     */
+    // file private
+    final byte[] series;
+
+    /*
+     * The labels alone, without braces, e.g. a="1",b="2", for metrics that add a label of their own.
+     */
+    // file private
+    final String labels;
+
+    // file private
+    Metric(String name, String labels) {
+        this.labels = labels;
+        this.series = (labels.isEmpty() ? name : name + "{" + labels + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    // file private
+    abstract void writeTo(ExpositionWriter writer) throws IOException;
+}
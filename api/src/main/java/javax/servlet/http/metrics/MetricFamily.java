@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A named metric with a fixed set of label names, made of one {@link Metric} per combination of label values.
+ *
+ * <p>
+ * Looking up a series with {@link #labels(String...)} costs a hash lookup; code on a hot path should look the series
+ * up once and keep it.
+ * </p>
+ *
+ * @param <T> the type of the series
+ * @since Servlet 4.0.4
+ */
+public final class MetricFamily<T extends Metric> {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.metrics.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    /*
+     * Creates the series of a family given the family name and the encoded labels.
+     */
+    // file private
+    interface Factory<T extends Metric> {
+        T create(String name, String labels);
+    }
+
+    private final String name;
+    private final String type;
+    private final String[] labelNames;
+    private final Factory<T> factory;
+    private final byte[] header;
+    private final ConcurrentHashMap<String, T> series = new ConcurrentHashMap<>();
+
+    // file private
+    MetricFamily(String name, String help, String type, String[] labelNames, Factory<T> factory) {
+        this.name = name;
+        this.type = type;
+        this.labelNames = labelNames.clone();
+        this.factory = factory;
+        this.header = ("# HELP " + name + " " + escapeHelp(help) + "\n# TYPE " + name + " " + type + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the name of the metric.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the series for the given label values, creating it if needed.
+     *
+     * @param labelValues the values of the labels, in the order of the label names
+     * @return the series
+     * @throws IllegalArgumentException if the number of values does not match the number of label names
+     */
+    public T labels(String... labelValues) {
+        if (labelValues.length != labelNames.length) {
+            throw new IllegalArgumentException(MessageFormat.format(lStrings.getString("err.metric.labels"), name,
+                    Integer.valueOf(labelNames.length), Integer.valueOf(labelValues.length)));
+        }
+        String key = labelValues.length == 1 ? labelValues[0] : String.join("\u0000", labelValues);
+        T metric = series.get(key);
+        if (metric == null) {
+            metric = series.computeIfAbsent(key, k -> factory.create(name, encodeLabels(labelValues)));
+        }
+        return metric;
+    }
+
+    /**
+     * Removes the series for the given label values, if it exists.
+     *
+     * @param labelValues the values of the labels, in the order of the label names
+     */
+    public void remove(String... labelValues) {
+        series.remove(labelValues.length == 1 ? labelValues[0] : String.join("\u0000", labelValues));
+    }
+
+    // file private
+    boolean matches(String otherType, String[] otherLabelNames) {
+        return type.equals(otherType) && Arrays.equals(labelNames, otherLabelNames);
+    }
+
+    // file private
+    void writeTo(ExpositionWriter writer) throws IOException {
+        if (series.isEmpty()) {
+            return;
+        }
+        writer.write(header);
+        for (T metric : series.values()) {
+            metric.writeTo(writer);
+        }
+    }
+
+    private String encodeLabels(String[] labelValues) {
+        StringBuilder labels = new StringBuilder();
+        for (int i = 0; i < labelNames.length; i++) {
+            if (i > 0) {
+                labels.append(',');
+            }
+            labels.append(labelNames[i]).append("=\"");
+            String value = labelValues[i] == null ? "" : labelValues[i];
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                if (c == '\\' || c == '"') {
+                    labels.append('\\').append(c);
+                } else if (c == '\n') {
+                    labels.append("\\n");
+                } else {
+                    labels.append(c);
+                }
+            }
+            labels.append('"');
+        }
+        return labels.toString();
+    }
+
+    private static String escapeHelp(String help) {
+        return help == null ? "" : help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
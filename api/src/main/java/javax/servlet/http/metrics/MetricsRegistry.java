@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.servlet.ServletContext;
+
+/**
+ * <p>
+ * A set of metric families that can be rendered in the Prometheus text exposition format. Families are registered
+ * once, usually at startup, and rendered in the order of registration.
+ * </p>
+ *
+ * <p>
+ * Rendering streams straight into the given output stream through a small buffer that is reused from one scrape to
+ * the next; the names and labels of every series are encoded when the series is created, so that a scrape only
+ * copies bytes and formats numbers.
+ * </p>
+ *
+ * <p>
+ * The components of this package share the registry of a web application, found with {@link #get(ServletContext)}.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public final class MetricsRegistry {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.metrics.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    /**
+     * The name of the servlet context attribute holding the registry of a web application.
+     */
+    public static final String REGISTRY_ATTRIBUTE = MetricsRegistry.class.getName();
+
+    /*
+     * The default bucket boundaries of histograms, in milliseconds.
+     */
+    private static final long[] DEFAULT_BOUNDS = { 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private static final Pattern LABEL_NAME = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
+    private final ConcurrentHashMap<String, MetricFamily<?>> byName = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<MetricFamily<?>> families = new CopyOnWriteArrayList<>();
+
+    /**
+     * Returns the registry of the given web application, creating it if needed.
+     *
+     * @param context the servlet context of the web application
+     * @return the registry
+     */
+    public static MetricsRegistry get(ServletContext context) {
+        Object registry = context.getAttribute(REGISTRY_ATTRIBUTE);
+        if (registry instanceof MetricsRegistry) {
+            return (MetricsRegistry) registry;
+        }
+        synchronized (MetricsRegistry.class) {
+            registry = context.getAttribute(REGISTRY_ATTRIBUTE);
+            if (!(registry instanceof MetricsRegistry)) {
+                registry = new MetricsRegistry();
+                context.setAttribute(REGISTRY_ATTRIBUTE, registry);
+            }
+            return (MetricsRegistry) registry;
+        }
+    }
+
+    /**
+     * Registers a counter, or returns the counter already registered under the name.
+     *
+     * @param name       the name of the metric
+     * @param help       a description of the metric
+     * @param labelNames the names of the labels
+     * @return the counter family
+     * @throws IllegalArgumentException if a name is not valid, or if the name is already registered with another type
+     *                                  or other labels
+     */
+    public MetricFamily<Counter> counter(String name, String help, String... labelNames) {
+        return register(name, help, "counter", labelNames, Counter::new);
+    }
+
+    /**
+     * Registers a gauge, or returns the gauge already registered under the name.
+     *
+     * @param name       the name of the metric
+     * @param help       a description of the metric
+     * @param labelNames the names of the labels
+     * @return the gauge family
+     * @throws IllegalArgumentException if a name is not valid, or if the name is already registered with another type
+     *                                  or other labels
+     */
+    public MetricFamily<Gauge> gauge(String name, String help, String... labelNames) {
+        return register(name, help, "gauge", labelNames, Gauge::new);
+    }
+
+    /**
+     * Registers a histogram of durations with the default buckets, from 5 milliseconds to 10 seconds, or returns the
+     * histogram already registered under the name.
+     *
+     * @param name       the name of the metric, which by convention ends in <code>_seconds</code>
+     * @param help       a description of the metric
+     * @param labelNames the names of the labels
+     * @return the histogram family
+     * @throws IllegalArgumentException if a name is not valid, or if the name is already registered with another type
+     *                                  or other labels
+     */
+    public MetricFamily<Histogram> histogram(String name, String help, String... labelNames) {
+        long[] bounds = new long[DEFAULT_BOUNDS.length];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = TimeUnit.MILLISECONDS.toNanos(DEFAULT_BOUNDS[i]);
+        }
+        return histogram(name, help, bounds, labelNames);
+    }
+
+    /**
+     * Registers a histogram of durations with the given buckets, or returns the histogram already registered under the
+     * name.
+     *
+     * @param name       the name of the metric, which by convention ends in <code>_seconds</code>
+     * @param help       a description of the metric
+     * @param bounds     the upper bounds of the buckets in nanoseconds, in increasing order
+     * @param labelNames the names of the labels
+     * @return the histogram family
+     * @throws IllegalArgumentException if a name is not valid, if the bounds are not increasing, or if the name is
+     *                                  already registered with another type or other labels
+     */
+    public MetricFamily<Histogram> histogram(String name, String help, long[] bounds, String... labelNames) {
+        final long[] copy = bounds.clone();
+        for (int i = 1; i < copy.length; i++) {
+            if (copy[i] <= copy[i - 1]) {
+                throw new IllegalArgumentException(Long.toString(copy[i]));
+            }
+        }
+        return register(name, help, "histogram", labelNames, (n, labels) -> new Histogram(n, labels, copy));
+    }
+
+    /**
+     * Removes the metric registered under the given name, if any.
+     *
+     * @param name the name of the metric
+     */
+    public void unregister(String name) {
+        MetricFamily<?> family = byName.remove(name);
+        if (family != null) {
+            families.remove(family);
+        }
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text exposition format, version 0.0.4, and flushes the stream.
+     *
+     * @param out the stream to write to
+     * @throws IOException if an input or output error occurs
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        ExpositionWriter writer = ExpositionWriter.get(out);
+        for (MetricFamily<?> family : families) {
+            family.writeTo(writer);
+        }
+        writer.finish();
+    }
+
+    private <T extends Metric> MetricFamily<T> register(String name, String help, String type, String[] labelNames,
+            MetricFamily.Factory<T> factory) {
+        checkName(NAME, name);
+        for (String labelName : labelNames) {
+            checkName(LABEL_NAME, labelName);
+        }
+        MetricFamily<?> existing = byName.get(name);
+        if (existing == null) {
+            synchronized (this) {
+                existing = byName.get(name);
+                if (existing == null) {
+                    MetricFamily<T> family = new MetricFamily<>(name, help, type, labelNames, factory);
+                    families.add(family);
+                    byName.put(name, family);
+                    return family;
+                }
+            }
+        }
+        if (!existing.matches(type, labelNames)) {
+            throw new IllegalArgumentException(MessageFormat.format(lStrings.getString("err.metric.conflict"), name));
+        }
+        @SuppressWarnings("unchecked")
+        MetricFamily<T> family = (MetricFamily<T>) existing;
+        return family;
+    }
+
+    private static void checkName(Pattern pattern, String name) {
+        if (name == null || !pattern.matcher(name).matches()) {
+            throw new IllegalArgumentException(MessageFormat.format(lStrings.getString("err.metric.name"), name));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.io.IOException;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+/*
+ * Wraps a filter registered through a FilterProfiler. Unsampled requests go straight to the filter with the original
+ * chain; sampled ones get a chain that measures the time spent below the filter.
+ */
+// file private
+final class ProfilingFilter implements Filter {
+
+    private final FilterProfiler profiler;
+    private final String filterName;
+    private final Filter filter;
+
+    // file private
+    ProfilingFilter(FilterProfiler profiler, String filterName, Filter filter) {
+        this.profiler = profiler;
+        this.filterName = filterName;
+        this.filter = filter;
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        filter.init(filterConfig);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!profiler.sample()) {
+            filter.doFilter(request, response, chain);
+            return;
+        }
+        TimingChain timingChain = new TimingChain(chain);
+        long start = System.nanoTime();
+        try {
+            filter.doFilter(request, response, timingChain);
+        } finally {
+            long total = System.nanoTime() - start;
+            profiler.record(filterName, request.getDispatcherType(), total, timingChain.elapsed,
+                    request.isAsyncStarted());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        filter.destroy();
+    }
+
+    /*
+     * Accumulates the time spent in the rest of the chain, however many times the filter invokes it.
+     */
+    private static final class TimingChain implements FilterChain {
+
+        private final FilterChain chain;
+        private long elapsed;
+
+        TimingChain(FilterChain chain) {
+            this.chain = chain;
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+            long start = System.nanoTime();
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                elapsed += System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * <p>
+ * A servlet that renders the {@link MetricsRegistry} of the web application in the Prometheus text exposition format,
+ * for scraping by a Prometheus server or any other collector that understands the format. The metrics are streamed
+ * into the response through a reused buffer, without building the page in memory.
+ * </p>
+ *
+ * <p>
+ * The servlet applies no access control of its own; it should be mapped to a URL that is protected by a security
+ * constraint or not exposed publicly.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class PrometheusServlet extends HttpServlet {
+
+    private static final long serialVersionUID = -3160245187325816307L;
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private transient MetricsRegistry registry;
+
+    /**
+     * Looks up the registry of the web application.
+     *
+     * @throws ServletException never
+     */
+    @Override
+    public void init() throws ServletException {
+        registry = MetricsRegistry.get(getServletContext());
+    }
+
+    /**
+     * Writes the current value of every metric.
+     *
+     * @param req the request
+     * @param res the response
+     * @throws IOException if an input or output error occurs
+     */
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse res) throws IOException {
+        res.setContentType(CONTENT_TYPE);
+        res.setHeader("Cache-Control", "no-store");
+        registry.writeTo(res.getOutputStream());
+    }
+}
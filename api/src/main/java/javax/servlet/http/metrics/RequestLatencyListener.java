@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletRequestEvent;
+import javax.servlet.ServletRequestListener;
+import javax.servlet.http.HttpServletMapping;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.MappingMatch;
+
+/**
+ * <p>
+ * A listener that measures the latency of every HTTP request, from the moment it comes into scope of the web
+ * application until it goes out of scope or, for a request put into asynchronous mode, until its asynchronous
+ * processing completes. Latencies are recorded in a {@link LatencyHistogram} for the servlet mapping the request was
+ * mapped to, identified by {@link HttpServletMapping#getPattern()} and {@link HttpServletMapping#getMappingMatch()}.
+ * </p>
+ *
+ * <p>
+ * The histograms are published as a servlet context attribute named after this class, holding a
+ * {@link LatencyHistograms}. The listener is enabled by declaring it in the deployment descriptor or by registering it
+ * with {@link javax.servlet.ServletContext#addListener(Class)}.
+ * </p>
+ *
+ * <p>
+ * Once a mapping has been seen, measuring a request allocates nothing: the object that carries the start time is
+ * taken from a small per-thread pool and returned to it when the latency has been recorded. Only requests that go
+ * asynchronous, where the same object serves as the asynchronous listener and cannot safely be reused, leave it to the
+ * garbage collector.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class RequestLatencyListener implements ServletContextListener, ServletRequestListener {
+
+    /**
+     * The name of the servlet context attribute holding the {@link LatencyHistograms}.
+     */
+    public static final String HISTOGRAMS_ATTRIBUTE = RequestLatencyListener.class.getName();
+
+    private static final String TIMER_ATTRIBUTE = RequestLatencyListener.class.getName() + ".timer";
+
+    private static final int POOL_SIZE = 64;
+
+    private static final ThreadLocal<ArrayDeque<Timer>> POOL = new ThreadLocal<ArrayDeque<Timer>>() {
+        @Override
+        protected ArrayDeque<Timer> initialValue() {
+            return new ArrayDeque<>(POOL_SIZE);
+        }
+    };
+
+    private final LatencyHistograms histograms = new LatencyHistograms();
+
+    /**
+     * Publishes the histograms as a servlet context attribute.
+     *
+     * @param sce the event for the servlet context being initialized
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        sce.getServletContext().setAttribute(HISTOGRAMS_ATTRIBUTE, histograms);
+    }
+
+    /**
+     * Removes the servlet context attribute.
+     *
+     * @param sce the event for the servlet context being destroyed
+     */
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        sce.getServletContext().removeAttribute(HISTOGRAMS_ATTRIBUTE);
+        histograms.clear();
+    }
+
+    /**
+     * Starts timing an HTTP request. A request that is dispatched again after going asynchronous keeps its original
+     * start time.
+     *
+     * @param sre the event for the request coming into scope
+     */
+    @Override
+    public void requestInitialized(ServletRequestEvent sre) {
+        ServletRequest request = sre.getServletRequest();
+        if (!(request instanceof HttpServletRequest) || request.getAttribute(TIMER_ATTRIBUTE) != null) {
+            return;
+        }
+        HttpServletMapping mapping = ((HttpServletRequest) request).getHttpServletMapping();
+        Timer timer = POOL.get().poll();
+        if (timer == null) {
+            timer = new Timer();
+        }
+        timer.start(this, request, mapping == null ? null : mapping.getMappingMatch(),
+                mapping == null ? null : mapping.getPattern());
+        request.setAttribute(TIMER_ATTRIBUTE, timer);
+    }
+
+    /**
+     * Records the latency of the request, or, if it is in asynchronous mode, arranges for it to be recorded when its
+     * asynchronous processing completes.
+     *
+     * @param sre the event for the request going out of scope
+     */
+    @Override
+    public void requestDestroyed(ServletRequestEvent sre) {
+        ServletRequest request = sre.getServletRequest();
+        Object timer = request.getAttribute(TIMER_ATTRIBUTE);
+        if (!(timer instanceof Timer)) {
+            return;
+        }
+        if (request.isAsyncStarted()) {
+            ((Timer) timer).listen(request);
+        } else {
+            ((Timer) timer).stop();
+        }
+    }
+
+    /*
+     * The start of a request, which also records its end when registered as the listener of its asynchronous
+     * processing.
+     */
+    private static final class Timer implements AsyncListener {
+
+        private RequestLatencyListener owner;
+        private ServletRequest request;
+        private MappingMatch match;
+        private String pattern;
+        private long start;
+        private boolean listening;
+
+        void start(RequestLatencyListener owner, ServletRequest request, MappingMatch match, String pattern) {
+            this.owner = owner;
+            this.request = request;
+            this.match = match;
+            this.pattern = pattern;
+            this.listening = false;
+            this.start = System.nanoTime();
+        }
+
+        void listen(ServletRequest request) {
+            if (!listening) {
+                listening = true;
+                request.getAsyncContext().addListener(this);
+            }
+        }
+
+        void stop() {
+            long elapsed = System.nanoTime() - start;
+            ServletRequest finished = request;
+            if (finished == null) {
+                return;
+            }
+            owner.histograms.get(match, pattern).record(elapsed);
+            finished.removeAttribute(TIMER_ATTRIBUTE);
+            owner = null;
+            request = null;
+            pattern = null;
+            match = null;
+            if (listening) {
+                // the container may still notify it; leave it to be garbage collected
+                return;
+            }
+            ArrayDeque<Timer> pool = POOL.get();
+            if (pool.size() < POOL_SIZE) {
+                pool.offer(this);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+            stop();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) throws IOException {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) throws IOException {
+            // a new asynchronous cycle drops the listeners of the previous one
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
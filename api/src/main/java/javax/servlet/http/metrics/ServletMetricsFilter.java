@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpFilter;
+import javax.servlet.http.HttpServletMapping;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * <p>
+ * A filter that records request metrics in the {@link MetricsRegistry} of the web application, labelled with the name
+ * of the servlet that handled the request, as returned by {@link HttpServletMapping#getServletName()}:
+ * </p>
+ * <ul>
+ * <li><code>servlet_requests_total</code> - the number of requests</li>
+ * <li><code>servlet_responses_total</code> - the number of responses by status class, <code>1xx</code> to
+ * <code>5xx</code></li>
+ * <li><code>servlet_requests_in_flight</code> - the number of requests in progress, across all servlets</li>
+ * <li><code>servlet_response_bytes_total</code> - the number of bytes written to response bodies</li>
+ * <li><code>servlet_async_timeouts_total</code> - the number of asynchronous operations that timed out</li>
+ * <li><code>servlet_request_duration_seconds</code> - a histogram of the time taken by requests, including their
+ * asynchronous processing</li>
+ * </ul>
+ *
+ * <p>
+ * Only requests with a dispatcher type of <code>REQUEST</code> are counted. The filter should be mapped ahead of other
+ * filters so that the bytes it counts are those actually sent, after any compression.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class ServletMetricsFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 7916053254092614390L;
+
+    private static final String[] STATUS_CLASSES = { "1xx", "2xx", "3xx", "4xx", "5xx" };
+
+    private transient MetricFamily<Counter> requests;
+    private transient MetricFamily<Counter> responses;
+    private transient MetricFamily<Counter> bytes;
+    private transient MetricFamily<Counter> asyncTimeouts;
+    private transient MetricFamily<Histogram> durations;
+    private transient Gauge inFlight;
+    private transient ConcurrentHashMap<String, ServletSeries> byServlet;
+
+    /**
+     * Registers the metrics in the registry of the web application.
+     *
+     * @throws ServletException if the metrics could not be registered
+     */
+    @Override
+    public void init() throws ServletException {
+        MetricsRegistry registry = MetricsRegistry.get(getServletContext());
+        requests = registry.counter("servlet_requests_total", "Requests received.", "servlet");
+        responses = registry.counter("servlet_responses_total", "Responses sent, by status class.", "servlet",
+                "status");
+        inFlight = registry.gauge("servlet_requests_in_flight", "Requests in progress.").labels();
+        bytes = registry.counter("servlet_response_bytes_total", "Bytes written to response bodies.", "servlet");
+        asyncTimeouts = registry.counter("servlet_async_timeouts_total", "Asynchronous operations that timed out.",
+                "servlet");
+        durations = registry.histogram("servlet_request_duration_seconds", "Time taken by requests.", "servlet");
+        byServlet = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Counts the request and records its outcome when it completes.
+     *
+     * @param req   the request
+     * @param res   the response
+     * @param chain the <code>FilterChain</code> for invoking the next filter or the resource
+     * @throws IOException      if an input or output error occurs
+     * @throws ServletException if the request could not be handled
+     */
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        if (req.getDispatcherType() != DispatcherType.REQUEST) {
+            chain.doFilter(req, res);
+            return;
+        }
+        final ServletSeries series = seriesFor(req);
+        final CountingResponseWrapper wrapper = new CountingResponseWrapper(res);
+        final long start = System.nanoTime();
+        series.requests.increment();
+        inFlight.increment();
+        boolean done = false;
+        try {
+            chain.doFilter(req, wrapper);
+            if (req.isAsyncStarted()) {
+                req.getAsyncContext().addListener(new AsyncListener() {
+
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        series.complete(wrapper, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        series.asyncTimeouts.increment();
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+            } else {
+                series.complete(wrapper, start);
+            }
+            done = true;
+        } finally {
+            if (!done) {
+                series.complete(wrapper, start);
+            }
+        }
+    }
+
+    private ServletSeries seriesFor(HttpServletRequest req) {
+        HttpServletMapping mapping = req.getHttpServletMapping();
+        String servletName = mapping == null || mapping.getServletName() == null ? "" : mapping.getServletName();
+        ServletSeries series = byServlet.get(servletName);
+        if (series == null) {
+            series = byServlet.computeIfAbsent(servletName, ServletSeries::new);
+        }
+        return series;
+    }
+
+    /*
+     * The series of one servlet, looked up once so that recording a request needs no label lookups.
+     */
+    private final class ServletSeries {
+
+        final Counter requests;
+        final Counter[] statuses = new Counter[STATUS_CLASSES.length];
+        final Counter bytes;
+        final Counter asyncTimeouts;
+        final Histogram duration;
+
+        ServletSeries(String servletName) {
+            requests = ServletMetricsFilter.this.requests.labels(servletName);
+            for (int i = 0; i < statuses.length; i++) {
+                statuses[i] = responses.labels(servletName, STATUS_CLASSES[i]);
+            }
+            bytes = ServletMetricsFilter.this.bytes.labels(servletName);
+            asyncTimeouts = ServletMetricsFilter.this.asyncTimeouts.labels(servletName);
+            duration = durations.labels(servletName);
+        }
+
+        void complete(CountingResponseWrapper wrapper, long start) {
+            inFlight.decrement();
+            duration.record(System.nanoTime() - start);
+            bytes.add(wrapper.finish());
+            int statusClass = wrapper.getStatus() / 100 - 1;
+            if (statusClass >= 0 && statusClass < statuses.length) {
+                statuses[statusClass].increment();
+            }
+        }
+    }
+}
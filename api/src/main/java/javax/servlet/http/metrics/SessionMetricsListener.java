@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.metrics;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.http.HttpSessionEvent;
+import javax.servlet.http.HttpSessionListener;
+
+/**
+ * A listener that records session metrics in the {@link MetricsRegistry} of the web application:
+ * <code>servlet_sessions_created_total</code>, <code>servlet_sessions_destroyed_total</code> and
+ * <code>servlet_sessions_active</code>. The metrics are registered when the servlet context is initialized, so the
+ * listener must be declared in the deployment descriptor or registered before that.
+ *
+ * @since Servlet 4.0.4
+ */
+public class SessionMetricsListener implements ServletContextListener, HttpSessionListener {
+
+    private volatile SessionSeries series;
+
+    /**
+     * Registers the metrics in the registry of the web application.
+     *
+     * @param sce the event for the servlet context being initialized
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        series = new SessionSeries(MetricsRegistry.get(sce.getServletContext()));
+    }
+
+    /**
+     * Counts a new session.
+     *
+     * @param se the event for the session created
+     */
+    @Override
+    public void sessionCreated(HttpSessionEvent se) {
+        SessionSeries s = series;
+        if (s != null) {
+            s.created.increment();
+            s.active.increment();
+        }
+    }
+
+    /**
+     * Counts a session that was invalidated or timed out.
+     *
+     * @param se the event for the session destroyed
+     */
+    @Override
+    public void sessionDestroyed(HttpSessionEvent se) {
+        SessionSeries s = series;
+        if (s != null) {
+            s.destroyed.increment();
+            s.active.decrement();
+        }
+    }
+
+    private static final class SessionSeries {
+
+        final Counter created;
+        final Counter destroyed;
+        final Gauge active;
+
+        SessionSeries(MetricsRegistry registry) {
+            created = registry.counter("servlet_sessions_created_total", "Sessions created.").labels();
+            destroyed = registry.counter("servlet_sessions_destroyed_total", "Sessions destroyed.").labels();
+            active = registry.gauge("servlet_sessions_active", "Sessions currently active.").labels();
+        }
+    }
+}
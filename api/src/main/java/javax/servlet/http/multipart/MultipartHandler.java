@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.multipart;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * <p>
+ * Receives the parts of a <code>multipart/form-data</code> body as a {@link MultipartReader} parses it without
+ * blocking. For each part, {@link #onPartStart onPartStart} is invoked with its headers, then
+ * {@link #onPartData onPartData} with each run of its content, then {@link #onPartEnd onPartEnd}; after the last part
+ * and the end of the body, {@link #onTrailerFields onTrailerFields} and {@link #onComplete()} are invoked, or
+ * {@link #onError onError} if parsing fails at any point.
+ * </p>
+ *
+ * <p>
+ * The methods are invoked one at a time, on container threads, or on the thread that calls
+ * {@link MultipartReader#resume()}. They must not block. The asynchronous processing of the request is left to the
+ * handler to complete, once it has answered the request.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public interface MultipartHandler {
+
+    /**
+     * Invoked when a part starts.
+     *
+     * @param headers the headers of the part
+     */
+    void onPartStart(PartHeaders headers);
+
+    /**
+     * Invoked with content of the current part. The buffer is a read-only view of the buffer of the reader, and may be
+     * used only until this method returns. To apply backpressure, for instance while the content is written
+     * asynchronously elsewhere, the handler returns <code>false</code>; no more data is then read from the request
+     * until {@link MultipartReader#resume()} is called.
+     *
+     * @param headers the headers of the part
+     * @param data the content, which is not empty
+     * @return <code>true</code> to continue, <code>false</code> to pause the reader
+     */
+    boolean onPartData(PartHeaders headers, ByteBuffer data);
+
+    /**
+     * Invoked when all the content of a part has been delivered.
+     *
+     * @param headers the headers of the part
+     */
+    void onPartEnd(PartHeaders headers);
+
+    /**
+     * Invoked once the body has been read to its end, before {@link #onComplete()}, with the trailer fields of the
+     * request, which may for instance carry a checksum of the body. The default implementation does nothing.
+     *
+     * @param trailerFields the trailer fields, with lowercase names; empty if there are none
+     */
+    default void onTrailerFields(Map<String, String> trailerFields) {
+    }
+
+    /**
+     * Invoked when the closing delimiter of the body, and anything after it, has been read.
+     */
+    void onComplete();
+
+    /**
+     * Invoked when the body cannot be read or is malformed, a size limit is exceeded, with an
+     * {@link IllegalStateException}, or the asynchronous timeout of the request expires. No other method is invoked
+     * afterwards.
+     *
+     * @param t the failure
+     */
+    void onError(Throwable t);
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.multipart;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.MultipartConfigElement;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.Part;
+
+/**
+ * <p>
+ * Parses <code>multipart/form-data</code> request bodies into {@link Part Parts}, as
+ * {@link HttpServletRequest#getParts()} does, while streaming the body: it is read in large chunks, parts no larger
+ * than the file size threshold of the configuration are kept in memory, and larger parts are written to temporary files
+ * in its location as they arrive, so that the memory used by a request does not grow with the size of its parts. The
+ * delimiters between parts are found with a Boyer-Moore-Horspool search, which skips over most of the content of a
+ * part without comparing it.
+ * </p>
+ *
+ * <p>
+ * The limits of the configuration are enforced as the body is read: a part larger than the maximum file size, or a
+ * body larger than the maximum request size, makes parsing fail with an {@link IllegalStateException}, and the
+ * temporary files already written are deleted. {@link Part#write(String)} renames the temporary file of a part into
+ * place when it can, instead of copying it. The temporary files of the parts returned are deleted by
+ * {@link Part#delete()}.
+ * </p>
+ *
+ * <p>
+ * Bodies too large to be stored at all can be read in a single pass with a {@link PartIterator}, whose parts are read
+ * straight from the body, or, without blocking, with a {@link MultipartReader}, which pushes them to a
+ * {@link MultipartHandler} as the data arrives.
+ * </p>
+ *
+ * <p>
+ * A location that is empty or relative is resolved against the temporary directory of the servlet context, given by
+ * its {@link ServletContext#TEMPDIR} attribute, or else the temporary directory of the runtime. A parser can be shared
+ * by all requests to a servlet.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class MultipartParser {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.multipart.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private final MultipartConfigElement config;
+
+    /**
+     * Creates a parser.
+     *
+     * @param config the location and limits of the parts
+     */
+    public MultipartParser(MultipartConfigElement config) {
+        if (config == null) {
+            throw new NullPointerException();
+        }
+        this.config = config;
+    }
+
+    /**
+     * Returns the configuration of this parser.
+     *
+     * @return the location and limits of the parts
+     */
+    public MultipartConfigElement getConfig() {
+        return config;
+    }
+
+    /**
+     * Parses the body of a request.
+     *
+     * @param req the request, whose input stream must not have been used
+     * @return the parts of the body, in order
+     * @throws IOException           if the body cannot be read or is malformed
+     * @throws ServletException      if the request is not of type <code>multipart/form-data</code>
+     * @throws IllegalStateException if a size limit is exceeded
+     */
+    public Collection<Part> parse(HttpServletRequest req) throws IOException, ServletException {
+        String boundary = getBoundary(req.getContentType());
+        long maxRequestSize = config.getMaxRequestSize();
+        if (maxRequestSize >= 0 && req.getContentLengthLong() > maxRequestSize) {
+            throw new IllegalStateException(MessageFormat.format(lStrings.getString("err.requestSizeExceeded"),
+                    String.valueOf(maxRequestSize)));
+        }
+        return parse(req.getInputStream(), boundary, getLocation(req.getServletContext()));
+    }
+
+    /**
+     * Parses a body read from a stream.
+     *
+     * @param in the stream of the body
+     * @param contentType the content type of the body, with its boundary
+     * @return the parts of the body, in order
+     * @throws IOException           if the body cannot be read or is malformed
+     * @throws ServletException      if the content type is not <code>multipart/form-data</code>
+     * @throws IllegalStateException if a size limit is exceeded
+     */
+    public Collection<Part> parse(InputStream in, String contentType) throws IOException, ServletException {
+        return parse(in, getBoundary(contentType), getLocation(null));
+    }
+
+    /**
+     * Starts a single pass over the parts of the body of a request, which are not stored.
+     *
+     * @param req the request, whose input stream must not have been used
+     * @return the iterator over the parts
+     * @throws IOException           if the body cannot be read
+     * @throws ServletException      if the request is not of type <code>multipart/form-data</code>
+     * @throws IllegalStateException if the declared length exceeds the maximum request size
+     */
+    public PartIterator getPartIterator(HttpServletRequest req) throws IOException, ServletException {
+        String boundary = getBoundary(req.getContentType());
+        long maxRequestSize = config.getMaxRequestSize();
+        if (maxRequestSize >= 0 && req.getContentLengthLong() > maxRequestSize) {
+            throw new IllegalStateException(MessageFormat.format(lStrings.getString("err.requestSizeExceeded"),
+                    String.valueOf(maxRequestSize)));
+        }
+        return new PartIterator(new MultipartStream(req.getInputStream(), boundary,
+                MultipartStream.DEFAULT_BUFFER_SIZE, maxRequestSize), getLocation(req.getServletContext()),
+                config.getMaxFileSize());
+    }
+
+    /**
+     * Starts a single pass over the parts of a body read from a stream, which are not stored.
+     *
+     * @param in the stream of the body
+     * @param contentType the content type of the body, with its boundary
+     * @return the iterator over the parts
+     * @throws ServletException if the content type is not <code>multipart/form-data</code>
+     */
+    public PartIterator getPartIterator(InputStream in, String contentType) throws ServletException {
+        return new PartIterator(new MultipartStream(in, getBoundary(contentType), MultipartStream.DEFAULT_BUFFER_SIZE,
+                config.getMaxRequestSize()), getLocation(null), config.getMaxFileSize());
+    }
+
+    /**
+     * Starts parsing the body of a request without blocking. The request must be in asynchronous mode; the parts are
+     * pushed to the handler as their data arrives.
+     *
+     * @param asyncContext the asynchronous context of the request, whose input stream must not have been used
+     * @param handler the receiver of the parts
+     * @return the reader, through which the handler resumes reading after pausing it
+     * @throws IOException           if the input stream cannot be obtained
+     * @throws ServletException      if the request is not of type <code>multipart/form-data</code>
+     * @throws IllegalStateException if the declared length exceeds the maximum request size
+     */
+    public MultipartReader read(AsyncContext asyncContext, MultipartHandler handler)
+            throws IOException, ServletException {
+        if (handler == null) {
+            throw new NullPointerException();
+        }
+        ServletRequest req = asyncContext.getRequest();
+        String boundary = getBoundary(req.getContentType());
+        long maxRequestSize = config.getMaxRequestSize();
+        if (maxRequestSize >= 0 && req.getContentLengthLong() > maxRequestSize) {
+            throw new IllegalStateException(MessageFormat.format(lStrings.getString("err.requestSizeExceeded"),
+                    String.valueOf(maxRequestSize)));
+        }
+        MultipartReader reader = new MultipartReader(req, req.getInputStream(), boundary, handler,
+                config.getMaxFileSize(), maxRequestSize);
+        asyncContext.addListener(reader.getAsyncListener());
+        reader.start();
+        return reader;
+    }
+
+    private Collection<Part> parse(InputStream in, String boundary, Path location) throws IOException {
+        MultipartStream stream = new MultipartStream(in, boundary, MultipartStream.DEFAULT_BUFFER_SIZE,
+                config.getMaxRequestSize());
+        long maxFileSize = config.getMaxFileSize();
+        int threshold = Math.max(0, config.getFileSizeThreshold());
+        List<Part> parts = new ArrayList<>();
+        MultipartPart part = null;
+        try {
+            boolean more = stream.skipPreamble();
+            while (more) {
+                part = new MultipartPart(stream.readHeaders(), location);
+                int n;
+                while ((n = stream.available()) >= 0) {
+                    if (maxFileSize >= 0 && part.getSize() + n > maxFileSize) {
+                        throw new IllegalStateException(MessageFormat.format(
+                                lStrings.getString("err.fileSizeExceeded"), part.getName(),
+                                String.valueOf(maxFileSize)));
+                    }
+                    part.append(stream.buffer(), stream.offset(), n, threshold);
+                    stream.skip(n);
+                }
+                part.finish();
+                parts.add(part);
+                part = null;
+                more = stream.nextPart();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (part != null) {
+                parts.add(part);
+            }
+            for (Part p : parts) {
+                try {
+                    p.delete();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+        return Collections.unmodifiableList(parts);
+    }
+
+    /*
+     * Returns the directory in which parts are spilled: the location of the configuration, resolved against the
+     * temporary directory of the context, or of the runtime.
+     */
+    // file private
+    Path getLocation(ServletContext context) {
+        Object tempdir = context == null ? null : context.getAttribute(ServletContext.TEMPDIR);
+        Path base = tempdir instanceof File ? ((File) tempdir).toPath()
+                : Paths.get(System.getProperty("java.io.tmpdir"));
+        String location = config.getLocation();
+        return location == null || location.isEmpty() ? base : base.resolve(location);
+    }
+
+    /*
+     * Returns the boundary parameter of a multipart/form-data content type.
+     */
+    // file private
+    static String getBoundary(String contentType) throws ServletException {
+        if (contentType == null
+                || !contentType.toLowerCase(Locale.ENGLISH).startsWith("multipart/form-data")) {
+            throw new ServletException(MessageFormat.format(lStrings.getString("err.notMultipart"), contentType));
+        }
+        String boundary = null;
+        for (String parameter : contentType.split(";")) {
+            int eq = parameter.indexOf('=');
+            if (eq > 0 && parameter.substring(0, eq).trim().equalsIgnoreCase("boundary")) {
+                boundary = parameter.substring(eq + 1).trim();
+                if (boundary.length() >= 2 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+                    boundary = boundary.substring(1, boundary.length() - 1);
+                }
+            }
+        }
+        if (boundary == null || boundary.isEmpty() || boundary.length() > 70) {
+            throw new ServletException(MessageFormat.format(lStrings.getString("err.boundary"), contentType));
+        }
+        return boundary;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.multipart;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+
+import javax.servlet.http.Part;
+
+/*
+ * A part parsed by MultipartParser. Its content is kept in memory up to the size threshold, and beyond it moved to a
+ * temporary file in the location, to which the rest is then written straight from the buffer of the parser. Writing
+ * the part renames the temporary file into place, and later writes copy it with FileChannel.transferTo, so the
+ * content is never read back through the heap.
+ */
+// file private
+final class MultipartPart implements Part {
+
+    private final PartHeaders headers;
+    private final Path location;
+    private byte[] data = EMPTY;
+    private Path file;
+    private FileChannel channel;
+    private boolean temporary;
+    private long size;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    // file private
+    MultipartPart(PartHeaders headers, Path location) {
+        this.headers = headers;
+        this.location = location;
+    }
+
+    // file private
+    void append(byte[] b, int off, int len, int threshold) throws IOException {
+        if (channel == null && size + len > threshold) {
+            spill();
+        }
+        if (channel != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } else {
+            if (size + len > data.length) {
+                data = Arrays.copyOf(data, (int) Math.min(threshold, Math.max(size + len, Math.max(256, size * 2))));
+            }
+            System.arraycopy(b, off, data, (int) size, len);
+        }
+        size += len;
+    }
+
+    private void spill() throws IOException {
+        file = Files.createTempFile(location, "part", ".tmp");
+        temporary = true;
+        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+        ByteBuffer buffer = ByteBuffer.wrap(data, 0, (int) size);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        data = null;
+    }
+
+    // file private
+    void finish() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // file private
+    boolean isInMemory() {
+        return file == null;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        if (file == null) {
+            return new ByteArrayInputStream(data, 0, (int) size);
+        }
+        return Files.newInputStream(file);
+    }
+
+    @Override
+    public String getContentType() {
+        return headers.getContentType();
+    }
+
+    @Override
+    public String getName() {
+        return headers.getName();
+    }
+
+    @Override
+    public String getSubmittedFileName() {
+        return headers.getSubmittedFileName();
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    /*
+     * The name is resolved against the location, as required of Part.write.
+     */
+    @Override
+    public void write(String fileName) throws IOException {
+        Path target = location.resolve(fileName);
+        if (file == null) {
+            Files.write(target, Arrays.copyOf(data, (int) size));
+            return;
+        }
+        if (target.equals(file)) {
+            return;
+        }
+        if (temporary) {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+            file = target;
+            temporary = false;
+            return;
+        }
+        try (FileChannel from = FileChannel.open(file, StandardOpenOption.READ);
+                FileChannel to = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            while (position < size) {
+                position += from.transferTo(position, size - position, to);
+            }
+        }
+    }
+
+    @Override
+    public void delete() throws IOException {
+        finish();
+        if (file != null && temporary) {
+            Files.deleteIfExists(file);
+            temporary = false;
+        }
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.getHeader(name);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        return headers.getHeaders(name);
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return headers.getHeaderNames();
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.multipart;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.http.trailer.RequestTrailers;
+
+/**
+ * <p>
+ * Parses a <code>multipart/form-data</code> body as its data arrives, without blocking, and pushes the parts to a
+ * {@link MultipartHandler}. The reader registers a {@link ReadListener} on the input stream of the request and parses
+ * whatever is available each time the container reports data, so a request whose client sends slowly holds no thread
+ * between two reads, and a few container threads can serve many concurrent uploads.
+ * </p>
+ *
+ * <p>
+ * The handler can pause the reader by returning <code>false</code> from {@link MultipartHandler#onPartData
+ * onPartData}; nothing more is then read from the client until {@link #resume()} is called. The limits of the
+ * configuration of the parser are enforced as the body is read, and the expiry of the asynchronous timeout, as well as
+ * any error reported by the container, ends parsing with {@link MultipartHandler#onError onError}.
+ * </p>
+ *
+ * <p>
+ * A reader is obtained from {@link MultipartParser#read MultipartParser.read}.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public final class MultipartReader {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.multipart.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private static final int PREAMBLE = 0;
+    private static final int HEADERS = 1;
+    private static final int CONTENT = 2;
+    private static final int DELIMITER = 3;
+    private static final int EPILOGUE = 4;
+    private static final int DONE = 5;
+
+    private final ServletRequest req;
+    private final ServletInputStream in;
+    private final MultipartStream stream;
+    private final MultipartHandler handler;
+    private final long maxFileSize;
+    private final Listener listener = new Listener();
+
+    /*
+     * Parsing is driven by the container, through the read listener, and by resume(), possibly on another thread, so
+     * every pass goes through drain(), which lets only one thread in at a time and makes it loop again if another
+     * thread asked for a pass meanwhile.
+     */
+    private final AtomicInteger passes = new AtomicInteger();
+
+    /*
+     * Whether the handler has paused the reader. The handler may well call resume() before onPartData() has returned
+     * false, from the completion of the work it started there, so such an early resume is recorded rather than lost.
+     */
+    private static final int RUNNING = 0;
+    private static final int DELIVERING = 1;
+    private static final int PAUSED = 2;
+    private static final int RESUMED = 3;
+    private final AtomicInteger pause = new AtomicInteger(RUNNING);
+
+    private volatile Throwable failure;
+    private int state = PREAMBLE;
+    private PartHeaders part;
+    private long partSize;
+
+    // file private
+    MultipartReader(ServletRequest req, ServletInputStream in, String boundary, MultipartHandler handler,
+            long maxFileSize, long maxRequestSize) {
+        this.req = req;
+        this.in = in;
+        this.stream = new MultipartStream(new NonBlockingInput(in), boundary, MultipartStream.DEFAULT_BUFFER_SIZE,
+                maxRequestSize);
+        this.handler = handler;
+        this.maxFileSize = maxFileSize;
+    }
+
+    // file private
+    void start() {
+        in.setReadListener(listener);
+    }
+
+    // file private
+    AsyncListener getAsyncListener() {
+        return listener;
+    }
+
+    /**
+     * Returns whether the handler has paused the reader.
+     *
+     * @return <code>true</code> if the reader waits for {@link #resume()}
+     */
+    public boolean isPaused() {
+        return pause.get() == PAUSED;
+    }
+
+    /**
+     * Continues reading after the handler has paused the reader. It may be called from any thread, and does nothing
+     * if the reader is not paused.
+     */
+    public void resume() {
+        while (true) {
+            int current = pause.get();
+            if (current == PAUSED) {
+                if (pause.compareAndSet(PAUSED, RUNNING)) {
+                    drain();
+                    return;
+                }
+            } else if (current == DELIVERING) {
+                if (pause.compareAndSet(DELIVERING, RESUMED)) {
+                    return;
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        if (passes.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            parse();
+            missed = passes.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /*
+     * One pass: parses what is in the buffer, and what the stream can give without blocking, until the stream is
+     * not ready, the handler pauses or the body ends. Each step of the stream either completes or leaves the stream
+     * as it was, so a step interrupted because the stream is not ready is simply taken again on the next pass.
+     */
+    private void parse() {
+        if (state == DONE) {
+            return;
+        }
+        Throwable t = failure;
+        if (t != null) {
+            fail(t);
+            return;
+        }
+        try {
+            while (pause.get() != PAUSED) {
+                switch (state) {
+                    case PREAMBLE:
+                        state = stream.skipPreamble() ? HEADERS : EPILOGUE;
+                        break;
+                    case HEADERS:
+                        part = stream.readHeaders();
+                        partSize = 0;
+                        state = CONTENT;
+                        handler.onPartStart(part);
+                        break;
+                    case CONTENT:
+                        int n = stream.available();
+                        if (n < 0) {
+                            state = DELIMITER;
+                            handler.onPartEnd(part);
+                            break;
+                        }
+                        if (maxFileSize >= 0 && partSize + n > maxFileSize) {
+                            throw new IllegalStateException(MessageFormat.format(
+                                    lStrings.getString("err.fileSizeExceeded"), part.getName(),
+                                    String.valueOf(maxFileSize)));
+                        }
+                        ByteBuffer data = ByteBuffer.wrap(stream.buffer(), stream.offset(), n).asReadOnlyBuffer();
+                        stream.skip(n);
+                        partSize += n;
+                        pause.set(DELIVERING);
+                        if (handler.onPartData(part, data) || !pause.compareAndSet(DELIVERING, PAUSED)) {
+                            pause.set(RUNNING);
+                        }
+                        break;
+                    case DELIMITER:
+                        state = stream.nextPart() ? HEADERS : EPILOGUE;
+                        break;
+                    case EPILOGUE:
+                        // the trailer fields can only be read once the body has been read to its end
+                        stream.skipEpilogue();
+                        state = DONE;
+                        handler.onTrailerFields(RequestTrailers.getTrailerFields(req));
+                        break;
+                    default:
+                        part = null;
+                        handler.onComplete();
+                        return;
+                }
+            }
+        } catch (NotReadyException e) {
+            // the container calls onDataAvailable() when there is more to read
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(Throwable t) {
+        state = DONE;
+        part = null;
+        handler.onError(t);
+    }
+
+    /*
+     * Receives the readiness of the stream and the outcome of the asynchronous processing from the container.
+     */
+    private final class Listener implements ReadListener, AsyncListener {
+
+        @Override
+        public void onDataAvailable() {
+            drain();
+        }
+
+        @Override
+        public void onAllDataRead() {
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            failure = t;
+            drain();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failure = new IOException(lStrings.getString("err.timeout"));
+            drain();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            Throwable t = event.getThrowable();
+            failure = t != null ? t : new IOException(lStrings.getString("err.aborted"));
+            drain();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /*
+     * Thrown by NonBlockingInput when the stream has nothing to give without blocking. It is raised once per wait for
+     * data, not per byte, so it carries no stack trace and is shared.
+     */
+    private static final class NotReadyException extends IOException {
+
+        private static final long serialVersionUID = 5150436212393816614L;
+
+        private static final NotReadyException INSTANCE = new NotReadyException();
+
+        private NotReadyException() {
+            super(null, null);
+            setStackTrace(new StackTraceElement[0]);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /*
+     * Reads the servlet input stream only while it is ready, which arranges for onDataAvailable() when it is not.
+     */
+    private static final class NonBlockingInput extends InputStream {
+
+        private final ServletInputStream in;
+        private final byte[] single = new byte[1];
+
+        NonBlockingInput(ServletInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (in.isFinished()) {
+                return -1;
+            }
+            if (!in.isReady()) {
+                throw NotReadyException.INSTANCE;
+            }
+            return in.read(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.multipart;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.Part;
+
+/**
+ * A request wrapper whose {@link #getParts()} and {@link #getPart(String)} are answered by a {@link MultipartParser},
+ * for containers whose own parser buffers parts in memory. The body is parsed on the first call, and the parts are
+ * kept for later calls; {@link #deleteParts()} deletes their temporary files once the request has been handled.
+ *
+ * @since Servlet 4.0.4
+ */
+public class MultipartRequestWrapper extends HttpServletRequestWrapper {
+
+    private final MultipartParser parser;
+    private Collection<Part> parts;
+
+    /**
+     * Wraps a request.
+     *
+     * @param request the request
+     * @param parser the parser of its body
+     */
+    public MultipartRequestWrapper(HttpServletRequest request, MultipartParser parser) {
+        super(request);
+        if (parser == null) {
+            throw new NullPointerException();
+        }
+        this.parser = parser;
+    }
+
+    @Override
+    public Collection<Part> getParts() throws IOException, ServletException {
+        if (parts == null) {
+            parts = parser.parse((HttpServletRequest) getRequest());
+        }
+        return parts;
+    }
+
+    @Override
+    public Part getPart(String name) throws IOException, ServletException {
+        for (Part part : getParts()) {
+            if (name.equals(part.getName())) {
+                return part;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Deletes the temporary files of the parts, if the body has been parsed.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    public void deleteParts() throws IOException {
+        if (parts == null) {
+            return;
+        }
+        IOException failure = null;
+        for (Part part : parts) {
+            try {
+                part.delete();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
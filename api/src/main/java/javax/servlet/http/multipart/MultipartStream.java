@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.multipart;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+
+/*
+ * Splits a multipart body, read from a stream in large chunks, into the headers and the content of its parts. The
+ * content of a part is handed out as runs of bytes of the internal buffer, up to the next delimiter, which is found
+ * with a Boyer-Moore-Horspool search: most bytes of a large part are never compared, only skipped over, and no byte is
+ * scanned twice, since the search resumes where the previous one gave up. The body is treated as if it began with
+ * CRLF, so that the first delimiter, which has none, is found like the others.
+ */
+// file private
+final class MultipartStream {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.multipart.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    // file private
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_HEADER_SIZE = 16 * 1024;
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final int[] shift = new int[256];
+    private final byte[] buf;
+    private final long maxRequestSize;
+
+    private int head;
+    private int tail;
+    private boolean eof;
+    private long total;
+
+    // position of the next delimiter in the buffer, or -1 if not found yet
+    private int match = -1;
+    // position before which no delimiter can start, within the content of the current part
+    private int scanned;
+    private boolean partEnded;
+
+    // file private
+    MultipartStream(InputStream in, String boundary, int bufferSize, long maxRequestSize) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buf = new byte[Math.max(bufferSize, MAX_HEADER_SIZE + delimiter.length)];
+        this.maxRequestSize = maxRequestSize;
+        int m = delimiter.length;
+        for (int i = 0; i < shift.length; i++) {
+            shift[i] = m;
+        }
+        for (int i = 0; i < m - 1; i++) {
+            shift[delimiter[i] & 0xff] = m - 1 - i;
+        }
+        buf[0] = '\r';
+        buf[1] = '\n';
+        tail = 2;
+    }
+
+    /*
+     * Skips the preamble up to the first delimiter, returning whether a part follows it.
+     */
+    // file private
+    boolean skipPreamble() throws IOException {
+        int n;
+        while ((n = available()) >= 0) {
+            skip(n);
+        }
+        return nextPart();
+    }
+
+    /*
+     * Returns the number of bytes of content of the current part that can be taken from the buffer at offset(),
+     * reading more if needed, or -1 once the delimiter that ends the part has been reached.
+     */
+    // file private
+    int available() throws IOException {
+        if (partEnded) {
+            return -1;
+        }
+        while (true) {
+            if (match < 0) {
+                match = search(Math.max(head, scanned), tail);
+            }
+            if (match >= 0) {
+                if (match > head) {
+                    return match - head;
+                }
+                head = match + delimiter.length;
+                match = -1;
+                scanned = head;
+                partEnded = true;
+                return -1;
+            }
+            int safe = tail - delimiter.length + 1;
+            scanned = Math.max(head, safe);
+            if (safe > head) {
+                return safe - head;
+            }
+            if (!fill()) {
+                throw malformed("err.malformed.eof");
+            }
+        }
+    }
+
+    // file private
+    byte[] buffer() {
+        return buf;
+    }
+
+    // file private
+    int offset() {
+        return head;
+    }
+
+    // file private
+    void skip(int n) {
+        head += n;
+    }
+
+    /*
+     * Reads content of the current part into the array, returning -1 at its end.
+     */
+    // file private
+    int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int n = available();
+        if (n < 0) {
+            return -1;
+        }
+        n = Math.min(n, len);
+        System.arraycopy(buf, head, b, off, n);
+        head += n;
+        return n;
+    }
+
+    /*
+     * Called at the end of a part, after its delimiter: returns whether another part follows, or false if this was
+     * the closing delimiter. Any content left in the current part is skipped.
+     */
+    // file private
+    boolean nextPart() throws IOException {
+        int n;
+        while ((n = available()) >= 0) {
+            skip(n);
+        }
+        ensure(2);
+        if (buf[head] == '-' && buf[head + 1] == '-') {
+            head += 2;
+            return false;
+        }
+        // transport padding may follow the delimiter
+        while (true) {
+            ensure(2);
+            byte b = buf[head];
+            if (b == ' ' || b == '\t') {
+                head++;
+            } else if (b == '\r' && buf[head + 1] == '\n') {
+                head += 2;
+                return true;
+            } else {
+                throw malformed("err.malformed.delimiter");
+            }
+        }
+    }
+
+    /*
+     * Called after the closing delimiter: discards the epilogue, up to the end of the stream. Only what has already
+     * been discarded is consumed, so a read that cannot complete can simply be taken again.
+     */
+    // file private
+    void skipEpilogue() throws IOException {
+        do {
+            head = tail;
+        } while (fill());
+    }
+
+    /*
+     * Reads the headers of the part that begins here, up to and including the empty line that ends them, and starts
+     * the content of the part. Nothing is consumed until the whole header block is in the buffer, so a read that
+     * cannot complete leaves the stream where it was, and the headers can be read again from the start.
+     */
+    // file private
+    PartHeaders readHeaders() throws IOException {
+        int from = head;
+        int end;
+        while ((end = findHeaderEnd(from)) < 0) {
+            if (tail - head > MAX_HEADER_SIZE) {
+                throw malformed("err.malformed.headers");
+            }
+            int before = head;
+            from = Math.max(head, tail - 3);
+            if (!fill()) {
+                throw malformed("err.malformed.headers");
+            }
+            // fill() moves the unread bytes to the front of the buffer
+            from -= before - head;
+        }
+        if (end - head > MAX_HEADER_SIZE) {
+            throw malformed("err.malformed.headers");
+        }
+        PartHeaders headers = new PartHeaders();
+        String previous = null;
+        int lineStart = head;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (buf[lineEnd] != '\r' || buf[lineEnd + 1] != '\n') {
+                lineEnd++;
+            }
+            String line = new String(buf, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+            if (!line.isEmpty() && (line.charAt(0) == ' ' || line.charAt(0) == '\t') && previous != null) {
+                // an obsolete folded continuation of the previous header
+                headers.append(previous, line.trim());
+            } else {
+                int colon = line.indexOf(':');
+                if (colon <= 0) {
+                    throw malformed("err.malformed.header");
+                }
+                previous = line.substring(0, colon).trim();
+                headers.add(previous, line.substring(colon + 1).trim());
+            }
+            lineStart = lineEnd + 2;
+        }
+        head = end + 2;
+        scanned = head;
+        partEnded = false;
+        return headers;
+    }
+
+    /*
+     * Returns the position of the empty line that ends the header block starting at head, looking for it from the
+     * given position on, or -1 if it is not in the buffer yet.
+     */
+    private int findHeaderEnd(int from) {
+        if (tail - head >= 2 && buf[head] == '\r' && buf[head + 1] == '\n') {
+            return head;
+        }
+        for (int i = Math.max(from, head); i + 3 < tail; i++) {
+            if (buf[i] == '\r' && buf[i + 1] == '\n' && buf[i + 2] == '\r' && buf[i + 3] == '\n') {
+                return i + 2;
+            }
+        }
+        return -1;
+    }
+
+    private int search(int from, int limit) {
+        int m = delimiter.length;
+        int last = m - 1;
+        int i = from;
+        while (i <= limit - m) {
+            int j = last;
+            while (buf[i + j] == delimiter[j]) {
+                if (j == 0) {
+                    return i;
+                }
+                j--;
+            }
+            i += shift[buf[i + last] & 0xff];
+        }
+        return -1;
+    }
+
+    private void ensure(int n) throws IOException {
+        while (tail - head < n) {
+            if (!fill()) {
+                throw malformed("err.malformed.eof");
+            }
+        }
+    }
+
+    /*
+     * Moves the unread bytes to the front of the buffer and reads as much as fits after them, returning false at the
+     * end of the stream.
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (head > 0) {
+            int unread = tail - head;
+            System.arraycopy(buf, head, buf, 0, unread);
+            if (match >= 0) {
+                match -= head;
+            }
+            scanned = Math.max(0, scanned - head);
+            head = 0;
+            tail = unread;
+        }
+        if (tail == buf.length) {
+            return true;
+        }
+        int n = in.read(buf, tail, buf.length - tail);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        total += n;
+        if (maxRequestSize >= 0 && total > maxRequestSize) {
+            throw new IllegalStateException(MessageFormat.format(lStrings.getString("err.requestSizeExceeded"),
+                    String.valueOf(maxRequestSize)));
+        }
+        tail += n;
+        return true;
+    }
+
+    private IOException malformed(String key) {
+        return new IOException(MessageFormat.format(lStrings.getString("err.malformed"), lStrings.getString(key)));
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.multipart;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The headers of one part of a <code>multipart/form-data</code> body, looked up without regard to case, with the
+ * parameters of its <code>Content-Disposition</code> header that name the part and its file. They are given to a
+ * {@link MultipartHandler} as each part starts.
+ *
+ * @since Servlet 4.0.4
+ */
+public final class PartHeaders {
+
+    private final Map<String, List<String>> headers = new LinkedHashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    // file private
+    PartHeaders() {
+    }
+
+    // file private
+    void add(String name, String value) {
+        String key = name.toLowerCase(Locale.ENGLISH);
+        List<String> values = headers.get(key);
+        if (values == null) {
+            values = new ArrayList<>(1);
+            headers.put(key, values);
+            names.add(name);
+        }
+        values.add(value);
+    }
+
+    // file private
+    void append(String name, String continuation) {
+        List<String> values = headers.get(name.toLowerCase(Locale.ENGLISH));
+        int last = values.size() - 1;
+        values.set(last, values.get(last) + ' ' + continuation);
+    }
+
+    /**
+     * Returns the first value of a header.
+     *
+     * @param name the name of the header
+     * @return the value, or <code>null</code> if the part has no such header
+     */
+    public String getHeader(String name) {
+        List<String> values = headers.get(name.toLowerCase(Locale.ENGLISH));
+        return values == null ? null : values.get(0);
+    }
+
+    /**
+     * Returns the values of a header.
+     *
+     * @param name the name of the header
+     * @return the values, which may be empty
+     */
+    public Collection<String> getHeaders(String name) {
+        List<String> values = headers.get(name.toLowerCase(Locale.ENGLISH));
+        return values == null ? Collections.<String>emptyList() : Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Returns the names of the headers of the part, in the order in which they were first received.
+     *
+     * @return the names
+     */
+    public Collection<String> getHeaderNames() {
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Returns the <code>Content-Type</code> header of the part.
+     *
+     * @return the content type, or <code>null</code> if the part has none
+     */
+    public String getContentType() {
+        return getHeader("Content-Type");
+    }
+
+    /**
+     * Returns the name of the part, given by the <code>name</code> parameter of its <code>Content-Disposition</code>.
+     *
+     * @return the name, or <code>null</code> if the part has none
+     */
+    public String getName() {
+        return getDispositionParameter("name");
+    }
+
+    /**
+     * Returns the file name submitted with the part, preferring the extended <code>filename*</code> parameter of RFC
+     * 6266 to the plain <code>filename</code>.
+     *
+     * @return the file name, or <code>null</code> if the part is not a file
+     */
+    public String getSubmittedFileName() {
+        String extended = getDispositionParameter("filename*");
+        if (extended != null) {
+            int quote = extended.indexOf('\'');
+            int secondQuote = quote < 0 ? -1 : extended.indexOf('\'', quote + 1);
+            if (secondQuote > 0) {
+                try {
+                    return URLDecoder.decode(extended.substring(secondQuote + 1).replace("+", "%2B"),
+                            extended.substring(0, quote));
+                } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+                    // fall back to the plain parameter
+                }
+            }
+        }
+        return getDispositionParameter("filename");
+    }
+
+    /*
+     * Returns a parameter of the Content-Disposition header, unquoted. Quoted strings may contain semicolons and
+     * escaped quotes.
+     */
+    private String getDispositionParameter(String parameter) {
+        String disposition = getHeader("Content-Disposition");
+        if (disposition == null) {
+            return null;
+        }
+        int len = disposition.length();
+        int i = disposition.indexOf(';');
+        while (i >= 0 && i < len) {
+            i++;
+            while (i < len && (disposition.charAt(i) == ' ' || disposition.charAt(i) == '\t')) {
+                i++;
+            }
+            int eq = i;
+            while (eq < len && disposition.charAt(eq) != '=' && disposition.charAt(eq) != ';') {
+                eq++;
+            }
+            String name = disposition.substring(i, eq).trim();
+            if (eq >= len || disposition.charAt(eq) == ';') {
+                i = eq;
+                continue;
+            }
+            int start = eq + 1;
+            while (start < len && disposition.charAt(start) == ' ') {
+                start++;
+            }
+            String value;
+            int end;
+            if (start < len && disposition.charAt(start) == '"') {
+                StringBuilder quoted = new StringBuilder();
+                end = start + 1;
+                while (end < len && disposition.charAt(end) != '"') {
+                    char c = disposition.charAt(end);
+                    // only quotes and backslashes are taken as escaped, so Windows paths survive
+                    if (c == '\\' && end + 1 < len
+                            && (disposition.charAt(end + 1) == '"' || disposition.charAt(end + 1) == '\\')) {
+                        c = disposition.charAt(++end);
+                    }
+                    quoted.append(c);
+                    end++;
+                }
+                value = quoted.toString();
+                end = disposition.indexOf(';', end);
+            } else {
+                end = disposition.indexOf(';', start);
+                value = disposition.substring(start, end < 0 ? len : end).trim();
+            }
+            if (name.equalsIgnoreCase(parameter)) {
+                return value;
+            }
+            i = end;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.multipart;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+import javax.servlet.http.Part;
+
+/**
+ * <p>
+ * Iterates over the parts of a <code>multipart/form-data</code> body in a single pass over the body, without storing
+ * them. The {@link Part#getInputStream() input stream} of each part reads its content straight from the body of the
+ * request, so a part of any size can be piped to its destination with constant memory and no temporary file.
+ * </p>
+ *
+ * <p>
+ * The content of a part can only be read until the iterator moves to the next part: whatever has not been read then
+ * is skipped, and the stream of the previous part fails. The content can be read only once, and the
+ * {@link Part#getSize() size} of a part is -1 until its content has been read to the end. {@link Part#write(String)}
+ * writes the unread content to a file, and {@link Part#delete()} does nothing, since nothing is stored. The limits of
+ * the configuration of the parser are enforced while the content is read, with an {@link IllegalStateException}.
+ * </p>
+ *
+ * <p>
+ * An iterator is obtained from {@link MultipartParser#getPartIterator MultipartParser.getPartIterator} and must be
+ * used by one thread at a time.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public final class PartIterator {
+
+    private final MultipartStream stream;
+    private final Path location;
+    private final long maxFileSize;
+    private StreamingPart current;
+    private boolean started;
+    private boolean more;
+
+    // file private
+    PartIterator(MultipartStream stream, Path location, long maxFileSize) {
+        this.stream = stream;
+        this.location = location;
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * Returns whether another part follows, skipping the unread content of the current part.
+     *
+     * @return <code>true</code> if {@link #next()} returns a part
+     * @throws IOException           if the body cannot be read or is malformed
+     * @throws IllegalStateException if the maximum request size is exceeded
+     */
+    public boolean hasNext() throws IOException {
+        if (!started) {
+            started = true;
+            more = stream.skipPreamble();
+        } else if (current != null) {
+            current.close();
+            current = null;
+            more = stream.nextPart();
+        }
+        return more;
+    }
+
+    /**
+     * Moves to the next part, whose headers are read, and whose content can be read until the next call to
+     * {@link #hasNext()} or this method.
+     *
+     * @return the next part
+     * @throws IOException            if the body cannot be read or is malformed
+     * @throws NoSuchElementException if there is no other part
+     */
+    public Part next() throws IOException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        current = new StreamingPart(stream.readHeaders(), stream, location, maxFileSize);
+        return current;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.multipart;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.ResourceBundle;
+
+import javax.servlet.http.Part;
+
+/*
+ * A part returned by a PartIterator, whose content is read straight from the body of the request, once. Its size is
+ * only known once the content has been read to the end, and it has no storage to delete.
+ */
+// file private
+final class StreamingPart implements Part {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.multipart.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private final PartHeaders headers;
+    private final MultipartStream stream;
+    private final Path location;
+    private final long maxFileSize;
+    private final ContentStream content = new ContentStream();
+    private long size;
+    private boolean ended;
+    private boolean closed;
+
+    // file private
+    StreamingPart(PartHeaders headers, MultipartStream stream, Path location, long maxFileSize) {
+        this.headers = headers;
+        this.stream = stream;
+        this.location = location;
+        this.maxFileSize = maxFileSize;
+    }
+
+    /*
+     * Called when the iterator moves past this part, whose unread content is then skipped.
+     */
+    // file private
+    void close() {
+        closed = true;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return content;
+    }
+
+    @Override
+    public String getContentType() {
+        return headers.getContentType();
+    }
+
+    @Override
+    public String getName() {
+        return headers.getName();
+    }
+
+    @Override
+    public String getSubmittedFileName() {
+        return headers.getSubmittedFileName();
+    }
+
+    /*
+     * The size is that of the content read so far, and -1 until its end has been reached.
+     */
+    @Override
+    public long getSize() {
+        return ended ? size : -1;
+    }
+
+    /*
+     * Writes the unread content straight from the buffer of the parser to the file.
+     */
+    @Override
+    public void write(String fileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(location.resolve(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int n;
+            while ((n = available()) > 0) {
+                ByteBuffer buffer = ByteBuffer.wrap(stream.buffer(), stream.offset(), n);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                stream.skip(n);
+                size += n;
+            }
+        }
+    }
+
+    @Override
+    public void delete() {
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.getHeader(name);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        return headers.getHeaders(name);
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return headers.getHeaderNames();
+    }
+
+    /*
+     * Returns the number of bytes that can be taken from the buffer of the parser, or 0 at the end of the content,
+     * enforcing the maximum file size.
+     */
+    private int available() throws IOException {
+        if (closed) {
+            throw new IOException(MessageFormat.format(lStrings.getString("err.partClosed"), getName()));
+        }
+        if (ended) {
+            return 0;
+        }
+        int n = stream.available();
+        if (n < 0) {
+            ended = true;
+            return 0;
+        }
+        if (maxFileSize >= 0 && size + n > maxFileSize) {
+            throw new IllegalStateException(MessageFormat.format(lStrings.getString("err.fileSizeExceeded"),
+                    getName(), String.valueOf(maxFileSize)));
+        }
+        return n;
+    }
+
+    /*
+     * The content of the part, read from the buffer of the parser.
+     */
+    private final class ContentStream extends InputStream {
+
+        @Override
+        public int read() throws IOException {
+            if (available() == 0) {
+                return -1;
+            }
+            int b = stream.buffer()[stream.offset()] & 0xff;
+            stream.skip(1);
+            size++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            int n = StreamingPart.this.available();
+            if (n == 0) {
+                return -1;
+            }
+            n = Math.min(n, len);
+            System.arraycopy(stream.buffer(), stream.offset(), b, off, n);
+            stream.skip(n);
+            size += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            while (skipped < n) {
+                int available = StreamingPart.this.available();
+                if (available == 0) {
+                    break;
+                }
+                int step = (int) Math.min(n - skipped, available);
+                stream.skip(step);
+                size += step;
+                skipped += step;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return 0;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
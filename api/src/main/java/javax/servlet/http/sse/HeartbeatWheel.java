@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.sse;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * A timing wheel whose rotation is the heartbeat interval. Each subscriber sits in one slot, and each tick of the
+ * scheduler visits the next slot, so every subscriber is looked at once per interval, by one task for all of them,
+ * and the heartbeats of a large number of connections are spread over the interval instead of being sent together. A
+ * subscriber joins the slot that has just been visited, which is the one visited last, a whole interval later.
+ */
+// file private
+final class HeartbeatWheel implements Runnable {
+
+    private final Set<SseSubscriber>[] slots;
+    private final long idle;
+    private volatile int cursor;
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    HeartbeatWheel(int size, long interval) {
+        slots = new Set[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = ConcurrentHashMap.newKeySet();
+        }
+        // the visits of a slot drift by up to a tick, so a subscriber counts as idle a tick early
+        this.idle = interval - interval / size;
+    }
+
+    // file private
+    void add(SseSubscriber subscriber) {
+        int slot = (cursor + slots.length - 1) % slots.length;
+        subscriber.slot = slot;
+        slots[slot].add(subscriber);
+    }
+
+    // file private
+    void remove(SseSubscriber subscriber) {
+        slots[subscriber.slot].remove(subscriber);
+    }
+
+    @Override
+    public void run() {
+        int slot = cursor;
+        cursor = (slot + 1) % slots.length;
+        long now = System.nanoTime();
+        for (SseSubscriber subscriber : slots[slot]) {
+            subscriber.heartbeat(now, idle);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.sse;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ResourceBundle;
+
+/**
+ * <p>
+ * An event of a <code>text/event-stream</code>, encoded once, when it is created, into the UTF-8 bytes sent to every
+ * client. A {@link SseBroadcaster} writes the same bytes to all of its subscribers, so broadcasting costs one
+ * encoding however many clients there are.
+ * </p>
+ *
+ * <p>
+ * Data that spans several lines is sent as several <code>data</code> fields, which the client joins again with line
+ * feeds. Events are immutable and can be sent any number of times.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public final class ServerSentEvent {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.sse.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    // file private
+    static final ServerSentEvent HEARTBEAT = comment("");
+
+    private final byte[] bytes;
+
+    private ServerSentEvent(String text) {
+        this.bytes = text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates an event carrying data only, which the client receives as a <code>message</code> event.
+     *
+     * @param data the data
+     * @return the event
+     */
+    public static ServerSentEvent of(String data) {
+        return of(null, null, data);
+    }
+
+    /**
+     * Creates an event.
+     *
+     * @param id the id of the event, which the client sends back as <code>Last-Event-ID</code> when it reconnects, or
+     *           <code>null</code> for none
+     * @param name the name of the event, or <code>null</code> for a <code>message</code> event
+     * @param data the data
+     * @return the event
+     * @throws IllegalArgumentException if the id or the name contains a line break, or the id a NUL character
+     */
+    public static ServerSentEvent of(String id, String name, String data) {
+        StringBuilder text = new StringBuilder(data.length() + 16);
+        if (id != null) {
+            if (id.indexOf('\n') >= 0 || id.indexOf('\r') >= 0 || id.indexOf('\0') >= 0) {
+                throw new IllegalArgumentException(lStrings.getString("err.id"));
+            }
+            text.append("id: ").append(id).append('\n');
+        }
+        if (name != null) {
+            if (name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+                throw new IllegalArgumentException(lStrings.getString("err.name"));
+            }
+            text.append("event: ").append(name).append('\n');
+        }
+        appendLines(text, "data: ", data);
+        return new ServerSentEvent(text.append('\n').toString());
+    }
+
+    /**
+     * Creates a comment, which the client ignores. Comments keep a connection from looking idle to proxies.
+     *
+     * @param comment the text of the comment
+     * @return the comment
+     */
+    public static ServerSentEvent comment(String comment) {
+        StringBuilder text = new StringBuilder(comment.length() + 4);
+        appendLines(text, ":", comment);
+        return new ServerSentEvent(text.append('\n').toString());
+    }
+
+    /**
+     * Returns the encoded event.
+     *
+     * @return a read-only buffer of the bytes sent for the event
+     */
+    public ByteBuffer getBytes() {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    /*
+     * The encoded event itself, which must not be changed.
+     */
+    // file private
+    byte[] bytes() {
+        return bytes;
+    }
+
+    private static void appendLines(StringBuilder text, String field, String value) {
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '\r' || c == '\n') {
+                text.append(field).append(value, start, i).append('\n');
+                if (c == '\r' && i + 1 < length && value.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                start = i + 1;
+            }
+        }
+        text.append(field).append(value, start, length).append('\n');
+    }
+}
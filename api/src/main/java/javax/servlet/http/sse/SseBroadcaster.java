@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.sse;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * <p>
+ * Streams Server-Sent Events to any number of clients, each held open by the {@link AsyncContext} of its request,
+ * without a thread per client. {@link #subscribe subscribe} turns a request into an event stream, and
+ * {@link #broadcast(ServerSentEvent)} sends an event to every open stream: the event is encoded once, and its bytes
+ * are written to each client whose output stream is ready, or queued for it until the container reports that it is.
+ * See {@link SseSubscriber} for the bounded queues and the eviction of slow clients.
+ * </p>
+ *
+ * <p>
+ * Streams that carry no event for a whole heartbeat interval are sent a comment, which keeps proxies from closing
+ * them and reveals clients that have gone away. The heartbeats are driven by a single periodic task on the given
+ * scheduler, which walks a timing wheel of the subscribers, a slot per tick, so their cost is spread evenly over the
+ * interval.
+ * </p>
+ *
+ * <p>
+ * A broadcaster can be shared by all requests to a servlet, and used from any thread. Broadcasting writes to the
+ * streams that are ready on the calling thread, so with many clients it is best done off the container threads.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class SseBroadcaster {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.sse.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private static final int MAX_WHEEL_SIZE = 512;
+    private static final long MIN_TICK_MILLIS = 100;
+
+    private final int maxQueuedEvents;
+    private final Set<SseSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final HeartbeatWheel wheel;
+    private final ScheduledFuture<?> ticks;
+    private final AtomicLong evictions = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Creates a broadcaster.
+     *
+     * @param scheduler the scheduler of the heartbeats, or <code>null</code> if there are none
+     * @param heartbeatInterval the longest time a stream may stay idle before it is sent a heartbeat, or 0 for none
+     * @param unit the unit of the interval
+     * @param maxQueuedEvents the largest number of events waiting for a client before it is evicted
+     * @throws IllegalArgumentException if a parameter is not valid, or there are heartbeats but no scheduler
+     */
+    public SseBroadcaster(ScheduledExecutorService scheduler, long heartbeatInterval, TimeUnit unit,
+            int maxQueuedEvents) {
+        if (maxQueuedEvents < 1) {
+            throw new IllegalArgumentException(MessageFormat.format(lStrings.getString("err.config.invalid"),
+                    "maxQueuedEvents", String.valueOf(maxQueuedEvents)));
+        }
+        long interval = unit.toMillis(heartbeatInterval);
+        if (interval < 0 || (interval > 0 && scheduler == null)) {
+            throw new IllegalArgumentException(MessageFormat.format(lStrings.getString("err.config.invalid"),
+                    "heartbeatInterval", String.valueOf(heartbeatInterval)));
+        }
+        this.maxQueuedEvents = maxQueuedEvents;
+        if (interval == 0) {
+            wheel = null;
+            ticks = null;
+        } else {
+            int size = (int) Math.max(1, Math.min(MAX_WHEEL_SIZE, interval / MIN_TICK_MILLIS));
+            long tick = TimeUnit.MILLISECONDS.toNanos(interval) / size;
+            wheel = new HeartbeatWheel(size, TimeUnit.MILLISECONDS.toNanos(interval));
+            ticks = scheduler.scheduleAtFixedRate(wheel, tick, tick, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Turns a request into an event stream and subscribes it. The request is put into asynchronous mode, if it is not
+     * already, without a timeout; the response is given the <code>text/event-stream</code> content type and sent as
+     * soon as the container can.
+     *
+     * @param req the request
+     * @param resp the response, which must not have been committed
+     * @return the subscriber
+     * @throws IOException if the output stream of the response cannot be obtained
+     * @throws IllegalStateException if the broadcaster has been closed, or the request does not support asynchronous
+     *                               operation
+     */
+    public SseSubscriber subscribe(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (closed) {
+            throw new IllegalStateException(lStrings.getString("err.closed"));
+        }
+        AsyncContext asyncContext = req.isAsyncStarted() ? req.getAsyncContext() : req.startAsync(req, resp);
+        asyncContext.setTimeout(0);
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType("text/event-stream");
+        resp.setCharacterEncoding("UTF-8");
+        resp.setHeader("Cache-Control", "no-cache");
+        ServletOutputStream out = resp.getOutputStream();
+        SseSubscriber subscriber = new SseSubscriber(this, asyncContext, out, req.getHeader("Last-Event-ID"),
+                maxQueuedEvents);
+        subscribers.add(subscriber);
+        if (wheel != null) {
+            wheel.add(subscriber);
+        }
+        subscriber.start();
+        if (closed) {
+            subscriber.close();
+        }
+        return subscriber;
+    }
+
+    /**
+     * Sends an event to every open stream.
+     *
+     * @param event the event
+     * @return the number of subscribers the event was written or queued for
+     */
+    public int broadcast(ServerSentEvent event) {
+        int sent = 0;
+        for (SseSubscriber subscriber : subscribers) {
+            if (subscriber.send(event)) {
+                sent++;
+            }
+        }
+        return sent;
+    }
+
+    /**
+     * Returns the number of open streams.
+     *
+     * @return the number of subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Returns the number of clients evicted so far for not keeping up.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Closes every stream and stops the heartbeats. No more requests can subscribe.
+     */
+    public void close() {
+        closed = true;
+        if (ticks != null) {
+            ticks.cancel(false);
+        }
+        for (SseSubscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+    }
+
+    // file private
+    void remove(SseSubscriber subscriber) {
+        subscribers.remove(subscriber);
+        if (wheel != null) {
+            wheel.remove(subscriber);
+        }
+    }
+
+    // file private
+    void evicted() {
+        evictions.incrementAndGet();
+    }
+}
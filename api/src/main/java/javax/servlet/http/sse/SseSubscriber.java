@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.sse;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+/**
+ * <p>
+ * One client of a {@link SseBroadcaster}: an open event stream, held by the {@link AsyncContext} of its request.
+ * Events sent to it are queued, and written to the response only while its output stream is ready, so a slow client
+ * never blocks the sender; the stream is flushed once for each run of events written together, rather than for each
+ * event.
+ * </p>
+ *
+ * <p>
+ * The queue is bounded. A client whose queue overflows, or that has accepted nothing for a whole heartbeat interval
+ * while events are waiting, is evicted: its stream is completed, and it may reconnect, sending the id of the last
+ * event it received.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public final class SseSubscriber {
+
+    private final SseBroadcaster broadcaster;
+    private final AsyncContext asyncContext;
+    private final ServletOutputStream out;
+    private final String lastEventId;
+    private final int maxQueuedEvents;
+    private final Listener listener = new Listener();
+
+    private final Queue<ServerSentEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /*
+     * Events are queued by any thread and written by the container, through the write listener, as well as by the
+     * thread that queued them when the stream is ready, so every pass over the queue goes through drain(), which lets
+     * only one thread in at a time and makes it loop again if another thread asked for a pass meanwhile.
+     */
+    private final AtomicInteger passes = new AtomicInteger();
+
+    // the response is flushed once it has been started, for the client to see the stream open
+    private boolean flushPending = true;
+    private volatile long lastWrite = System.nanoTime();
+
+    // the slot of the heartbeat wheel, set before the subscriber is published to the wheel
+    // file private
+    int slot;
+
+    // file private
+    SseSubscriber(SseBroadcaster broadcaster, AsyncContext asyncContext, ServletOutputStream out, String lastEventId,
+            int maxQueuedEvents) {
+        this.broadcaster = broadcaster;
+        this.asyncContext = asyncContext;
+        this.out = out;
+        this.maxQueuedEvents = maxQueuedEvents;
+        this.lastEventId = lastEventId;
+    }
+
+    // file private
+    void start() {
+        asyncContext.addListener(listener);
+        out.setWriteListener(listener);
+    }
+
+    /**
+     * Returns the id of the last event the client received before it reconnected.
+     *
+     * @return the value of the <code>Last-Event-ID</code> header, or <code>null</code> if there is none
+     */
+    public String getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * Returns the asynchronous context that holds the event stream open.
+     *
+     * @return the context
+     */
+    public AsyncContext getAsyncContext() {
+        return asyncContext;
+    }
+
+    /**
+     * Returns the number of events waiting to be written.
+     *
+     * @return the number of events
+     */
+    public int getQueuedEvents() {
+        return queued.get();
+    }
+
+    /**
+     * Returns whether the stream is still open.
+     *
+     * @return <code>false</code> once the subscriber has been closed or evicted, or the client has gone away
+     */
+    public boolean isOpen() {
+        return !closed.get();
+    }
+
+    /**
+     * Sends an event to this client alone. The event is written at once if the stream is ready, and queued otherwise.
+     *
+     * @param event the event
+     * @return <code>false</code> if the subscriber is closed, or was evicted because its queue is full
+     */
+    public boolean send(ServerSentEvent event) {
+        if (closed.get()) {
+            return false;
+        }
+        if (queued.incrementAndGet() > maxQueuedEvents) {
+            queued.decrementAndGet();
+            evict();
+            return false;
+        }
+        queue.offer(event);
+        drain();
+        return true;
+    }
+
+    /**
+     * Ends the event stream and completes the asynchronous processing of its request. Events still queued are
+     * dropped.
+     */
+    public void close() {
+        if (markClosed()) {
+            complete();
+        }
+    }
+
+    /*
+     * Called by the heartbeat wheel once per interval: a stream idle for about that long is sent a comment, and a
+     * stream that has accepted nothing for as long although events are waiting is evicted.
+     */
+    // file private
+    void heartbeat(long now, long idle) {
+        if (now - lastWrite < idle) {
+            return;
+        }
+        if (queued.get() == 0) {
+            send(ServerSentEvent.HEARTBEAT);
+        } else {
+            evict();
+        }
+    }
+
+    private void evict() {
+        if (markClosed()) {
+            broadcaster.evicted();
+            complete();
+        }
+    }
+
+    private boolean markClosed() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        broadcaster.remove(this);
+        queue.clear();
+        queued.set(0);
+        return true;
+    }
+
+    private void complete() {
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // already completed by the container
+        }
+    }
+
+    private void drain() {
+        if (passes.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            write();
+            missed = passes.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /*
+     * One pass: writes queued events while the stream is ready, then flushes them, if the stream is still ready. A
+     * stream that is not ready arranges for onWritePossible(), which starts the next pass.
+     */
+    private void write() {
+        if (closed.get()) {
+            return;
+        }
+        try {
+            while (out.isReady()) {
+                ServerSentEvent event = queue.poll();
+                if (event == null) {
+                    if (!flushPending) {
+                        return;
+                    }
+                    flushPending = false;
+                    out.flush();
+                    continue;
+                }
+                queued.decrementAndGet();
+                byte[] bytes = event.bytes();
+                out.write(bytes, 0, bytes.length);
+                lastWrite = System.nanoTime();
+                flushPending = true;
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+        }
+    }
+
+    /*
+     * Receives the readiness of the stream and the end of the asynchronous processing from the container.
+     */
+    private final class Listener implements WriteListener, AsyncListener {
+
+        @Override
+        public void onWritePossible() {
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            markClosed();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.throttle;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.AsyncContext;
+
+/*
+ * The concurrency limit for one servlet mapping, adjusted from the observed latency, together with the requests
+ * parked while waiting for a permit.
+ *
+ * The limit follows a gradient: a moving average of the latency is compared with a baseline that stands for the
+ * latency without queueing. The baseline is the lowest latency seen, allowed to creep up slowly with every sample so
+ * that it follows a resource that has genuinely become slower. While the average stays within the tolerance of the
+ * baseline the limit grows by about its square root per update; once requests start queueing and the average rises,
+ * the ratio drops below one and the limit shrinks in proportion. Samples taken while fewer than half the permits are
+ * in use carry no information about capacity and only update the latencies. A failed or timed out request cuts the
+ * limit multiplicatively.
+ *
+ * Updates are skipped, rather than waited for, when another thread is applying one; with many requests completing
+ * the limit still follows the load closely.
+ */
+// file private
+final class AdaptiveLimiter {
+
+    private static final double WEIGHT = 0.1;
+    private static final double DRIFT = 1.0005;
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private volatile double limit;
+    private double rtt;
+    private double baselineRtt;
+
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final LongAdder shedCount = new LongAdder();
+    private final LongAdder parkedCount = new LongAdder();
+
+    // file private
+    AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    // file private
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /*
+     * Gives the permit back, or hands it straight to a parked request if the limit allows.
+     */
+    // file private
+    void release() {
+        if (inFlight.get() <= (int) limit) {
+            Waiter waiter = pollWaiter();
+            if (waiter != null) {
+                waiter.resume();
+                return;
+            }
+        }
+        inFlight.decrementAndGet();
+    }
+
+    // file private
+    void onSample(long rttNanos) {
+        if (!updating.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            double sample = Math.max(1, rttNanos);
+            rtt = rtt == 0 ? sample : rtt * (1 - WEIGHT) + sample * WEIGHT;
+            baselineRtt = baselineRtt == 0 ? sample : Math.min(sample, baselineRtt * DRIFT);
+            double current = limit;
+            if (inFlight.get() < current / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineRtt / rtt));
+            double target = current * gradient + Math.sqrt(current);
+            setLimit(current * (1 - SMOOTHING) + target * SMOOTHING);
+        } finally {
+            updating.set(false);
+        }
+    }
+
+    // file private
+    void onDropped() {
+        if (!updating.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            setLimit(limit * BACKOFF);
+        } finally {
+            updating.set(false);
+        }
+    }
+
+    /*
+     * Queues a parked request unless the queue is full. The caller must call retry() afterwards, since a permit may
+     * have been released between its failed attempt and the request joining the queue.
+     */
+    // file private
+    Waiter park(AsyncContext asyncContext, int maxWaiting) {
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            return null;
+        }
+        Waiter waiter = new Waiter(this, asyncContext);
+        waiters.add(waiter);
+        parkedCount.increment();
+        return waiter;
+    }
+
+    // file private
+    void retry(Waiter waiter) {
+        if (tryAcquire()) {
+            if (waiter.claim()) {
+                if (waiters.remove(waiter)) {
+                    waiting.decrementAndGet();
+                }
+                waiter.resume();
+            } else {
+                release();
+            }
+        }
+    }
+
+    /*
+     * Takes a parked request out of the queue if it has not been claimed by its timeout; returns false if it has
+     * already been resumed.
+     */
+    // file private
+    boolean cancel(Waiter waiter) {
+        if (!waiter.claim()) {
+            return false;
+        }
+        if (waiters.remove(waiter)) {
+            waiting.decrementAndGet();
+        }
+        return true;
+    }
+
+    // file private
+    void shed() {
+        shedCount.increment();
+    }
+
+    // file private
+    LimiterStatistics getStatistics(String pattern) {
+        return new LimiterStatistics(pattern, (int) limit, inFlight.get(), waiting.get(), shedCount.sum(),
+                parkedCount.sum(), (long) baselineRtt, (long) rtt);
+    }
+
+    private Waiter pollWaiter() {
+        Waiter waiter;
+        while ((waiter = waiters.poll()) != null) {
+            waiting.decrementAndGet();
+            if (waiter.claim()) {
+                return waiter;
+            }
+        }
+        return null;
+    }
+
+    private void setLimit(double value) {
+        limit = Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    /*
+     * A request parked in asynchronous mode. Whoever claims it first, a releasing request or the timeout, decides
+     * its fate.
+     *
+     * A claimed request is handed a permit and dispatched again. The permit is held by the waiter until the dispatch
+     * takes it through the filter; if the filter never sees the dispatch, because it is not mapped for ASYNC or the
+     * request ends first, the listener registered at park time gives it back when the request ends.
+     */
+    // file private
+    static final class Waiter {
+
+        private final AdaptiveLimiter limiter;
+        private final AsyncContext asyncContext;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final AtomicBoolean permit = new AtomicBoolean();
+
+        Waiter(AdaptiveLimiter limiter, AsyncContext asyncContext) {
+            this.limiter = limiter;
+            this.asyncContext = asyncContext;
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        AdaptiveLimiter getLimiter() {
+            return limiter;
+        }
+
+        /*
+         * Dispatches the request again, carrying the permit that was handed to it.
+         */
+        void resume() {
+            permit.set(true);
+            try {
+                asyncContext.getRequest().setAttribute(ConcurrencyLimitFilter.PERMIT_ATTRIBUTE, this);
+                asyncContext.dispatch();
+            } catch (IllegalStateException e) {
+                // the request has ended while it was parked
+                returnPermit();
+            }
+        }
+
+        /*
+         * Takes over the permit; returns false if it has already been taken or given back.
+         */
+        boolean takePermit() {
+            return permit.compareAndSet(true, false);
+        }
+
+        /*
+         * Gives back the permit if nobody has taken it.
+         */
+        void returnPermit() {
+            if (takePermit()) {
+                limiter.release();
+            }
+        }
+    }
+}
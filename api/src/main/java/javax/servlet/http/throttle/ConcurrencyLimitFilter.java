@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.throttle;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpFilter;
+import javax.servlet.http.HttpServletMapping;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InitParameters;
+
+/**
+ * <p>
+ * A filter that limits the number of requests executing at the same time for each servlet mapping, and sheds the
+ * excess quickly instead of letting it queue inside the container. Each mapping pattern, as returned by
+ * {@link HttpServletMapping#getPattern()}, has its own limit, which adapts to the latency observed for it: it grows
+ * while latency stays close to its baseline and shrinks as soon as latency rises, which is the sign that requests are
+ * queueing for some resource further down.
+ * </p>
+ *
+ * <p>
+ * A request that finds the limit reached is refused with status 503 (Service Unavailable) and a
+ * <code>Retry-After</code> header, or, if <code>maxWait</code> is set and the request supports asynchronous processing,
+ * parked in asynchronous mode for up to <code>maxWait</code> milliseconds. A parked request does not hold a thread;
+ * when a permit becomes free it is handed to the oldest parked request, which is dispatched again, through
+ * {@link AsyncContext#dispatch()}, to execute. This filter, and the filters that should apply to the request, must
+ * therefore be mapped for the <code>ASYNC</code> dispatcher type as well. Should this filter not see the dispatch, the
+ * request still holds its permit until it completes, but its latency is not sampled. At most <code>maxWaiting</code>
+ * requests per mapping are parked; requests that wait in vain are refused like the others.
+ * </p>
+ *
+ * <p>
+ * The current limit, the number of requests executing and waiting, and the number of requests shed for each mapping
+ * are available from {@link #getStatistics()}. The filter registers itself as a servlet context attribute named after
+ * this class followed by <code>"."</code> and the filter name, so that other components can find it.
+ * </p>
+ *
+ * <p>
+ * The filter recognizes the following initialization parameters:
+ * </p>
+ * <ul>
+ * <li><code>initialLimit</code> - the limit a mapping starts with; defaults to 20</li>
+ * <li><code>minLimit</code> - the lowest the limit may go; defaults to 1</li>
+ * <li><code>maxLimit</code> - the highest the limit may go; defaults to 1000</li>
+ * <li><code>maxWait</code> - the time in milliseconds a request may be parked waiting for a permit; defaults to 0,
+ * meaning that requests are refused at once</li>
+ * <li><code>maxWaiting</code> - the maximum number of requests parked per mapping; defaults to 100</li>
+ * <li><code>retryAfter</code> - the value in seconds of the <code>Retry-After</code> header of refused requests;
+ * defaults to 1</li>
+ * </ul>
+ *
+ * @since Servlet 4.0.4
+ */
+public class ConcurrencyLimitFilter extends HttpFilter {
+
+    private static final long serialVersionUID = -6040911584723719526L;
+
+    private static final String LSTRING_FILE = "javax.servlet.http.throttle.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    /*
+     * Set on a parked request when a permit is handed to it, so that the dispatch that follows executes under it.
+     */
+    // file private
+    static final String PERMIT_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".permit";
+
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 1000;
+    private long maxWait = 0;
+    private int maxWaiting = 100;
+    private String retryAfter = "1";
+
+    private transient ConcurrentHashMap<String, AdaptiveLimiter> limiters;
+    private transient byte[] rejectionBody;
+
+    /**
+     * Reads the initialization parameters and registers the filter as a servlet context attribute.
+     *
+     * @throws ServletException if an initialization parameter is not valid
+     */
+    @Override
+    public void init() throws ServletException {
+        minLimit = InitParameters.getInt(this, "minLimit", minLimit, 1, Integer.MAX_VALUE);
+        maxLimit = InitParameters.getInt(this, "maxLimit", maxLimit, minLimit, Integer.MAX_VALUE);
+        initialLimit = InitParameters.getInt(this, "initialLimit", initialLimit, 1, Integer.MAX_VALUE);
+        maxWait = InitParameters.getLong(this, "maxWait", maxWait, 0, Long.MAX_VALUE);
+        maxWaiting = InitParameters.getInt(this, "maxWaiting", maxWaiting, 0, Integer.MAX_VALUE);
+        retryAfter = Long.toString(InitParameters.getLong(this, "retryAfter", 1, 0, Integer.MAX_VALUE));
+
+        limiters = new ConcurrentHashMap<>();
+        rejectionBody = lStrings.getString("concurrencyLimit.rejected").getBytes(StandardCharsets.UTF_8);
+        getServletContext().setAttribute(getAttributeName(), this);
+    }
+
+    /**
+     * Executes the request if a permit is free for its servlet mapping, and otherwise parks or refuses it.
+     *
+     * @param req   the request
+     * @param res   the response
+     * @param chain the <code>FilterChain</code> for invoking the next filter or the resource
+     * @throws IOException      if an input or output error occurs
+     * @throws ServletException if the request could not be handled
+     */
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        DispatcherType type = req.getDispatcherType();
+        if (type == DispatcherType.ASYNC) {
+            Object permit = req.getAttribute(PERMIT_ATTRIBUTE);
+            if (permit instanceof AdaptiveLimiter.Waiter) {
+                req.removeAttribute(PERMIT_ATTRIBUTE);
+                AdaptiveLimiter.Waiter waiter = (AdaptiveLimiter.Waiter) permit;
+                if (waiter.takePermit()) {
+                    execute(waiter.getLimiter(), req, res, chain);
+                    return;
+                }
+            }
+        }
+        if (type != DispatcherType.REQUEST) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        AdaptiveLimiter limiter = limiterFor(req);
+        if (limiter.tryAcquire()) {
+            execute(limiter, req, res, chain);
+            return;
+        }
+        if (maxWait > 0 && req.isAsyncSupported()) {
+            AsyncContext asyncContext = req.startAsync(req, res);
+            AdaptiveLimiter.Waiter waiter = limiter.park(asyncContext, maxWaiting);
+            if (waiter != null) {
+                asyncContext.setTimeout(maxWait);
+                asyncContext.addListener(new WaitListener(limiter, waiter));
+                limiter.retry(waiter);
+                return;
+            }
+            limiter.shed();
+            reject((HttpServletResponse) asyncContext.getResponse());
+            asyncContext.complete();
+            return;
+        }
+        limiter.shed();
+        reject(res);
+    }
+
+    /**
+     * Removes the servlet context attribute.
+     */
+    @Override
+    public void destroy() {
+        if (limiters != null) {
+            getServletContext().removeAttribute(getAttributeName());
+        }
+    }
+
+    /**
+     * Returns a snapshot of the limit and counters of each servlet mapping seen so far, keyed by mapping pattern.
+     *
+     * @return the current statistics
+     */
+    public Map<String, LimiterStatistics> getStatistics() {
+        Map<String, LimiterStatistics> statistics = new LinkedHashMap<>();
+        for (Map.Entry<String, AdaptiveLimiter> e : limiters.entrySet()) {
+            statistics.put(e.getKey(), e.getValue().getStatistics(e.getKey()));
+        }
+        return statistics;
+    }
+
+    private String getAttributeName() {
+        return ConcurrencyLimitFilter.class.getName() + "." + getFilterName();
+    }
+
+    private AdaptiveLimiter limiterFor(HttpServletRequest req) {
+        HttpServletMapping mapping = req.getHttpServletMapping();
+        String pattern = mapping == null || mapping.getPattern() == null ? "" : mapping.getPattern();
+        AdaptiveLimiter limiter = limiters.get(pattern);
+        if (limiter == null) {
+            limiter = limiters.computeIfAbsent(pattern, p -> new AdaptiveLimiter(initialLimit, minLimit, maxLimit));
+        }
+        return limiter;
+    }
+
+    /*
+     * Invokes the chain under a permit, which is released, and the latency sampled, when the request completes.
+     */
+    private void execute(final AdaptiveLimiter limiter, HttpServletRequest req, HttpServletResponse res,
+            FilterChain chain) throws IOException, ServletException {
+        final long start = System.nanoTime();
+        boolean released = false;
+        try {
+            chain.doFilter(req, res);
+            if (req.isAsyncStarted()) {
+                req.getAsyncContext().addListener(new AsyncListener() {
+
+                    private boolean failed;
+
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        if (failed) {
+                            limiter.onDropped();
+                        } else {
+                            limiter.onSample(System.nanoTime() - start);
+                        }
+                        limiter.release();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        failed = true;
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        failed = true;
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+            } else {
+                limiter.onSample(System.nanoTime() - start);
+                limiter.release();
+            }
+            released = true;
+        } finally {
+            if (!released) {
+                limiter.onDropped();
+                limiter.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse res) throws IOException {
+        if (res.isCommitted()) {
+            return;
+        }
+        res.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        res.setHeader("Retry-After", retryAfter);
+        res.setContentType("text/plain;charset=UTF-8");
+        res.setContentLength(rejectionBody.length);
+        ServletOutputStream out = res.getOutputStream();
+        out.write(rejectionBody);
+    }
+
+    /*
+     * Refuses a parked request whose wait has run out, unless a permit was handed to it just in time. A permit that
+     * was handed to the request but never taken by a dispatch through the filter is given back when the request ends,
+     * however it ends.
+     */
+    private class WaitListener implements AsyncListener {
+
+        private final AdaptiveLimiter limiter;
+        private final AdaptiveLimiter.Waiter waiter;
+
+        WaitListener(AdaptiveLimiter limiter, AdaptiveLimiter.Waiter waiter) {
+            this.limiter = limiter;
+            this.waiter = waiter;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (!limiter.cancel(waiter)) {
+                waiter.returnPermit();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            AsyncContext asyncContext = event.getAsyncContext();
+            if (limiter.cancel(waiter)) {
+                limiter.shed();
+                reject((HttpServletResponse) asyncContext.getResponse());
+                asyncContext.complete();
+            } else {
+                waiter.returnPermit();
+            }
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (!limiter.cancel(waiter)) {
+                waiter.returnPermit();
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // a dispatch that bypassed the filter went asynchronous again while still holding the permit
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
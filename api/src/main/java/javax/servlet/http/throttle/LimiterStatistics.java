@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.throttle;
+
+/**
+ * An immutable snapshot of the state of the concurrency limit kept by a {@link ConcurrencyLimitFilter} for one servlet
+ * mapping. Counters are cumulative since the mapping was first seen.
+ *
+ * @since Servlet 4.0.4
+ */
+public final class LimiterStatistics {
+
+    private final String pattern;
+    private final int limit;
+    private final int inFlight;
+    private final int waiting;
+    private final long shedCount;
+    private final long parkedCount;
+    private final long baselineLatency;
+    private final long recentLatency;
+
+    /**
+     * Creates a snapshot with the given values.
+     *
+     * @param pattern         the servlet mapping pattern the limit applies to
+     * @param limit           the current concurrency limit
+     * @param inFlight        the number of requests executing
+     * @param waiting         the number of requests parked waiting for a permit
+     * @param shedCount       the number of requests refused with status 503
+     * @param parkedCount     the number of requests that were parked
+     * @param baselineLatency the latency without queueing in nanoseconds
+     * @param recentLatency   the moving average of the latency in nanoseconds
+     */
+    public LimiterStatistics(String pattern, int limit, int inFlight, int waiting, long shedCount, long parkedCount,
+            long baselineLatency, long recentLatency) {
+        this.pattern = pattern;
+        this.limit = limit;
+        this.inFlight = inFlight;
+        this.waiting = waiting;
+        this.shedCount = shedCount;
+        this.parkedCount = parkedCount;
+        this.baselineLatency = baselineLatency;
+        this.recentLatency = recentLatency;
+    }
+
+    /**
+     * Returns the servlet mapping pattern the limit applies to, as returned by
+     * {@link javax.servlet.http.HttpServletMapping#getPattern()}.
+     *
+     * @return the mapping pattern
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns the current number of requests allowed to execute at the same time.
+     *
+     * @return the concurrency limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the number of requests executing at the time of the snapshot.
+     *
+     * @return the in-flight count
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns the number of requests parked waiting for a permit at the time of the snapshot.
+     *
+     * @return the waiting count
+     */
+    public int getWaiting() {
+        return waiting;
+    }
+
+    /**
+     * Returns the number of requests refused with status 503, either at once or after waiting.
+     *
+     * @return the shed count
+     */
+    public long getShedCount() {
+        return shedCount;
+    }
+
+    /**
+     * Returns the number of requests that were parked waiting for a permit, whether or not they got one.
+     *
+     * @return the parked count
+     */
+    public long getParkedCount() {
+        return parkedCount;
+    }
+
+    /**
+     * Returns the estimate of the request latency without queueing, which is based on the lowest latency seen recently.
+     *
+     * @return the baseline latency in nanoseconds
+     */
+    public long getBaselineLatency() {
+        return baselineLatency;
+    }
+
+    /**
+     * Returns the moving average of the request latency.
+     *
+     * @return the recent latency in nanoseconds
+     */
+    public long getRecentLatency() {
+        return recentLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "LimiterStatistics[pattern=" + pattern + ", limit=" + limit + ", inFlight=" + inFlight + ", waiting="
+                + waiting + ", shedCount=" + shedCount + ", parkedCount=" + parkedCount + ", baselineLatency="
+                + baselineLatency + ", recentLatency=" + recentLatency + "]";
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.throttle;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InitParameters;
+
+/**
+ * <p>
+ * A filter that limits the rate of requests per client with a token bucket for each client. A client may send up to
+ * <code>burst</code> requests at once, and then <code>rate</code> requests per <code>period</code>. Requests beyond
+ * that are refused with status 429 (Too Many Requests), a <code>Retry-After</code> header giving the number of seconds
+ * until the next request will be accepted, and a short plain text body.
+ * </p>
+ *
+ * <p>
+ * Clients are identified by the remote address, by the value of a request header such as an API key, or by the name
+ * of the authenticated user, as selected by <code>key</code>. Requests without the header, or without an
+ * authenticated user, are limited by their remote address.
+ * </p>
+ *
+ * <p>
+ * The buckets are kept in a table that is split into stripes and updated with compare-and-set operations, so that
+ * checking a request takes no lock. The number of clients tracked is bounded by <code>maxClients</code>; clients that
+ * have not been seen for <code>idleTimeout</code> milliseconds are forgotten first when room is needed. Only requests
+ * with a dispatcher type of <code>REQUEST</code> are counted.
+ * </p>
+ *
+ * <p>
+ * The filter recognizes the following initialization parameters:
+ * </p>
+ * <ul>
+ * <li><code>key</code> - <code>remoteAddr</code>, <code>principal</code> or <code>header:</code> followed by a header
+ * name; defaults to <code>remoteAddr</code></li>
+ * <li><code>rate</code> - the number of requests allowed per period; defaults to 100</li>
+ * <li><code>period</code> - the length of the period in milliseconds; defaults to 1000</li>
+ * <li><code>burst</code> - the number of requests a client may send at once; defaults to <code>rate</code></li>
+ * <li><code>maxClients</code> - the maximum number of clients tracked; defaults to 65536</li>
+ * <li><code>idleTimeout</code> - the time in milliseconds after which a client that is within its limit is forgotten;
+ * defaults to 60000</li>
+ * </ul>
+ *
+ * @since Servlet 4.0.4
+ */
+public class RateLimitFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 4418920387163720215L;
+
+    private static final String LSTRING_FILE = "javax.servlet.http.throttle.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
+    private static final String HEADER_PREFIX = "header:";
+
+    private String header;
+    private boolean principal;
+
+    private transient TokenBucketTable buckets;
+    private transient byte[] rejectionBody;
+    private transient LongAdder allowedCount;
+    private transient LongAdder rejectedCount;
+
+    /**
+     * Reads the initialization parameters and creates the bucket table.
+     *
+     * @throws ServletException if an initialization parameter is not valid
+     */
+    @Override
+    public void init() throws ServletException {
+        String key = getInitParameter("key");
+        if (key != null && key.startsWith(HEADER_PREFIX) && key.length() > HEADER_PREFIX.length()) {
+            header = key.substring(HEADER_PREFIX.length()).trim();
+        } else if ("principal".equals(key)) {
+            principal = true;
+        } else if (key != null && !"remoteAddr".equals(key)) {
+            throw InitParameters.invalid("key", key);
+        }
+        long rate = InitParameters.getLong(this, "rate", 100, 1, Integer.MAX_VALUE);
+        long period = InitParameters.getLong(this, "period", 1000, 1, Integer.MAX_VALUE);
+        long burst = InitParameters.getLong(this, "burst", rate, 1, Integer.MAX_VALUE);
+        int maxClients = InitParameters.getInt(this, "maxClients", 65536, 1, Integer.MAX_VALUE);
+        long idleTimeout = InitParameters.getLong(this, "idleTimeout", 60000, 0, Integer.MAX_VALUE);
+
+        long intervalNanos = Math.max(1, TimeUnit.MILLISECONDS.toNanos(period) / rate);
+        buckets = new TokenBucketTable(intervalNanos, burst, maxClients, TimeUnit.MILLISECONDS.toNanos(idleTimeout));
+        rejectionBody = lStrings.getString("rateLimit.rejected").getBytes(StandardCharsets.UTF_8);
+        allowedCount = new LongAdder();
+        rejectedCount = new LongAdder();
+    }
+
+    /**
+     * Takes a token from the client's bucket and invokes the chain, or refuses the request if the bucket is empty.
+     *
+     * @param req   the request
+     * @param res   the response
+     * @param chain the <code>FilterChain</code> for invoking the next filter or the resource
+     * @throws IOException      if an input or output error occurs
+     * @throws ServletException if the request could not be handled
+     */
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        if (req.getDispatcherType() != DispatcherType.REQUEST) {
+            chain.doFilter(req, res);
+            return;
+        }
+        long wait = buckets.tryAcquire(clientKey(req));
+        if (wait == 0) {
+            allowedCount.increment();
+            chain.doFilter(req, res);
+            return;
+        }
+        rejectedCount.increment();
+        res.setStatus(SC_TOO_MANY_REQUESTS);
+        res.setHeader("Retry-After", Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999999999))));
+        res.setContentType("text/plain;charset=UTF-8");
+        res.setContentLength(rejectionBody.length);
+        ServletOutputStream out = res.getOutputStream();
+        out.write(rejectionBody);
+    }
+
+    /**
+     * Returns the number of requests let through since the filter was initialized.
+     *
+     * @return the allowed count
+     */
+    public long getAllowedCount() {
+        return allowedCount.sum();
+    }
+
+    /**
+     * Returns the number of requests refused since the filter was initialized.
+     *
+     * @return the rejected count
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Returns the number of clients currently tracked.
+     *
+     * @return the client count
+     */
+    public int getClientCount() {
+        return buckets.size();
+    }
+
+    private String clientKey(HttpServletRequest req) {
+        if (header != null) {
+            String value = req.getHeader(header);
+            if (value != null) {
+                return value;
+            }
+        } else if (principal) {
+            Principal user = req.getUserPrincipal();
+            if (user != null) {
+                return user.getName();
+            }
+        }
+        return req.getRemoteAddr();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.throttle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/*
+ * A bounded table of token buckets, one per key, split into independent stripes so that neither lookups nor the
+ * occasional clean-up contend across the whole table.
+ *
+ * Each bucket is a single word updated with compare-and-set: rather than a token count and a refill timestamp, it
+ * holds the time at which the bucket will be full again (the "theoretical arrival time" of the generic cell rate
+ * algorithm, which admits exactly the same requests as a token bucket). Taking a token pushes that time one
+ * emission interval further; the request is refused if it would end up more than the burst capacity ahead of now.
+ *
+ * A bucket that has been full for longer than the idle timeout carries no information and is removed when its stripe
+ * runs out of room. If a stripe is still full after that, the bucket that has been idle the longest is dropped, or,
+ * when another thread is already sweeping the stripe, an arbitrary one. The bound is approximate by the number of
+ * threads inserting at the same moment.
+ */
+// file private
+final class TokenBucketTable {
+
+    private static final AtomicLongFieldUpdater<Bucket> FULL_AT = AtomicLongFieldUpdater.newUpdater(Bucket.class,
+            "fullAt");
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final long idleNanos;
+    private final int maxPerStripe;
+    private final long origin = System.nanoTime();
+
+    /*
+     * Creates a table for buckets refilled with one token every intervalNanos, holding at most burst tokens.
+     */
+    // file private
+    TokenBucketTable(long intervalNanos, long burst, int maxEntries, long idleNanos) {
+        int n = Integer.highestOneBit(Math.max(1, Math.min(64, maxEntries / 16)));
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = n - 1;
+        this.intervalNanos = intervalNanos;
+        this.capacityNanos = intervalNanos * burst;
+        this.idleNanos = idleNanos;
+        this.maxPerStripe = Math.max(1, maxEntries / n);
+    }
+
+    /*
+     * Takes a token from the bucket for the key. Returns 0 if one was available, otherwise the number of nanoseconds
+     * until one will be.
+     */
+    // file private
+    long tryAcquire(String key) {
+        long now = System.nanoTime() - origin;
+        int h = key.hashCode();
+        Stripe stripe = stripes[(h ^ (h >>> 16)) & mask];
+        Bucket bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            bucket = stripe.insert(key, now);
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    // file private
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.count.get();
+        }
+        return size;
+    }
+
+    private final class Stripe {
+
+        final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicBoolean sweeping = new AtomicBoolean();
+
+        Bucket insert(String key, long now) {
+            if (count.get() >= maxPerStripe && !sweep(now)) {
+                evictAny();
+            }
+            Bucket bucket = new Bucket();
+            Bucket existing = buckets.putIfAbsent(key, bucket);
+            if (existing != null) {
+                return existing;
+            }
+            count.incrementAndGet();
+            return bucket;
+        }
+
+        /*
+         * Removes idle buckets, or failing that the least recently used one. Returns false, without doing anything,
+         * if another thread is already sweeping.
+         */
+        private boolean sweep(long now) {
+            if (!sweeping.compareAndSet(false, true)) {
+                return false;
+            }
+            try {
+                String oldestKey = null;
+                Bucket oldest = null;
+                for (Map.Entry<String, Bucket> e : buckets.entrySet()) {
+                    Bucket bucket = e.getValue();
+                    long fullAt = bucket.fullAt;
+                    if (now - fullAt > idleNanos) {
+                        if (buckets.remove(e.getKey(), bucket)) {
+                            count.decrementAndGet();
+                        }
+                    } else if (oldest == null || fullAt < oldest.fullAt) {
+                        oldestKey = e.getKey();
+                        oldest = bucket;
+                    }
+                }
+                if (count.get() >= maxPerStripe && oldest != null && buckets.remove(oldestKey, oldest)) {
+                    count.decrementAndGet();
+                }
+            } finally {
+                sweeping.set(false);
+            }
+            return true;
+        }
+
+        /*
+         * Makes room without waiting for a sweep in progress by dropping whichever bucket comes first.
+         */
+        private void evictAny() {
+            for (Map.Entry<String, Bucket> e : buckets.entrySet()) {
+                if (buckets.remove(e.getKey(), e.getValue())) {
+                    count.decrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    private final class Bucket {
+
+        volatile long fullAt;
+
+        long tryAcquire(long now) {
+            while (true) {
+                long current = fullAt;
+                long next = Math.max(current, now) + intervalNanos;
+                long excess = next - now - capacityNanos;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (FULL_AT.compareAndSet(this, current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.trailer;
+
+import java.util.Collections;
+import java.util.Map;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * <p>
+ * Reads the trailer fields of a request safely. {@link HttpServletRequest#getTrailerFields()} may only be called once
+ * {@link HttpServletRequest#isTrailerFieldsReady()} returns <code>true</code>, which is once the body has been read
+ * to its end; these methods check that first, and also accept requests that are not HTTP requests, which have no
+ * trailer fields.
+ * </p>
+ *
+ * <p>
+ * The non-blocking readers of request bodies read to the end before they complete, so their completion is the point
+ * at which the trailer fields can be read: {@link javax.servlet.io.RequestBody#getTrailerFields()} holds those of an
+ * aggregated body, {@link javax.servlet.http.multipart.MultipartHandler#onTrailerFields(Map)} receives those of a
+ * multipart body, and they can be read with {@link #getTrailerFields(ServletRequest)} once an
+ * {@link javax.servlet.io.UploadSink} has completed or a {@link javax.servlet.io.ServletInputStreamPublisher} has
+ * signalled <code>onComplete</code>.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public final class RequestTrailers {
+
+    private RequestTrailers() {
+    }
+
+    /**
+     * Returns whether the trailer fields of a request can be read.
+     *
+     * @param req the request
+     * @return <code>true</code> if the body has been read to its end, or the request cannot have trailer fields
+     */
+    public static boolean isReady(ServletRequest req) {
+        return !(req instanceof HttpServletRequest) || ((HttpServletRequest) req).isTrailerFieldsReady();
+    }
+
+    /**
+     * Returns the trailer fields of a request, if they can be read.
+     *
+     * @param req the request
+     * @return the trailer fields, with lowercase names; empty if there are none, or if they are not ready
+     */
+    public static Map<String, String> getTrailerFields(ServletRequest req) {
+        if (!(req instanceof HttpServletRequest)) {
+            return Collections.emptyMap();
+        }
+        HttpServletRequest http = (HttpServletRequest) req;
+        if (!http.isTrailerFieldsReady()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> fields = http.getTrailerFields();
+        return fields == null ? Collections.<String, String>emptyMap() : fields;
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.http.trailer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.digest.ContentDigest;
+import javax.servlet.internal.InterceptingResponseWrapper;
+
+/**
+ * <p>
+ * A response wrapper that measures a body while it is streamed and sends the measurements as trailer fields once the
+ * body is complete, so that a long response, such as an export, can carry its length, checksum or row count without
+ * being buffered to compute them first. Nothing of the body is held by the wrapper; each write goes straight through,
+ * and only counters and running digests are updated on the way.
+ * </p>
+ *
+ * <p>
+ * The following trailer fields are sent:
+ * </p>
+ * <ul>
+ * <li><code>Body-Length</code> - the number of bytes of the body</li>
+ * <li><code>Row-Count</code> - the total given to {@link #addRows(long)}, if it has been called</li>
+ * <li><code>Content-Digest</code> - the digest given to {@link #setChecksum(ContentDigest)}, if any, over the body</li>
+ * <li><code>Server-Timing</code> - the metrics given to {@link #addServerTiming addServerTiming}, followed by
+ * <code>total</code>, the time from the creation of the wrapper to the end of the body</li>
+ * <li>the fields given to {@link #setTrailer(String, String)}</li>
+ * </ul>
+ *
+ * <p>
+ * The names of trailer fields must be announced in the <code>Trailer</code> header, which is sent with the start of
+ * the body. Fields are therefore declared, with {@link #declareTrailer(String)}, {@link #setChecksum(ContentDigest)}
+ * or by setting them, before the body is started by the first call to {@link #getOutputStream()},
+ * {@link #getWriter()} or {@link #flushBuffer()}; the values of declared fields can be set until the body is complete.
+ * </p>
+ *
+ * <p>
+ * Trailer fields are only sent where the protocol allows: not over HTTP/1.0 and, over HTTP/1.1, only for a response
+ * sent in chunked encoding, so the content length must not be set. {@link #isTrailerSupported()} tells whether the
+ * container accepted them. The supplier given to {@link #setTrailerFields(Supplier)} by the application is kept, and
+ * its fields are sent after those of the wrapper.
+ * </p>
+ *
+ * <p>
+ * The measurements may be added to from any thread.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class TrailerResponseWrapper extends InterceptingResponseWrapper {
+
+    private static final String LSTRING_FILE = "javax.servlet.http.trailer.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    /**
+     * The name of the trailer field giving the length of the body.
+     */
+    public static final String BODY_LENGTH = "Body-Length";
+
+    /**
+     * The name of the trailer field giving the number of rows.
+     */
+    public static final String ROW_COUNT = "Row-Count";
+
+    /**
+     * The name of the trailer field giving the checksum of the body.
+     */
+    public static final String CONTENT_DIGEST = "Content-Digest";
+
+    /**
+     * The name of the trailer field giving the server timing metrics.
+     */
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final long startTime = System.nanoTime();
+    private final Set<String> declared = new LinkedHashSet<>();
+    private final Map<String, String> fields = new LinkedHashMap<>();
+    private final StringBuilder timings = new StringBuilder();
+    private long rows = -1;
+    private ContentDigest checksum;
+    private Supplier<Map<String, String>> applicationTrailers;
+
+    private CountingOutputStream stream;
+    private boolean started;
+    private boolean supported;
+
+    /**
+     * Creates a wrapper declaring the <code>Body-Length</code>, <code>Row-Count</code> and
+     * <code>Server-Timing</code> trailer fields.
+     *
+     * @param response the response to wrap
+     */
+    public TrailerResponseWrapper(HttpServletResponse response) {
+        super(response);
+        declared.add(BODY_LENGTH);
+        declared.add(ROW_COUNT);
+        declared.add(SERVER_TIMING);
+    }
+
+    /**
+     * Declares a trailer field, to be announced in the <code>Trailer</code> header.
+     *
+     * @param name the name of the field
+     * @throws IllegalStateException if the body has been started
+     */
+    public synchronized void declareTrailer(String name) {
+        if (started) {
+            throw new IllegalStateException(lStrings.getString("err.started"));
+        }
+        declared.add(name);
+    }
+
+    /**
+     * Sets the digest of the body, sent as the <code>Content-Digest</code> trailer field. Every byte of the body is
+     * added to it, and it is finished when the trailer fields are sent.
+     *
+     * @param checksum the digest, which nothing else updates
+     * @throws IllegalStateException if the body has been started
+     */
+    public synchronized void setChecksum(ContentDigest checksum) {
+        declareTrailer(CONTENT_DIGEST);
+        this.checksum = checksum;
+    }
+
+    /**
+     * Sets the value of a trailer field, replacing any previous value.
+     *
+     * @param name the name of the field
+     * @param value the value of the field
+     * @throws IllegalStateException if the body has been started and the field was not declared
+     */
+    public synchronized void setTrailer(String name, String value) {
+        if (!declared.contains(name)) {
+            if (started) {
+                throw new IllegalStateException(MessageFormat.format(lStrings.getString("err.undeclared"), name));
+            }
+            declared.add(name);
+        }
+        fields.put(name, value);
+    }
+
+    /**
+     * Adds to the number of rows sent as the <code>Row-Count</code> trailer field.
+     *
+     * @param count the number of rows written
+     */
+    public synchronized void addRows(long count) {
+        rows = Math.max(rows, 0) + count;
+    }
+
+    /**
+     * Returns the number of rows counted.
+     *
+     * @return the number of rows, or -1 if {@link #addRows(long)} has not been called
+     */
+    public synchronized long getRowCount() {
+        return rows;
+    }
+
+    /**
+     * Adds a metric to the <code>Server-Timing</code> trailer field.
+     *
+     * @param metric the name of the metric, a token
+     * @param duration the duration
+     * @param unit the unit of the duration
+     * @param description the description of the metric, or <code>null</code>
+     */
+    public synchronized void addServerTiming(String metric, long duration, TimeUnit unit, String description) {
+        timings.append(metric).append(";dur=").append(millis(unit.toNanos(duration)));
+        if (description != null) {
+            timings.append(";desc=\"");
+            for (int i = 0; i < description.length(); i++) {
+                char c = description.charAt(i);
+                if (c == '"' || c == '\\') {
+                    timings.append('\\');
+                }
+                timings.append(c);
+            }
+            timings.append('"');
+        }
+        timings.append(", ");
+    }
+
+    /**
+     * Returns the number of bytes of the body written so far, including the text written through the writer, which
+     * reaches the body as it is written.
+     *
+     * @return the number of bytes
+     */
+    public synchronized long getBytesWritten() {
+        return stream == null ? 0 : stream.count;
+    }
+
+    /**
+     * Returns whether the container accepted the trailer fields of this response.
+     *
+     * @return <code>true</code> if the body has been started and trailer fields will be sent
+     */
+    public synchronized boolean isTrailerSupported() {
+        return supported;
+    }
+
+    @Override
+    public synchronized void setTrailerFields(Supplier<Map<String, String>> supplier) {
+        applicationTrailers = supplier;
+    }
+
+    @Override
+    public synchronized Supplier<Map<String, String>> getTrailerFields() {
+        return applicationTrailers;
+    }
+
+    @Override
+    protected synchronized ServletOutputStream newOutputStream() throws IOException {
+        start();
+        stream = new CountingOutputStream(getResponse().getOutputStream(), getChecksum());
+        return stream;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        start();
+        super.flushBuffer();
+    }
+
+    private synchronized ContentDigest getChecksum() {
+        return checksum;
+    }
+
+    /*
+     * Hands the trailer fields to the container and announces them, while the response can still take headers.
+     */
+    private synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (response.isCommitted()) {
+            return;
+        }
+        try {
+            response.setTrailerFields(this::trailerFields);
+        } catch (IllegalStateException e) {
+            // trailers are not supported for this response
+            return;
+        }
+        StringBuilder names = new StringBuilder();
+        for (String name : declared) {
+            if (names.length() > 0) {
+                names.append(", ");
+            }
+            names.append(name);
+        }
+        response.setHeader("Trailer", names.toString());
+        supported = true;
+    }
+
+    /*
+     * Called by the container as the body completes. It only reads what the stream has counted and digested, and
+     * writes nothing.
+     */
+    private synchronized Map<String, String> trailerFields() {
+        Map<String, String> trailers = new LinkedHashMap<>();
+        trailers.put(BODY_LENGTH, String.valueOf(getBytesWritten()));
+        if (rows >= 0) {
+            trailers.put(ROW_COUNT, String.valueOf(rows));
+        }
+        if (checksum != null) {
+            checksum.finish();
+            trailers.put(CONTENT_DIGEST, checksum.toFieldValue());
+        }
+        trailers.put(SERVER_TIMING, timings + "total;dur=" + millis(System.nanoTime() - startTime));
+        trailers.putAll(fields);
+        if (applicationTrailers != null) {
+            Map<String, String> application = applicationTrailers.get();
+            if (application != null) {
+                trailers.putAll(application);
+            }
+        }
+        return trailers;
+    }
+
+    private static String millis(long nanos) {
+        return BigDecimal.valueOf(nanos / 1000, 3).stripTrailingZeros().toPlainString();
+    }
+
+    /*
+     * Counts, and digests if asked to, the bytes of the body on their way to the container.
+     */
+    private static final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream out;
+        private final ContentDigest checksum;
+        // written by the application, read by the container as it generates the trailer fields
+        private volatile long count;
+
+        CountingOutputStream(ServletOutputStream out, ContentDigest checksum) {
+            this.out = out;
+            this.checksum = checksum;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (checksum != null) {
+                checksum.update(b);
+            }
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (checksum != null) {
+                checksum.update(b, off, len);
+            }
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return out.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            out.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.internal;
+
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletException;
+
+/**
+ * <p>
+ * Parses the initialization parameters of filters and servlets, reporting a value that is not valid with a
+ * <code>ServletException</code> that names the parameter.
+ * </p>
+ *
+ * <p>
+ * This class is shared by the filters and servlets of the subpackages of <code>javax.servlet</code>. It is not part of the Servlet
+ * API, is not exported, and may change without notice.
+ * </p>
+ */
+public final class InitParameters {
+
+    private static final String LSTRING_FILE = "javax.servlet.internal.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private InitParameters() {
+    }
+
+    /**
+     * Returns an integer initialization parameter.
+     *
+     * @param config       the configuration of the filter
+     * @param name         the name of the parameter
+     * @param defaultValue the value if the parameter is not set
+     * @param min          the smallest valid value
+     * @param max          the largest valid value
+     * @return the value of the parameter, or the default value
+     * @throws ServletException if the parameter is not an integer between <code>min</code> and <code>max</code>
+     */
+    public static int getInt(FilterConfig config, String name, int defaultValue, int min, int max)
+            throws ServletException {
+        return (int) getLong(config, name, defaultValue, min, max);
+    }
+
+    /**
+     * Returns a long initialization parameter.
+     *
+     * @param config       the configuration of the filter
+     * @param name         the name of the parameter
+     * @param defaultValue the value if the parameter is not set
+     * @param min          the smallest valid value
+     * @param max          the largest valid value
+     * @return the value of the parameter, or the default value
+     * @throws ServletException if the parameter is not an integer between <code>min</code> and <code>max</code>
+     */
+    public static long getLong(FilterConfig config, String name, long defaultValue, long min, long max)
+            throws ServletException {
+        return parseLong(name, config.getInitParameter(name), defaultValue, min, max);
+    }
+
+    /**
+     * Returns a long initialization parameter of a servlet.
+     *
+     * @param config       the configuration of the servlet
+     * @param name         the name of the parameter
+     * @param defaultValue the value if the parameter is not set
+     * @param min          the smallest valid value
+     * @param max          the largest valid value
+     * @return the value of the parameter, or the default value
+     * @throws ServletException if the parameter is not an integer between <code>min</code> and <code>max</code>
+     */
+    public static long getLong(ServletConfig config, String name, long defaultValue, long min, long max)
+            throws ServletException {
+        return parseLong(name, config.getInitParameter(name), defaultValue, min, max);
+    }
+
+    private static long parseLong(String name, String value, long defaultValue, long min, long max)
+            throws ServletException {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            long parsed = Long.parseLong(value.trim());
+            if (parsed >= min && parsed <= max) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw invalid(name, value);
+    }
+
+    /**
+     * Returns the exception that reports an initialization parameter that is not valid.
+     *
+     * @param name  the name of the parameter
+     * @param value the value of the parameter
+     * @return the exception, to be thrown by the caller
+     */
+    public static ServletException invalid(String name, String value) {
+        return new ServletException(MessageFormat.format(lStrings.getString("err.config.invalid"), name, value));
+    }
+
+    /**
+     * Returns the exception that reports an initialization parameter that is not valid.
+     *
+     * @param name  the name of the parameter
+     * @param value the value of the parameter
+     * @param cause the reason the value is not valid
+     * @return the exception, to be thrown by the caller
+     */
+    public static ServletException invalid(String name, String value, Throwable cause) {
+        return new ServletException(MessageFormat.format(lStrings.getString("err.config.invalid"), name, value),
+                cause);
+    }
+}
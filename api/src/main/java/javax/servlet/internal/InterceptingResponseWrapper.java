@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * <p>
+ * A response wrapper that sees every byte of the body on its way to the wrapped response. The subclass supplies the
+ * stream the body is written through; text written through {@link #getWriter()} is encoded here, over that same
+ * stream, so that it is seen in bytes too. The writer holds nothing back: the text of each write reaches the stream as
+ * soon as it is written, so the stream has seen the whole body whenever the application stops writing, whether or not
+ * it flushes or closes the writer.
+ * </p>
+ *
+ * <p>
+ * The wrapped response only ever hands out its output stream, so it cannot know that the body is written as text. The
+ * wrapper therefore does what the container does for its own writer: it announces the character encoding of the
+ * writer when the writer is obtained, and from then on ignores the changes to the character encoding that
+ * {@link #setCharacterEncoding(String)}, {@link #setContentType(String)} and {@link #setLocale(Locale)} would make,
+ * so that the charset sent always describes the bytes of the body.
+ * </p>
+ *
+ * <p>
+ * This class is shared by the response wrappers of the subpackages of <code>javax.servlet</code>. It is not part of
+ * the Servlet API, is not exported, and may change without notice.
+ * </p>
+ */
+public abstract class InterceptingResponseWrapper extends HttpServletResponseWrapper {
+
+    private static final String LSTRING_FILE = "javax.servlet.internal.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private ServletOutputStream stream;
+    private PrintWriter writer;
+    private String writerEncoding;
+    private boolean pushing;
+
+    /**
+     * Creates a wrapper.
+     *
+     * @param response the response to wrap
+     * @throws IllegalArgumentException if the response is null
+     */
+    protected InterceptingResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * Creates the stream the body is written through. It is called once, when the body is first asked for through
+     * {@link #getOutputStream()} or {@link #getWriter()}, and normally writes to the output stream of the wrapped
+     * response.
+     *
+     * @return the stream of the body
+     * @throws IOException if an I/O error occurs
+     */
+    protected abstract ServletOutputStream newOutputStream() throws IOException;
+
+    /**
+     * Returns the stream of the body.
+     *
+     * @return the stream created by {@link #newOutputStream()}
+     * @throws IllegalStateException if {@link #getWriter()} has been called
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException(lStrings.getString("err.ise.getOutputStream"));
+        }
+        if (stream == null) {
+            stream = newOutputStream();
+        }
+        return stream;
+    }
+
+    /**
+     * Returns a writer that encodes the text of the body over the stream created by {@link #newOutputStream()}.
+     *
+     * @return the writer
+     * @throws IllegalStateException if {@link #getOutputStream()} has been called
+     * @throws IOException if the character encoding is not supported, or an I/O error occurs
+     */
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (stream != null) {
+                throw new IllegalStateException(lStrings.getString("err.ise.getWriter"));
+            }
+            String encoding = getCharacterEncoding();
+            Writer text = new TextOutput(new OutputStreamWriter(new WriterOutput(), encoding));
+            // announce the charset exactly as the container would if its own writer were used
+            setCharacterEncoding(encoding);
+            stream = newOutputStream();
+            writer = new PrintWriter(text);
+            writerEncoding = encoding;
+        }
+        return writer;
+    }
+
+    /**
+     * Sets the character encoding, unless the writer has been obtained.
+     *
+     * @param charset the character encoding
+     */
+    @Override
+    public void setCharacterEncoding(String charset) {
+        if (writerEncoding == null) {
+            super.setCharacterEncoding(charset);
+        }
+    }
+
+    /**
+     * Sets the content type. Once the writer has been obtained, a charset given with the type is ignored.
+     *
+     * @param type the content type
+     */
+    @Override
+    public void setContentType(String type) {
+        super.setContentType(type);
+        keepWriterEncoding();
+    }
+
+    /**
+     * Sets the locale. Once the writer has been obtained, the character encoding is left as it is.
+     *
+     * @param loc the locale
+     */
+    @Override
+    public void setLocale(Locale loc) {
+        super.setLocale(loc);
+        keepWriterEncoding();
+    }
+
+    /**
+     * Resets the wrapped response. Once the writer has been obtained, the character encoding is kept, because the
+     * writer goes on encoding with it.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        keepWriterEncoding();
+    }
+
+    /**
+     * Returns the character encoding the writer encodes with.
+     *
+     * @return the character encoding, or <code>null</code> if the writer has not been obtained
+     */
+    protected String getWriterEncoding() {
+        return writerEncoding;
+    }
+
+    private void keepWriterEncoding() {
+        if (writerEncoding != null && !writerEncoding.equalsIgnoreCase(super.getCharacterEncoding())) {
+            super.setCharacterEncoding(writerEncoding);
+        }
+    }
+
+    /*
+     * The writer under the PrintWriter, which encodes the text of each write and pushes it into the stream of the body
+     * at once, so that no text waits in the encoder for a flush that may never come.
+     */
+    private final class TextOutput extends Writer {
+
+        private final OutputStreamWriter encoder;
+
+        TextOutput(OutputStreamWriter encoder) {
+            this.encoder = encoder;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            encoder.write(c);
+            push();
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            encoder.write(cbuf, off, len);
+            push();
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            encoder.write(str, off, len);
+            push();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            encoder.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            encoder.close();
+        }
+
+        private void push() throws IOException {
+            pushing = true;
+            try {
+                encoder.flush();
+            } finally {
+                pushing = false;
+            }
+        }
+    }
+
+    /*
+     * The stream under the writer. A flush of the writer by the application is a flush of the stream of the body, but
+     * a flush made only to push the text of the writer into that stream goes no further.
+     */
+    private final class WriterOutput extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            stream.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            stream.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!pushing) {
+                stream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            stream.close();
+        }
+    }
+}
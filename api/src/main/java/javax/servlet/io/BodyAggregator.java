@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.http.trailer.RequestTrailers;
+
+/**
+ * <p>
+ * Reads the whole body of a request without blocking, for bodies small enough to be handled at once, such as JSON
+ * documents. {@link #aggregate(ServletRequest)} registers a {@link ReadListener} on the input stream of the request,
+ * reads whatever is available each time the container reports data, into buffers taken from a pool, and completes the
+ * returned stage with a {@link RequestBody} once all data has been read, together with the trailer fields of the
+ * request, if any. No thread waits for the client meanwhile.
+ * </p>
+ *
+ * <p>
+ * A body longer than the limit completes the stage exceptionally with an {@link IllegalStateException}, as soon as
+ * the declared content length or the data read so far exceeds it, and the buffers already read are given back to the
+ * pool. A failure of the stream completes it exceptionally with that failure.
+ * </p>
+ *
+ * <p>
+ * The request must be in asynchronous mode, and its input stream must not have been used. An aggregator holds no
+ * state of its own requests, so one instance can be shared by all requests to a servlet.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class BodyAggregator {
+
+    private static final String LSTRING_FILE = "javax.servlet.io.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private final ByteBufferPool pool;
+    private final long maxSize;
+
+    /**
+     * Creates an aggregator.
+     *
+     * @param pool the pool of the buffers the bodies are read into
+     * @param maxSize the largest body accepted, in bytes, or -1 for no limit
+     */
+    public BodyAggregator(ByteBufferPool pool, long maxSize) {
+        if (pool == null) {
+            throw new NullPointerException();
+        }
+        this.pool = pool;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the largest body accepted.
+     *
+     * @return the limit in bytes, or -1 for none
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Starts reading the body of a request.
+     *
+     * @param req the request, which must be in asynchronous mode
+     * @return the stage that completes with the body
+     */
+    public CompletionStage<RequestBody> aggregate(ServletRequest req) {
+        CompletableFuture<RequestBody> result = new CompletableFuture<>();
+        long declared = req.getContentLengthLong();
+        if (maxSize >= 0 && declared > maxSize) {
+            result.completeExceptionally(tooLarge(declared));
+            return result;
+        }
+        try {
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new Aggregation(req, in, result));
+        } catch (IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private IllegalStateException tooLarge(long size) {
+        return new IllegalStateException(
+                MessageFormat.format(lStrings.getString("err.body.tooLarge"), String.valueOf(size),
+                String.valueOf(maxSize)));
+    }
+
+    /*
+     * The reading of one body. The container does not invoke a read listener concurrently, and the stream is read
+     * only from its callbacks, so no further synchronization is needed. Each callback reads until isReady() returns
+     * false, which arranges for the next onDataAvailable(), or until the end of the body; a read that returns nothing
+     * while the stream is ready is simply followed by another call to isReady().
+     */
+    private final class Aggregation implements ReadListener {
+
+        private final ServletRequest req;
+        private final ServletInputStream in;
+        private final CompletableFuture<RequestBody> result;
+        private final List<ByteBuffer> buffers = new ArrayList<>();
+        private ByteBuffer current;
+        private long size;
+        private byte[] transfer;
+
+        Aggregation(ServletRequest req, ServletInputStream in, CompletableFuture<RequestBody> result) {
+            this.req = req;
+            this.in = in;
+            this.result = result;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                while (in.isReady()) {
+                    if (current == null || !current.hasRemaining()) {
+                        current = pool.acquire();
+                        buffers.add(current);
+                    }
+                    int n = fill(current);
+                    if (n < 0) {
+                        onAllDataRead();
+                        return;
+                    }
+                    size += n;
+                    if (maxSize >= 0 && size > maxSize) {
+                        fail(tooLarge(size));
+                        return;
+                    }
+                }
+                if (in.isFinished()) {
+                    onAllDataRead();
+                }
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            if (result.isDone()) {
+                return;
+            }
+            for (ByteBuffer buffer : buffers) {
+                buffer.flip();
+            }
+            if (current != null && !current.hasRemaining()) {
+                // the last buffer received nothing before the end was read
+                buffers.remove(buffers.size() - 1);
+                pool.release(current);
+            }
+            current = null;
+            result.complete(new RequestBody(buffers, size, pool, RequestTrailers.getTrailerFields(req)));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            fail(t);
+        }
+
+        private int fill(ByteBuffer buffer) throws IOException {
+            if (buffer.hasArray()) {
+                int n = in.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                if (n > 0) {
+                    buffer.position(buffer.position() + n);
+                }
+                return n;
+            }
+            if (transfer == null) {
+                transfer = new byte[Math.min(buffer.capacity(), 8192)];
+            }
+            int n = in.read(transfer, 0, Math.min(buffer.remaining(), transfer.length));
+            if (n > 0) {
+                buffer.put(transfer, 0, n);
+            }
+            return n;
+        }
+
+        private void fail(Throwable t) {
+            if (result.isDone()) {
+                return;
+            }
+            for (ByteBuffer buffer : buffers) {
+                pool.release(buffer);
+            }
+            buffers.clear();
+            current = null;
+            result.completeExceptionally(t);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.io;
+
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.Queue;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * A bounded pool of byte buffers of one size, heap or direct. Streaming a body through a freshly allocated buffer for
+ * every read or write makes short-lived garbage in proportion to the traffic, and direct buffers are costly to
+ * allocate and are only reclaimed by the garbage collector, so the adapters of this package take their buffers from a
+ * pool and return them when they are done.
+ * </p>
+ *
+ * <p>
+ * A buffer obtained with {@link #acquire()} is cleared and belongs to the caller until it is given back with
+ * {@link #release(ByteBuffer)}; it must not be used after that. Buffers beyond the number kept idle are left to the
+ * garbage collector. The pool is safe for use by multiple threads.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class ByteBufferPool {
+
+    private static final String LSTRING_FILE = "javax.servlet.io.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private final int bufferSize;
+    private final boolean direct;
+    private final int maxIdle;
+
+    private final Queue<ByteBuffer> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * Creates a pool.
+     *
+     * @param bufferSize the capacity of the buffers
+     * @param direct whether the buffers are direct buffers rather than heap buffers
+     * @param maxIdle the largest number of buffers kept for reuse
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    public ByteBufferPool(int bufferSize, boolean direct, int maxIdle) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format(lStrings.getString("err.pool.size"),
+                    String.valueOf(bufferSize)));
+        }
+        this.bufferSize = bufferSize;
+        this.direct = direct;
+        this.maxIdle = Math.max(0, maxIdle);
+    }
+
+    /**
+     * Returns the capacity of the buffers of this pool.
+     *
+     * @return the buffer size
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Returns whether the buffers of this pool are direct buffers.
+     *
+     * @return <code>true</code> for direct buffers
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Takes an idle buffer, or allocates one if there is none.
+     *
+     * @return a cleared buffer of {@link #getBufferSize()} bytes
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = idle.poll();
+        if (buffer == null) {
+            return direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+        }
+        idleCount.decrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * Gives a buffer back for reuse. Buffers of another size or kind, read-only buffers and buffers beyond the number
+     * kept idle are dropped.
+     *
+     * @param buffer the buffer, which may be <code>null</code>
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.capacity() != bufferSize || buffer.isDirect() != direct || buffer.isReadOnly()) {
+            return;
+        }
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            return;
+        }
+        buffer.clear();
+        idle.offer(buffer);
+    }
+
+    /**
+     * Drops all idle buffers.
+     */
+    public void clear() {
+        while (idle.poll() != null) {
+            idleCount.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package javax.servlet.io;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InitParameters;
+
+/**
+ * <p>
+ * A filter that sends the responses of the filtered requests through a {@link CoalescingResponseWrapper}, so that
+ * small writes are combined and frequent flushes coalesced, and that calls {@link CoalescingResponseWrapper#finish()}
+ * once the filter chain has returned, so that no combined bytes are lost when the container completes the response.
+ * The buffers come from a pool shared by all requests.
+ * </p>
+ *
+ * <p>
+ * Deferred flushes are taken once the flush interval has passed by a single daemon thread of the filter, so that the
+ * last event of a stream that falls silent still reaches the client on time. A request that is still asynchronous
+ * when the filter chain returns is finished all the same, since no callback comes before the container completes the
+ * response: the writes it makes afterwards pass straight through, uncombined.
+ * </p>
+ *
+ * <p>
+ * The filter recognizes the following initialization parameters:
+ * </p>
+ * <ul>
+ * <li><code>bufferSize</code> - the size of the buffers in which writes are combined; defaults to 8192</li>
+ * <li><code>poolSize</code> - the maximum number of idle buffers kept for reuse; defaults to 64</li>
+ * <li><code>flushThreshold</code> - the number of bytes written since the last flush from which a flush is taken at
+ * once, 0 to take every flush; defaults to 8192</li>
+ * <li><code>flushInterval</code> - the time in milliseconds since the last flush after which a flush is taken
+ * regardless of the threshold; defaults to 50</li>
+ * <li><code>scheduledFlush</code> - <code>false</code> to leave deferred flushes to the next write or flush of the
+ * application instead of the thread of the filter; defaults to <code>true</code></li>
+ * </ul>
+ *
+ * @since Servlet 4.0.4
+ */
+public class CoalescingOutputFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 6118705233640517239L;
+
+    private static final String APPLIED = CoalescingOutputFilter.class.getName() + ".applied";
+
+    private int bufferSize = 8192;
+    private int poolSize = 64;
+    private long flushThreshold = 8192;
+    private long flushInterval = 50;
+
+    private transient ByteBufferPool pool;
+    private transient ScheduledExecutorService scheduler;
+
+    /**
+     * Reads the initialization parameters, creates the pool of buffers and starts the thread of the deferred flushes.
+     *
+     * @throws ServletException if an initialization parameter is not valid
+     */
+    @Override
+    public void init() throws ServletException {
+        bufferSize = InitParameters.getInt(this, "bufferSize", bufferSize, 64, Integer.MAX_VALUE);
+        poolSize = InitParameters.getInt(this, "poolSize", poolSize, 0, Integer.MAX_VALUE);
+        flushThreshold = InitParameters.getLong(this, "flushThreshold", flushThreshold, 0, Long.MAX_VALUE);
+        flushInterval = InitParameters.getLong(this, "flushInterval", flushInterval, 0, Long.MAX_VALUE);
+
+        pool = new ByteBufferPool(bufferSize, false, poolSize);
+        if (!"false".equalsIgnoreCase(getInitParameter("scheduledFlush"))) {
+            final String name = CoalescingOutputFilter.class.getSimpleName() + "-" + getFilterName();
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, task -> {
+                Thread thread = new Thread(task, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            scheduler = executor;
+        }
+    }
+
+    /**
+     * Wraps the response so that its writes are combined, and sends what is still combined once the filter chain has
+     * returned.
+     *
+     * @param req   the request
+     * @param res   the response
+     * @param chain the <code>FilterChain</code> for invoking the next filter or the resource
+     * @throws IOException      if an input or output error occurs while sending the response
+     * @throws ServletException if the request could not be handled
+     */
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        if (req.getAttribute(APPLIED) != null) {
+            chain.doFilter(req, res);
+            return;
+        }
+        CoalescingResponseWrapper wrapper = new CoalescingResponseWrapper(res, pool, flushThreshold, flushInterval,
+                TimeUnit.MILLISECONDS, scheduler);
+        req.setAttribute(APPLIED, Boolean.TRUE);
+        try {
+            chain.doFilter(req, wrapper);
+        } finally {
+            req.removeAttribute(APPLIED);
+            wrapper.finish();
+        }
+    }
+
+    /**
+     * Stops the thread of the deferred flushes.
+     */
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.io;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.internal.InterceptingResponseWrapper;
+
+/**
+ * <p>
+ * A response wrapper whose body goes through a {@link CoalescingServletOutputStream}, whether it is written through
+ * {@link #getOutputStream()} or, encoded here, through {@link #getWriter()}. Flushing the stream or the writer is
+ * coalesced as the stream describes, while {@link #flushBuffer()} sends everything at once, for the responses that
+ * must reach the client without delay; resetting the buffer of the response discards the bytes combined so far.
+ * </p>
+ *
+ * <p>
+ * Bytes still combined when the container completes the response would be lost, so whoever wraps the response calls
+ * {@link #finish()} once the body is written, typically after the filter chain has returned, unless the application
+ * closes the stream or the writer itself. {@link CoalescingOutputFilter} wraps the responses of a web application and
+ * does so.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class CoalescingResponseWrapper extends InterceptingResponseWrapper {
+
+    private final ByteBufferPool pool;
+    private final long flushThreshold;
+    private final long flushInterval;
+    private final TimeUnit unit;
+    private final ScheduledExecutorService scheduler;
+
+    private CoalescingServletOutputStream stream;
+
+    /**
+     * Creates a wrapper whose deferred flushes wait for the next write or flush.
+     *
+     * @param response the response to wrap
+     * @param pool the pool of the buffers, which must give heap buffers
+     * @param flushThreshold the number of bytes sent since the last flush from which a flush is taken, or 0 to take
+     *                       every flush
+     * @param flushInterval the time since the last flush after which a flush is taken regardless of the threshold
+     * @param unit the unit of the interval
+     */
+    public CoalescingResponseWrapper(HttpServletResponse response, ByteBufferPool pool, long flushThreshold,
+            long flushInterval, TimeUnit unit) {
+        this(response, pool, flushThreshold, flushInterval, unit, null);
+    }
+
+    /**
+     * Creates a wrapper whose deferred flushes are taken by the scheduler once the interval has passed.
+     *
+     * @param response the response to wrap
+     * @param pool the pool of the buffers, which must give heap buffers
+     * @param flushThreshold the number of bytes sent since the last flush from which a flush is taken, or 0 to take
+     *                       every flush
+     * @param flushInterval the time since the last flush after which a flush is taken regardless of the threshold
+     * @param unit the unit of the interval
+     * @param scheduler the scheduler of the deferred flushes, or <code>null</code> to leave them to the writer
+     */
+    public CoalescingResponseWrapper(HttpServletResponse response, ByteBufferPool pool, long flushThreshold,
+            long flushInterval, TimeUnit unit, ScheduledExecutorService scheduler) {
+        super(response);
+        this.pool = pool;
+        this.flushThreshold = flushThreshold;
+        this.flushInterval = flushInterval;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    protected ServletOutputStream newOutputStream() throws IOException {
+        stream = new CoalescingServletOutputStream(getResponse().getOutputStream(), pool, flushThreshold, flushInterval,
+                unit, scheduler);
+        return stream;
+    }
+
+    /**
+     * Sends everything written so far and flushes the response at once, whatever the coalescing settings.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void flushBuffer() throws IOException {
+        if (stream != null) {
+            stream.forceFlush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        discard();
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        discard();
+        super.reset();
+    }
+
+    /**
+     * Sends the bytes still combined to the container and gives the buffer back to its pool, without flushing or
+     * closing the response, which the container completes as usual. Nothing may be written afterwards.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void finish() throws IOException {
+        if (stream != null) {
+            stream.finish();
+        }
+    }
+
+    private void discard() {
+        if (stream != null) {
+            stream.discard();
+        }
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+/**
+ * <p>
+ * A decorator of a {@link ServletOutputStream} that combines small writes and coalesces flushes. Writes are gathered
+ * in a buffer taken from a pool, and handed to the container only when the buffer is full or flushed, so a template
+ * engine or a JSON writer that emits many tiny fragments makes one call to the container per buffer instead of one
+ * per fragment. A write at least as large as the buffer is not copied: what is buffered is sent ahead of it, and it
+ * then goes to the container as it is.
+ * </p>
+ *
+ * <p>
+ * {@link #flush()} sends the buffered bytes and flushes the container only if at least <code>flushThreshold</code>
+ * bytes have been written since the last flush, or <code>flushInterval</code> has passed since then. Otherwise the
+ * flush is deferred: the bytes stay combined, and the flush is taken by the first write once the interval has passed,
+ * or by the next flush that qualifies. A stream that flushes after every small event thus costs one write and one
+ * flush of the container per threshold or interval. {@link #forceFlush()}, which
+ * {@link CoalescingResponseWrapper#flushBuffer()} calls, flushes at once, for the writes that must not wait.
+ * </p>
+ *
+ * <p>
+ * Without a scheduler, a deferred flush waits for the next write or flush, so the last event before the writer falls
+ * silent stays buffered until then. Given a {@link ScheduledExecutorService}, the stream takes a deferred flush on its
+ * own once the interval has passed; the scheduled task never waits for a write in progress, which takes the flush
+ * itself when it ends.
+ * </p>
+ *
+ * <p>
+ * Once a {@link WriteListener} is set, the buffered bytes are sent and the stream passes everything through, since a
+ * non-blocking writer must see the readiness of the container itself. Closing the stream sends the buffered bytes and
+ * gives the buffer back to its pool. The stream is not safe for use by multiple threads, as output streams usually are
+ * not; only the scheduled flush runs concurrently with the writer, and it is guarded by the stream.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class CoalescingServletOutputStream extends ServletOutputStream {
+
+    private static final String LSTRING_FILE = "javax.servlet.io.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private final ServletOutputStream out;
+    private final ByteBufferPool pool;
+    private final long flushThreshold;
+    private final long flushInterval;
+    private final ScheduledExecutorService scheduler;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private ByteBuffer buffer;
+    // bytes written since the container was last flushed, buffered or sent
+    private long unflushed;
+    private long lastFlush = System.nanoTime();
+    private boolean flushDeferred;
+    private boolean passThrough;
+    private boolean closed;
+    // set by the writer under the lock, and by the scheduler when it has to look again while the writer holds it
+    private volatile ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Creates a stream whose deferred flushes wait for the next write or flush.
+     *
+     * @param out the stream to write to
+     * @param pool the pool of the buffer, which must give heap buffers
+     * @param flushThreshold the number of bytes sent since the last flush from which a flush is taken, or 0 to take
+     *                       every flush
+     * @param flushInterval the time since the last flush after which a flush is taken regardless of the threshold
+     * @param unit the unit of the interval
+     * @throws IllegalArgumentException if the pool gives direct buffers, or a flush setting is negative
+     */
+    public CoalescingServletOutputStream(ServletOutputStream out, ByteBufferPool pool, long flushThreshold,
+            long flushInterval, TimeUnit unit) {
+        this(out, pool, flushThreshold, flushInterval, unit, null);
+    }
+
+    /**
+     * Creates a stream whose deferred flushes are taken by the scheduler once the interval has passed.
+     *
+     * @param out the stream to write to
+     * @param pool the pool of the buffer, which must give heap buffers
+     * @param flushThreshold the number of bytes sent since the last flush from which a flush is taken, or 0 to take
+     *                       every flush
+     * @param flushInterval the time since the last flush after which a flush is taken regardless of the threshold
+     * @param unit the unit of the interval
+     * @param scheduler the scheduler of the deferred flushes, or <code>null</code> to leave them to the writer
+     * @throws IllegalArgumentException if the pool gives direct buffers, or a flush setting is negative
+     */
+    public CoalescingServletOutputStream(ServletOutputStream out, ByteBufferPool pool, long flushThreshold,
+            long flushInterval, TimeUnit unit, ScheduledExecutorService scheduler) {
+        if (out == null || pool == null) {
+            throw new NullPointerException();
+        }
+        if (pool.isDirect()) {
+            throw new IllegalArgumentException(lStrings.getString("err.pool.direct"));
+        }
+        if (flushThreshold < 0) {
+            throw new IllegalArgumentException(MessageFormat.format(lStrings.getString("err.flush.invalid"),
+                    "threshold", String.valueOf(flushThreshold)));
+        }
+        if (flushInterval < 0) {
+            throw new IllegalArgumentException(MessageFormat.format(lStrings.getString("err.flush.invalid"),
+                    "interval", String.valueOf(flushInterval)));
+        }
+        this.out = out;
+        this.pool = pool;
+        this.flushThreshold = flushThreshold;
+        this.flushInterval = unit.toNanos(flushInterval);
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        lock.lock();
+        try {
+            if (passThrough) {
+                out.write(b);
+                return;
+            }
+            if (buffer == null) {
+                buffer = pool.acquire();
+            } else if (!buffer.hasRemaining()) {
+                send();
+            }
+            buffer.put((byte) b);
+            unflushed++;
+            takeDeferredFlush();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        lock.lock();
+        try {
+            if (passThrough) {
+                out.write(b, off, len);
+                return;
+            }
+            if (buffer == null) {
+                buffer = pool.acquire();
+            }
+            if (len >= buffer.capacity()) {
+                send();
+                out.write(b, off, len);
+            } else {
+                if (len > buffer.remaining()) {
+                    send();
+                }
+                buffer.put(b, off, len);
+            }
+            unflushed += len;
+            takeDeferredFlush();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends the buffered bytes to the container and flushes it, if enough bytes or time have passed since it was last
+     * flushed; defers the flush otherwise.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void flush() throws IOException {
+        lock.lock();
+        try {
+            if (passThrough) {
+                out.flush();
+                return;
+            }
+            if (unflushed >= flushThreshold || System.nanoTime() - lastFlush >= flushInterval) {
+                send();
+                flushContainer();
+            } else if (unflushed > 0) {
+                flushDeferred = true;
+                scheduleFlush();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends the buffered bytes to the container and flushes it at once.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void forceFlush() throws IOException {
+        lock.lock();
+        try {
+            if (!passThrough) {
+                send();
+            }
+            flushContainer();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discards the bytes still buffered, for instance when the buffer of the response is reset.
+     */
+    public void discard() {
+        lock.lock();
+        try {
+            if (buffer != null) {
+                unflushed -= buffer.position();
+                buffer.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends the buffered bytes and gives the buffer back to its pool, without closing the stream it decorates. Any
+     * later write passes straight through.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void finish() throws IOException {
+        lock.lock();
+        try {
+            send();
+        } finally {
+            releaseBuffer();
+            passThrough = true;
+            cancelScheduledFlush();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends the buffered bytes, gives the buffer back to its pool and closes the stream it decorates.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            cancelScheduledFlush();
+            try {
+                send();
+            } finally {
+                releaseBuffer();
+            }
+            out.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return out.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+        lock.lock();
+        try {
+            send();
+        } catch (IOException e) {
+            // the container reports the failure to the listener once it is set
+        } finally {
+            releaseBuffer();
+            passThrough = true;
+            cancelScheduledFlush();
+            lock.unlock();
+        }
+        out.setWriteListener(writeListener);
+    }
+
+    /*
+     * Hands what is buffered to the container, in a single write.
+     */
+    private void send() throws IOException {
+        if (buffer == null || buffer.position() == 0) {
+            return;
+        }
+        int n = buffer.position();
+        buffer.clear();
+        out.write(buffer.array(), buffer.arrayOffset(), n);
+    }
+
+    private void takeDeferredFlush() throws IOException {
+        if (flushDeferred && System.nanoTime() - lastFlush >= flushInterval) {
+            send();
+            flushContainer();
+        }
+    }
+
+    private void flushContainer() throws IOException {
+        out.flush();
+        unflushed = 0;
+        flushDeferred = false;
+        lastFlush = System.nanoTime();
+        cancelScheduledFlush();
+    }
+
+    /*
+     * Has the scheduler take the deferred flush once the interval has passed, unless it is already due to.
+     */
+    private void scheduleFlush() {
+        if (scheduler == null || scheduledFlush != null) {
+            return;
+        }
+        long delay = flushInterval - (System.nanoTime() - lastFlush);
+        try {
+            scheduledFlush = scheduler.schedule(this::takeScheduledFlush, delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // the scheduler is shutting down: the writer takes the flush
+        }
+    }
+
+    private void cancelScheduledFlush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    /*
+     * Runs on the scheduler. A call of the writer in progress holds the lock; the interval has passed, so that call
+     * takes the flush itself if it writes or flushes, and the task only looks again later in case it does neither.
+     * The later task is kept in place of this one, so that closing the stream cancels it; should the writer close the
+     * stream just before it is kept, it finds the stream closed and does nothing.
+     */
+    private void takeScheduledFlush() {
+        if (!lock.tryLock()) {
+            try {
+                scheduledFlush = scheduler.schedule(this::takeScheduledFlush, flushInterval, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // the scheduler is shutting down: the writer takes the flush
+                scheduledFlush = null;
+            }
+            return;
+        }
+        try {
+            scheduledFlush = null;
+            if (flushDeferred && !passThrough && !closed) {
+                send();
+                flushContainer();
+            }
+        } catch (IOException e) {
+            // the client has gone away, which the next call of the writer reports
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseBuffer() {
+        if (buffer != null) {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.io;
+
+/**
+ * <p>
+ * Interrelated interfaces for flow-controlled streams, in which {@link Publisher Publishers} produce items consumed by
+ * {@link Subscriber Subscribers}, each managed by a {@link Subscription}. They mirror
+ * <code>java.util.concurrent.Flow</code> of Java 9 and the Reactive Streams specification, method for method and with
+ * the same rules, for this API, which is compiled for Java 8. Each interface can be adapted to its Java 9 counterpart
+ * by forwarding every method.
+ * </p>
+ *
+ * <p>
+ * Items are requested with {@link Subscription#request(long)}, and a publisher never signals more items than have been
+ * requested. The signals to a subscriber are serialized: <code>onSubscribe</code>, then any number of
+ * <code>onNext</code>, then at most one of <code>onError</code> or <code>onComplete</code>.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public final class Flow {
+
+    private Flow() {
+    }
+
+    /**
+     * A producer of items received by subscribers.
+     *
+     * @param <T> the type of the items
+     */
+    @FunctionalInterface
+    public interface Publisher<T> {
+
+        /**
+         * Adds the subscriber, which then receives <code>onSubscribe</code>. A publisher that cannot accept the
+         * subscriber, for instance because it supports only one, signals <code>onError</code> instead.
+         *
+         * @param subscriber the subscriber
+         * @throws NullPointerException if the subscriber is <code>null</code>
+         */
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * A receiver of items. The methods are invoked in order, never concurrently.
+     *
+     * @param <T> the type of the items
+     */
+    public interface Subscriber<T> {
+
+        /**
+         * Invoked before any other method, with the subscription used to request items.
+         *
+         * @param subscription the subscription
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Invoked with the next item, which has been requested.
+         *
+         * @param item the item
+         */
+        void onNext(T item);
+
+        /**
+         * Invoked when the publisher fails; no other method is invoked afterwards.
+         *
+         * @param throwable the failure
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Invoked when the publisher has no more items; no other method is invoked afterwards.
+         */
+        void onComplete();
+    }
+
+    /**
+     * The link between a publisher and a subscriber.
+     */
+    public interface Subscription {
+
+        /**
+         * Adds to the number of items the subscriber is ready to receive. A demand that is not positive makes the
+         * publisher signal <code>onError</code> with an {@link IllegalArgumentException}.
+         *
+         * @param n the number of additional items, <code>Long.MAX_VALUE</code> for an unbounded demand
+         */
+        void request(long n);
+
+        /**
+         * Asks the publisher to stop signalling the subscriber, eventually.
+         */
+        void cancel();
+    }
+
+    /**
+     * A component that is both a subscriber and a publisher.
+     *
+     * @param <T> the type of the items received
+     * @param <R> the type of the items published
+     */
+    public interface Processor<T, R> extends Subscriber<T>, Publisher<R> {
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.io;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * The body of a request read in full by a {@link BodyAggregator}, held in the pooled buffers it was read into. The
+ * body is read-only: its content can be read as often as needed, through {@link #getInputStream()},
+ * {@link #getBuffers()} or copied with {@link #toByteArray()}, but not changed.
+ * </p>
+ *
+ * <p>
+ * The buffers go back to their pool with {@link #release()}, after which the body, and anything obtained from it
+ * other than copies, must not be used. A body that is not released is simply garbage collected.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public final class RequestBody {
+
+    private final List<ByteBuffer> buffers;
+    private final long size;
+    private final ByteBufferPool pool;
+    private final Map<String, String> trailerFields;
+
+    // file private
+    RequestBody(List<ByteBuffer> buffers, long size, ByteBufferPool pool, Map<String, String> trailerFields) {
+        this.buffers = buffers;
+        this.size = size;
+        this.pool = pool;
+        this.trailerFields = trailerFields;
+    }
+
+    /**
+     * Returns the length of the body.
+     *
+     * @return the number of bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the trailer fields that followed the body, read once the whole body had been.
+     *
+     * @return the trailer fields, with lowercase names; empty if there were none or the request is not an HTTP request
+     */
+    public Map<String, String> getTrailerFields() {
+        return trailerFields;
+    }
+
+    /**
+     * Returns the content of the body as read-only buffers, in order. Each call returns new buffers, positioned at
+     * the start of their content, that share the content of the body.
+     *
+     * @return the buffers, which may be empty
+     */
+    public List<ByteBuffer> getBuffers() {
+        List<ByteBuffer> views = new ArrayList<>(buffers.size());
+        for (ByteBuffer buffer : buffers) {
+            views.add(buffer.asReadOnlyBuffer());
+        }
+        return Collections.unmodifiableList(views);
+    }
+
+    /**
+     * Returns a stream that reads the body from the start.
+     *
+     * @return a new input stream
+     */
+    public InputStream getInputStream() {
+        return new BuffersInputStream(getBuffers());
+    }
+
+    /**
+     * Copies the body into an array.
+     *
+     * @return the content of the body
+     * @throws OutOfMemoryError if the body is larger than an array can be
+     */
+    public byte[] toByteArray() {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError();
+        }
+        byte[] bytes = new byte[(int) size];
+        int offset = 0;
+        for (ByteBuffer buffer : buffers) {
+            ByteBuffer view = buffer.duplicate();
+            int n = view.remaining();
+            view.get(bytes, offset, n);
+            offset += n;
+        }
+        return bytes;
+    }
+
+    /**
+     * Decodes the body into a string.
+     *
+     * @param charset the character encoding of the body
+     * @return the content of the body
+     */
+    public String toString(Charset charset) {
+        return new String(toByteArray(), charset);
+    }
+
+    /**
+     * Gives the buffers of the body back to their pool.
+     */
+    public void release() {
+        for (ByteBuffer buffer : buffers) {
+            pool.release(buffer);
+        }
+        buffers.clear();
+    }
+
+    /*
+     * Reads a sequence of buffers, which it consumes.
+     */
+    private static final class BuffersInputStream extends InputStream {
+
+        private final List<ByteBuffer> buffers;
+        private int index;
+
+        BuffersInputStream(List<ByteBuffer> buffers) {
+            this.buffers = buffers;
+        }
+
+        @Override
+        public int read() {
+            ByteBuffer buffer = current();
+            return buffer == null ? -1 : buffer.get() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            ByteBuffer buffer = current();
+            if (buffer == null) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = 0;
+            ByteBuffer buffer;
+            while (skipped < n && (buffer = current()) != null) {
+                int step = (int) Math.min(n - skipped, buffer.remaining());
+                buffer.position(buffer.position() + step);
+                skipped += step;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            ByteBuffer buffer = current();
+            return buffer == null ? 0 : buffer.remaining();
+        }
+
+        private ByteBuffer current() {
+            while (index < buffers.size()) {
+                ByteBuffer buffer = buffers.get(index);
+                if (buffer.hasRemaining()) {
+                    return buffer;
+                }
+                index++;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+
+/**
+ * <p>
+ * A {@link Flow.Publisher} of the body of a request, read without blocking from a {@link ServletInputStream}. Once
+ * subscribed, the publisher registers a {@link ReadListener} on the stream and reads only while there is demand and
+ * {@link ServletInputStream#isReady()} returns <code>true</code>; when the stream is not ready it waits for
+ * {@link ReadListener#onDataAvailable()}, and when there is no demand it stops reading until more is requested, so the
+ * subscriber controls how fast the client may send. No thread is held while waiting for either.
+ * </p>
+ *
+ * <p>
+ * Each item is a buffer taken from the pool, filled with one read and flipped for reading. The buffer then belongs to
+ * the subscriber, which should give it back to the pool when it is done with it. The end of the body is signalled with
+ * <code>onComplete</code>, and a failure of the stream with <code>onError</code>.
+ * Since <code>onComplete</code> follows the end of the body, the subscriber can read the trailer fields of the request
+ * from there, with {@link javax.servlet.http.trailer.RequestTrailers#getTrailerFields(javax.servlet.ServletRequest)}.
+ * </p>
+ *
+ * <p>
+ * The request must be in asynchronous mode before the publisher is subscribed to, since that is when the read listener
+ * is registered. The publisher accepts only one subscriber.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class ServletInputStreamPublisher implements Flow.Publisher<ByteBuffer> {
+
+    private static final String LSTRING_FILE = "javax.servlet.io.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private final ServletInputStream in;
+    private final ByteBufferPool pool;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Creates a publisher of the body read from the stream.
+     *
+     * @param in the input stream of the request
+     * @param pool the pool of the buffers that are published
+     */
+    public ServletInputStreamPublisher(ServletInputStream in, ByteBufferPool pool) {
+        if (in == null || pool == null) {
+            throw new NullPointerException();
+        }
+        this.in = in;
+        this.pool = pool;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException();
+        }
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(CANCELLED);
+            subscriber.onError(new IllegalStateException(lStrings.getString("err.subscribe.twice")));
+            return;
+        }
+        ReadSubscription subscription = new ReadSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        try {
+            in.setReadListener(subscription);
+        } catch (RuntimeException e) {
+            subscription.onError(e);
+        }
+    }
+
+    /*
+     * Reads the stream on behalf of the subscriber. Reading is driven both by the container, through the read
+     * listener, and by the subscriber, through request(), possibly on different threads, so every pass over the stream
+     * goes through drain(), which lets only one thread in at a time and makes it loop again if another thread asked for
+     * a pass meanwhile. This also serializes the signals to the subscriber.
+     */
+    private final class ReadSubscription implements Flow.Subscription, ReadListener {
+
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger passes = new AtomicInteger();
+        private volatile boolean listening;
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+        private boolean done;
+        private byte[] transfer;
+
+        ReadSubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                failure = new IllegalArgumentException(
+                        MessageFormat.format(lStrings.getString("err.request.nonpositive"), String.valueOf(n)));
+            } else {
+                long current;
+                long next;
+                do {
+                    current = demand.get();
+                    next = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (!demand.compareAndSet(current, next));
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void onDataAvailable() {
+            listening = true;
+            drain();
+        }
+
+        @Override
+        public void onAllDataRead() {
+            listening = true;
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            failure = t;
+            drain();
+        }
+
+        private void drain() {
+            if (passes.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                read();
+                missed = passes.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /*
+         * One pass: reads for as long as there is demand and data, or signals the end. Until the container has
+         * called the read listener once, the stream may not be ready to be asked.
+         */
+        private void read() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                done = true;
+                return;
+            }
+            Throwable t = failure;
+            if (t != null) {
+                terminate(t);
+                return;
+            }
+            if (!listening) {
+                return;
+            }
+            try {
+                while (demand.get() > 0) {
+                    if (in.isFinished()) {
+                        terminate(null);
+                        return;
+                    }
+                    if (!in.isReady()) {
+                        // onDataAvailable() follows when there is more to read
+                        return;
+                    }
+                    ByteBuffer buffer = pool.acquire();
+                    int n = fill(buffer);
+                    if (n < 0) {
+                        pool.release(buffer);
+                        terminate(null);
+                        return;
+                    }
+                    if (n == 0) {
+                        pool.release(buffer);
+                        continue;
+                    }
+                    buffer.flip();
+                    demand.decrementAndGet();
+                    subscriber.onNext(buffer);
+                    if (cancelled) {
+                        done = true;
+                        return;
+                    }
+                }
+                if (in.isFinished()) {
+                    // no more items, so the end needs no demand
+                    terminate(null);
+                }
+            } catch (IOException | RuntimeException e) {
+                terminate(e);
+            }
+        }
+
+        private int fill(ByteBuffer buffer) throws IOException {
+            if (buffer.hasArray()) {
+                int n = in.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                if (n > 0) {
+                    buffer.position(buffer.position() + n);
+                }
+                return n;
+            }
+            if (transfer == null) {
+                transfer = new byte[Math.min(buffer.remaining(), 8192)];
+            }
+            int n = in.read(transfer, 0, Math.min(buffer.remaining(), transfer.length));
+            if (n > 0) {
+                buffer.put(transfer, 0, n);
+            }
+            return n;
+        }
+
+        private void terminate(Throwable t) {
+            done = true;
+            if (t == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(t);
+            }
+        }
+    }
+
+    private static final Flow.Subscription CANCELLED = new Flow.Subscription() {
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+}
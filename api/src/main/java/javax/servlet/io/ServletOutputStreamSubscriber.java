@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+/**
+ * <p>
+ * A {@link Flow.Subscriber} that writes the buffers it receives to a {@link ServletOutputStream} without blocking.
+ * Once subscribed, it registers a {@link WriteListener} on the stream and requests one buffer at a time, and only while
+ * {@link ServletOutputStream#isReady()} returns <code>true</code>: a buffer that cannot be written at once is held
+ * until {@link WriteListener#onWritePossible()}, and no more is requested meanwhile. A client that reads slowly thus
+ * slows the publisher down rather than filling memory or blocking a thread.
+ * </p>
+ *
+ * <p>
+ * A buffer that has been written is given back to the pool, if there is one, so a publisher of pooled buffers, such as
+ * a {@link ServletInputStreamPublisher} sharing the pool, can stream a body end to end with a fixed number of buffers.
+ * The stage returned by {@link #getCompletion()} completes once the last buffer has been written after
+ * <code>onComplete</code>, or exceptionally if either side fails, in which case the subscription is cancelled. The
+ * asynchronous processing of the request is left to the caller to complete.
+ * </p>
+ *
+ * <p>
+ * The request must be in asynchronous mode before the subscriber is subscribed, since that is when the write listener
+ * is registered. A subscriber can be subscribed only once.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class ServletOutputStreamSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+    private final ServletOutputStream out;
+    private final ByteBufferPool pool;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    /*
+     * Every pass over the stream goes through drain(), for the reasons given in ServletInputStreamPublisher: the
+     * container calls the write listener, and the publisher calls onNext(), possibly on different threads.
+     */
+    private final AtomicInteger passes = new AtomicInteger();
+
+    private volatile Flow.Subscription subscription;
+    private volatile ByteBuffer pending;
+    private volatile boolean completed;
+    private volatile Throwable failure;
+    private volatile boolean listening;
+    private boolean requested;
+    private boolean done;
+    private byte[] transfer;
+
+    /**
+     * Creates a subscriber that writes to the stream.
+     *
+     * @param out the output stream of the response
+     * @param pool the pool to which written buffers are given back, or <code>null</code> to drop them
+     */
+    public ServletOutputStreamSubscriber(ServletOutputStream out, ByteBufferPool pool) {
+        if (out == null) {
+            throw new NullPointerException();
+        }
+        this.out = out;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the stage that completes when the whole stream has been written, or exceptionally when writing fails,
+     * the publisher fails or the subscription is cancelled with {@link CompletableFuture#cancel cancel}.
+     *
+     * @return the completion of the stream
+     */
+    public CompletionStage<Void> getCompletion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (subscription == null) {
+            throw new NullPointerException();
+        }
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        completion.whenComplete((v, t) -> {
+            if (t != null) {
+                subscription.cancel();
+            }
+        });
+        try {
+            out.setWriteListener(new Listener());
+        } catch (RuntimeException e) {
+            onError(e);
+        }
+    }
+
+    @Override
+    public void onNext(ByteBuffer item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        pending = item;
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (throwable == null) {
+            throw new NullPointerException();
+        }
+        failure = throwable;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        completed = true;
+        drain();
+    }
+
+    private void drain() {
+        if (passes.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            write();
+            missed = passes.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /*
+     * One pass: writes the pending buffer for as long as the stream is ready, then asks for the next one, or finishes.
+     * Requesting may deliver the next buffer on this thread, which then only marks another pass.
+     */
+    private void write() {
+        if (done) {
+            return;
+        }
+        Throwable t = failure;
+        if (t != null || completion.isDone()) {
+            finish(t);
+            return;
+        }
+        if (!listening) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = pending;
+            if (buffer != null) {
+                requested = false;
+                while (buffer.hasRemaining()) {
+                    if (!out.isReady()) {
+                        // onWritePossible() follows when the stream can take more
+                        return;
+                    }
+                    writeSome(buffer);
+                }
+                pending = null;
+                if (pool != null) {
+                    pool.release(buffer);
+                }
+            }
+            if (completed) {
+                finish(null);
+                return;
+            }
+            if (!requested && out.isReady()) {
+                requested = true;
+                subscription.request(1);
+            }
+        } catch (IOException | RuntimeException e) {
+            finish(e);
+        }
+    }
+
+    private void writeSome(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+            return;
+        }
+        if (transfer == null) {
+            transfer = new byte[8192];
+        }
+        int n = Math.min(buffer.remaining(), transfer.length);
+        buffer.get(transfer, 0, n);
+        out.write(transfer, 0, n);
+    }
+
+    private void finish(Throwable t) {
+        done = true;
+        ByteBuffer buffer = pending;
+        pending = null;
+        if (pool != null && buffer != null) {
+            pool.release(buffer);
+        }
+        if (t == null) {
+            completion.complete(null);
+        } else {
+            subscription.cancel();
+            completion.completeExceptionally(t);
+        }
+    }
+
+    /*
+     * Receives the readiness of the stream from the container.
+     */
+    private final class Listener implements WriteListener {
+
+        @Override
+        public void onWritePossible() {
+            listening = true;
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            failure = t;
+            drain();
+        }
+    }
+}
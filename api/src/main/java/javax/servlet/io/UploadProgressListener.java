@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.io;
+
+/**
+ * Receives the progress of an upload received by an {@link UploadSink}.
+ *
+ * @since Servlet 4.0.4
+ */
+@FunctionalInterface
+public interface UploadProgressListener {
+
+    /**
+     * Invoked each time a chunk of the body has been written to the file, on the thread that completed the write.
+     * Implementations should return quickly and must not block.
+     *
+     * @param bytesWritten the number of bytes written to the file so far
+     * @param contentLength the declared length of the body, or -1 if it is not known
+     */
+    void onProgress(long bytesWritten, long contentLength);
+}
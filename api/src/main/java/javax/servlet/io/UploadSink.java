@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package javax.servlet.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.EnumSet;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.MultipartConfigElement;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+
+/**
+ * <p>
+ * Receives the body of a request into a file without blocking, for uploads sent as the raw body of a request.
+ * {@link #receive receive} registers a {@link ReadListener} on the input stream of the request and moves the data to
+ * an {@link AsynchronousFileChannel} through two buffers: while one is being written to the file, the other is filled
+ * from the stream. When both are busy, reading stops until the file has caught up, so a fast client cannot outrun the
+ * disk, and a slow client holds no thread at all; the number of threads stays the same however many uploads are in
+ * progress.
+ * </p>
+ *
+ * <p>
+ * The limits are taken from a {@link MultipartConfigElement}: the body may be no longer than the maximum file size
+ * nor the maximum request size, whichever is smaller, and a file that is not named is created in its location, or in
+ * the temporary directory if it has none. A body that exceeds the limit, declared or read, completes the stage
+ * exceptionally with an {@link IllegalStateException}, as the multipart limits of {@link ServletRequest} do. On any
+ * failure the file is deleted.
+ * </p>
+ *
+ * <p>
+ * The stage completes only after the whole body has been read, so the trailer fields of the request, which may carry
+ * a checksum of the upload, can then be read with
+ * {@link javax.servlet.http.trailer.RequestTrailers#getTrailerFields(ServletRequest)}.
+ * </p>
+ *
+ * <p>
+ * The request must be in asynchronous mode, and its input stream must not have been used. A sink holds no state of
+ * its own uploads, so one instance can be shared by all requests to a servlet.
+ * </p>
+ *
+ * @since Servlet 4.0.4
+ */
+public class UploadSink {
+
+    private static final String LSTRING_FILE = "javax.servlet.io.LocalStrings";
+    private static ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
+
+    private final MultipartConfigElement config;
+    private final ByteBufferPool pool;
+    private final ExecutorService executor;
+    private final long maxSize;
+
+    /**
+     * Creates a sink whose file channels complete their writes on the default thread pool of the runtime.
+     *
+     * @param config the location and limits of the uploads
+     * @param pool the pool of the buffers, preferably direct buffers
+     */
+    public UploadSink(MultipartConfigElement config, ByteBufferPool pool) {
+        this(config, pool, null);
+    }
+
+    /**
+     * Creates a sink.
+     *
+     * @param config the location and limits of the uploads
+     * @param pool the pool of the buffers, preferably direct buffers
+     * @param executor the executor shared by the file channels to complete their writes, or <code>null</code> for the
+     *                 default thread pool of the runtime
+     */
+    public UploadSink(MultipartConfigElement config, ByteBufferPool pool, ExecutorService executor) {
+        if (config == null || pool == null) {
+            throw new NullPointerException();
+        }
+        this.config = config;
+        this.pool = pool;
+        this.executor = executor;
+        long fileLimit = config.getMaxFileSize();
+        long requestLimit = config.getMaxRequestSize();
+        if (fileLimit < 0) {
+            this.maxSize = requestLimit;
+        } else if (requestLimit < 0) {
+            this.maxSize = fileLimit;
+        } else {
+            this.maxSize = Math.min(fileLimit, requestLimit);
+        }
+    }
+
+    /**
+     * Starts receiving the body of a request into a new temporary file in the location of the configuration.
+     *
+     * @param req the request, which must be in asynchronous mode
+     * @param listener the listener of the progress, or <code>null</code>
+     * @return the stage that completes with the file once the whole body has been written
+     */
+    public CompletionStage<Path> receive(ServletRequest req, UploadProgressListener listener) {
+        return receive(req, null, listener);
+    }
+
+    /**
+     * Starts receiving the body of a request into a file, which is created or truncated.
+     *
+     * @param req the request, which must be in asynchronous mode
+     * @param target the file, or <code>null</code> for a new temporary file in the location of the configuration
+     * @param listener the listener of the progress, or <code>null</code>
+     * @return the stage that completes with the file once the whole body has been written
+     */
+    public CompletionStage<Path> receive(ServletRequest req, Path target, UploadProgressListener listener) {
+        CompletableFuture<Path> result = new CompletableFuture<>();
+        long contentLength = req.getContentLengthLong();
+        if (maxSize >= 0 && contentLength > maxSize) {
+            result.completeExceptionally(tooLarge(contentLength));
+            return result;
+        }
+        Path file = target;
+        AsynchronousFileChannel channel = null;
+        try {
+            if (file == null) {
+                String location = config.getLocation();
+                file = location == null || location.isEmpty() ? Files.createTempFile("upload", ".tmp")
+                        : Files.createTempFile(Paths.get(location), "upload", ".tmp");
+            }
+            channel = AsynchronousFileChannel.open(file, EnumSet.of(StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), executor);
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new Upload(in, channel, file, contentLength, listener, result));
+        } catch (IOException | RuntimeException e) {
+            close(channel);
+            delete(file);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private IllegalStateException tooLarge(long size) {
+        return new IllegalStateException(MessageFormat.format(lStrings.getString("err.body.tooLarge"),
+                String.valueOf(size), String.valueOf(maxSize)));
+    }
+
+    private static void close(AsynchronousFileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // the file is deleted or complete
+        }
+    }
+
+    private static void delete(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // nothing more can be done
+        }
+    }
+
+    /*
+     * One upload. The stream is read from the read listener, on container threads, and from the completion of a
+     * write, on a thread of the file channel, when reading was waiting for a buffer; every pass over the stream goes
+     * through drain(), which lets one thread in at a time, so the buffers and the stream are never used concurrently.
+     * The buffer being written belongs to the channel until its write has completed.
+     */
+    private final class Upload implements ReadListener, CompletionHandler<Integer, ByteBuffer> {
+
+        private final ServletInputStream in;
+        private final AsynchronousFileChannel channel;
+        private final Path file;
+        private final long contentLength;
+        private final UploadProgressListener listener;
+        private final CompletableFuture<Path> result;
+        private final AtomicInteger passes = new AtomicInteger();
+
+        private volatile boolean listening;
+        private volatile boolean writeCompleted;
+        private volatile Throwable failure;
+
+        private ByteBuffer filling;
+        private ByteBuffer writing;
+        private ByteBuffer spare;
+        private long received;
+        private long written;
+        private boolean ended;
+        private boolean done;
+        private byte[] transfer;
+
+        Upload(ServletInputStream in, AsynchronousFileChannel channel, Path file, long contentLength,
+                UploadProgressListener listener, CompletableFuture<Path> result) {
+            this.in = in;
+            this.channel = channel;
+            this.file = file;
+            this.contentLength = contentLength;
+            this.listener = listener;
+            this.result = result;
+        }
+
+        @Override
+        public void onDataAvailable() {
+            listening = true;
+            drain();
+        }
+
+        @Override
+        public void onAllDataRead() {
+            listening = true;
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            failure = t;
+            drain();
+        }
+
+        /*
+         * Continues the write of a buffer until all of it is in the file, then hands the buffer back to the reading
+         * side.
+         */
+        @Override
+        public void completed(Integer n, ByteBuffer buffer) {
+            written += n;
+            if (buffer.hasRemaining()) {
+                channel.write(buffer, written, buffer, this);
+                return;
+            }
+            if (listener != null) {
+                listener.onProgress(written, contentLength);
+            }
+            writeCompleted = true;
+            drain();
+        }
+
+        @Override
+        public void failed(Throwable t, ByteBuffer buffer) {
+            failure = t;
+            writeCompleted = true;
+            drain();
+        }
+
+        private void drain() {
+            if (passes.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                try {
+                    transfer();
+                } catch (IOException | RuntimeException e) {
+                    failure = e;
+                    if (writing == null) {
+                        fail(e);
+                    }
+                }
+                missed = passes.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /*
+         * One pass: reclaims the buffer whose write has completed, starts writing the filled buffer, and reads into
+         * the other for as long as the stream is ready and the buffer has room.
+         */
+        private void transfer() throws IOException {
+            if (done) {
+                return;
+            }
+            if (writing != null && writeCompleted) {
+                writeCompleted = false;
+                writing.clear();
+                spare = writing;
+                writing = null;
+            }
+            Throwable t = failure;
+            if (t != null) {
+                if (writing == null) {
+                    // only once the channel no longer uses a buffer
+                    fail(t);
+                }
+                return;
+            }
+            while (true) {
+                if (filling == null) {
+                    filling = spare != null ? spare : pool.acquire();
+                    spare = null;
+                }
+                if (writing == null && filling.position() > 0 && (ended || !filling.hasRemaining())) {
+                    ByteBuffer buffer = filling;
+                    filling = null;
+                    buffer.flip();
+                    try {
+                        channel.write(buffer, written, buffer, this);
+                    } catch (RuntimeException e) {
+                        pool.release(buffer);
+                        throw e;
+                    }
+                    writing = buffer;
+                    continue;
+                }
+                if (ended) {
+                    if (writing == null) {
+                        finish();
+                    }
+                    return;
+                }
+                if (!filling.hasRemaining() || !listening) {
+                    // waiting for the write of the other buffer, or for the container
+                    return;
+                }
+                if (in.isFinished()) {
+                    ended = true;
+                    continue;
+                }
+                if (!in.isReady()) {
+                    // onDataAvailable() follows when there is more to read
+                    return;
+                }
+                int n = fill(filling);
+                if (n < 0) {
+                    ended = true;
+                    continue;
+                }
+                received += n;
+                if (maxSize >= 0 && received > maxSize) {
+                    failure = tooLarge(received);
+                    if (writing == null) {
+                        fail(failure);
+                    }
+                    return;
+                }
+            }
+        }
+
+        private int fill(ByteBuffer buffer) throws IOException {
+            if (buffer.hasArray()) {
+                int n = in.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                if (n > 0) {
+                    buffer.position(buffer.position() + n);
+                }
+                return n;
+            }
+            if (transfer == null) {
+                transfer = new byte[Math.min(buffer.capacity(), 8192)];
+            }
+            int n = in.read(transfer, 0, Math.min(buffer.remaining(), transfer.length));
+            if (n > 0) {
+                buffer.put(transfer, 0, n);
+            }
+            return n;
+        }
+
+        private void finish() {
+            done = true;
+            release();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            result.complete(file);
+        }
+
+        private void fail(Throwable t) {
+            done = true;
+            release();
+            close(channel);
+            delete(file);
+            result.completeExceptionally(t);
+        }
+
+        private void release() {
+            pool.release(filling);
+            pool.release(spare);
+            filling = null;
+            spare = null;
+        }
+    }
+}